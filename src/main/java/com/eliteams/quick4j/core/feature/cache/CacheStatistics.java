@@ -0,0 +1,98 @@
+package com.eliteams.quick4j.core.feature.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import com.eliteams.quick4j.core.feature.metrics.LatencyHistogram;
+
+/**
+ * CacheStatistics : 缓存命中统计, 线程安全
+ *
+ * @author StarZou
+ * @since 2026-10-17 09:40
+ */
+public class CacheStatistics {
+
+    /**
+     * 命中次数
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * 未命中次数
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * 因容量或过期被淘汰的次数
+     */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 读取耗时分布, 单位纳秒
+     */
+    private final LatencyHistogram getLatency = new LatencyHistogram();
+
+    public void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    public void recordEviction() {
+        evictionCount.incrementAndGet();
+    }
+
+    /**
+     * 记录一次读取的耗时
+     *
+     * @param nanos 耗时, 单位纳秒
+     */
+    public void recordGetTime(long nanos) {
+        getLatency.record(nanos);
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * 读取耗时分布, 单位纳秒, 只有记录了耗时的缓存才有数据
+     */
+    public LatencyHistogram getGetLatency() {
+        return getLatency;
+    }
+
+    /**
+     * 命中率, 没有访问时返回0
+     */
+    public double getHitRate() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
+    /**
+     * 清零所有计数
+     */
+    public void reset() {
+        hitCount.set(0);
+        missCount.set(0);
+        evictionCount.set(0);
+        getLatency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics [hitCount=" + getHitCount() + ", missCount=" + getMissCount() + ", evictionCount=" + getEvictionCount()
+                + ", hitRate=" + getHitRate() + "]";
+    }
+}
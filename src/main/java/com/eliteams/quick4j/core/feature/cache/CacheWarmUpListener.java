@@ -0,0 +1,54 @@
+package com.eliteams.quick4j.core.feature.cache;
+
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+
+/**
+ * CacheWarmUpListener : 根容器启动完成后, 依次调用所有 {@link CacheWarmer} 预热缓存
+ * <p/>
+ * 预热失败只记录日志, 不影响启动, 缓存之后按需加载
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:15
+ */
+public class CacheWarmUpListener implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmUpListener.class);
+
+    private boolean enabled = true;
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        // spring-mvc 子容器启动时也会通知父容器的监听器
+        if (!enabled || context.getParent() != null) {
+            return;
+        }
+        warmUp(context.getBeansOfType(CacheWarmer.class));
+    }
+
+    /**
+     * 调用预热器
+     *
+     * @param warmers bean名 -> 预热器
+     */
+    public void warmUp(Map<String, CacheWarmer> warmers) {
+        for (Map.Entry<String, CacheWarmer> entry : warmers.entrySet()) {
+            long start = System.currentTimeMillis();
+            try {
+                int count = entry.getValue().warmUp();
+                logger.info("cache warm-up {} : {} entries in {} ms", new Object[] { entry.getKey(), count, System.currentTimeMillis() - start });
+            } catch (RuntimeException e) {
+                logger.warn("cache warm-up " + entry.getKey() + " failed", e);
+            }
+        }
+    }
+}
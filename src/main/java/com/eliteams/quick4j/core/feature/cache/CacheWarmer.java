@@ -0,0 +1,18 @@
+package com.eliteams.quick4j.core.feature.cache;
+
+/**
+ * CacheWarmer : 启动时预热缓存, 由 {@link CacheWarmUpListener} 在容器启动完成后调用
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:15
+ */
+public interface CacheWarmer {
+
+    /**
+     * 把常用数据放入缓存
+     *
+     * @return 放入的条数
+     */
+    int warmUp();
+
+}
@@ -0,0 +1,40 @@
+package com.eliteams.quick4j.core.feature.cache;
+
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+
+/**
+ * EhCacheEvictionListener : 把 ehcache 因容量淘汰或过期移除的元素计入命中统计的淘汰次数
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:05
+ */
+public class EhCacheEvictionListener extends CacheEventListenerAdapter {
+
+    private final CacheStatistics statistics;
+
+    public EhCacheEvictionListener(CacheStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void notifyElementEvicted(Ehcache cache, Element element) {
+        statistics.recordEviction();
+    }
+
+    @Override
+    public void notifyElementExpired(Ehcache cache, Element element) {
+        statistics.recordEviction();
+    }
+
+    /**
+     * 为 ehcache 注册监听器
+     *
+     * @param cache      ehcache
+     * @param statistics 命中统计
+     */
+    public static void register(Ehcache cache, CacheStatistics statistics) {
+        cache.getCacheEventNotificationService().registerListener(new EhCacheEvictionListener(statistics));
+    }
+}
@@ -0,0 +1,82 @@
+package com.eliteams.quick4j.core.feature.cache;
+
+import org.springframework.cache.Cache;
+
+/**
+ * StatisticsCache : 为 Spring Cache 记录命中统计及读取耗时的装饰器, 其余操作直接委托给目标缓存
+ *
+ * @author StarZou
+ * @since 2026-10-17 14:05
+ */
+public class StatisticsCache implements Cache {
+
+    private final Cache target;
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public StatisticsCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper value = target.get(key);
+        statistics.recordGetTime(System.nanoTime() - start);
+        if (value == null) {
+            statistics.recordMiss();
+        } else {
+            statistics.recordHit();
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        long start = System.nanoTime();
+        T value = target.get(key, type);
+        statistics.recordGetTime(System.nanoTime() - start);
+        if (value == null) {
+            statistics.recordMiss();
+        } else {
+            statistics.recordHit();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    /**
+     * 被装饰的缓存
+     */
+    public Cache getTarget() {
+        return target;
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+}
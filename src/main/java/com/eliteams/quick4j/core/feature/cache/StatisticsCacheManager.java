@@ -0,0 +1,93 @@
+package com.eliteams.quick4j.core.feature.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import net.sf.ehcache.Ehcache;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * StatisticsCacheManager : 包装目标 CacheManager, 返回的每个缓存都带有命中统计
+ * <p/>
+ * 目标中不存在的缓存返回null, 不会被记录, 之后目标新增同名缓存时仍可取得;
+ * 目标为 ehcache 时, 其淘汰和过期也会计入统计
+ *
+ * @author StarZou
+ * @since 2026-10-17 14:10
+ */
+public class StatisticsCacheManager implements CacheManager, InitializingBean {
+
+    private CacheManager targetCacheManager;
+
+    private final ConcurrentMap<String, StatisticsCache> caches = new ConcurrentHashMap<String, StatisticsCache>();
+
+    public StatisticsCacheManager() {
+    }
+
+    public StatisticsCacheManager(CacheManager targetCacheManager) {
+        this.targetCacheManager = targetCacheManager;
+    }
+
+    public void setTargetCacheManager(CacheManager targetCacheManager) {
+        this.targetCacheManager = targetCacheManager;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(targetCacheManager, "targetCacheManager is required");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        StatisticsCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = targetCacheManager.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        StatisticsCache created = new StatisticsCache(target);
+        StatisticsCache existing = caches.putIfAbsent(name, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (target.getNativeCache() instanceof Ehcache) {
+            EhCacheEvictionListener.register((Ehcache) target.getNativeCache(), created.getStatistics());
+        }
+        return created;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return targetCacheManager.getCacheNames();
+    }
+
+    /**
+     * 取得缓存的命中统计
+     *
+     * @param name 缓存名
+     * @return 命中统计, 缓存未被使用过时返回null
+     */
+    public CacheStatistics getStatistics(String name) {
+        StatisticsCache cache = caches.get(name);
+        return cache == null ? null : cache.getStatistics();
+    }
+
+    /**
+     * 所有已使用缓存的命中统计, 按缓存名排列
+     */
+    public Map<String, CacheStatistics> getStatistics() {
+        Map<String, CacheStatistics> statistics = new LinkedHashMap<String, CacheStatistics>();
+        for (String name : new TreeSet<String>(caches.keySet())) {
+            statistics.put(name, caches.get(name).getStatistics());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,212 @@
+package com.eliteams.quick4j.core.feature.cache.local;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+import com.eliteams.quick4j.core.util.Matcher;
+
+/**
+ * LocalCache : 进程内 有界缓存, 按 LRU 淘汰, 支持过期时间
+ * <p/>
+ * 内部按key的hash分段加锁, 每段是一个 accessOrder 的 LinkedHashMap, 减少并发访问时的锁竞争
+ *
+ * @author StarZou
+ * @since 2026-10-17 09:52
+ */
+public class LocalCache<K, V> {
+
+    /**
+     * 默认分段数
+     */
+    private static final int DEFAULT_CONCURRENCY = 16;
+
+    private final Segment<K, V>[] segments;
+
+    private final int segmentMask;
+
+    /**
+     * 过期时间, 单位毫秒, <=0 表示永不过期
+     */
+    private final long timeToLiveMillis;
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * @param maxSize          最大条目数
+     * @param timeToLiveMillis 过期时间, 单位毫秒, <=0 表示永不过期
+     */
+    public LocalCache(int maxSize, long timeToLiveMillis) {
+        this(maxSize, timeToLiveMillis, DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * @param maxSize          最大条目数
+     * @param timeToLiveMillis 过期时间, 单位毫秒, <=0 表示永不过期
+     * @param concurrency      分段数, 会被调整为2的幂且不超过maxSize
+     */
+    @SuppressWarnings("unchecked")
+    public LocalCache(int maxSize, long timeToLiveMillis, int concurrency) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive : " + maxSize);
+        }
+        int segmentCount = 1;
+        while (segmentCount < concurrency && segmentCount * 2 <= maxSize) {
+            segmentCount <<= 1;
+        }
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        this.timeToLiveMillis = timeToLiveMillis;
+
+        int perSegment = maxSize / segmentCount;
+        int remainder = maxSize % segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<K, V>(perSegment + (i < remainder ? 1 : 0), statistics);
+        }
+    }
+
+    /**
+     * 取值, 未命中或已过期返回null
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                statistics.recordMiss();
+                return null;
+            }
+            if (entry.isExpired(System.currentTimeMillis())) {
+                segment.remove(key);
+                statistics.recordEviction();
+                statistics.recordMiss();
+                return null;
+            }
+            statistics.recordHit();
+            return entry.value;
+        }
+    }
+
+    /**
+     * 放入缓存, 超出容量时淘汰最久未访问的条目
+     */
+    public void put(K key, V value) {
+        long expireAt = timeToLiveMillis > 0 ? System.currentTimeMillis() + timeToLiveMillis : Long.MAX_VALUE;
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<V>(value, expireAt));
+        }
+    }
+
+    /**
+     * 移除单个条目
+     *
+     * @return 被移除的值, 不存在返回null
+     */
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.remove(key);
+            return entry == null ? null : entry.value;
+        }
+    }
+
+    /**
+     * 移除所有值满足匹配条件的条目
+     *
+     * @param matcher 匹配器
+     * @return 移除的条目数
+     */
+    public int removeIf(Matcher<? super V> matcher) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> iterator = segment.values().iterator();
+                while (iterator.hasNext()) {
+                    if (matcher.matches(iterator.next().value)) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * 当前条目数(包含尚未清理的过期条目)
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        // 打散hash高位, 与 HashMap 相同的做法
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    /**
+     * 缓存条目
+     */
+    private static final class Entry<V> {
+        private final V value;
+        private final long expireAt;
+
+        private Entry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expireAt;
+        }
+    }
+
+    /**
+     * 分段, 访问顺序的 LinkedHashMap, 超出容量时淘汰最久未访问的条目
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private static final long serialVersionUID = -2353416423716470357L;
+
+        private final int capacity;
+        private final transient CacheStatistics statistics;
+
+        private Segment(int capacity, CacheStatistics statistics) {
+            super(16, 0.75F, true);
+            this.capacity = capacity;
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() > capacity) {
+                statistics.recordEviction();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ *package-info : 进程内缓存
+ *@since 2026-10-17 09:52
+ *@author StarZou
+ **/
+package com.eliteams.quick4j.core.feature.cache.local;
@@ -0,0 +1,15 @@
+package com.eliteams.quick4j.core.feature.cache.redis;
+
+import redis.clients.jedis.Pipeline;
+
+/**
+ * PipelineCallback : 向管道中添加命令, 所有命令在一次往返中发送
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:05
+ */
+public interface PipelineCallback {
+
+    void doInPipeline(Pipeline pipeline);
+
+}
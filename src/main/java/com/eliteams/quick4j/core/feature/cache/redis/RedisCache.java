@@ -1,27 +1,392 @@
 package com.eliteams.quick4j.core.feature.cache.redis;
 
-import org.springframework.stereotype.Component;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.StringUtils;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.ScanParams;
+import redis.clients.jedis.ScanResult;
 
 /**
  * RedisCache : redis 缓存 插件
+ * <p/>
+ * 基于 JedisPool, 每次操作从连接池借出连接, 操作完成后归还, 可以被多个线程同时使用.
+ * 连接池参数见 application.properties 中的 redis.* 配置.
+ * 带过期时间的写入使用 SETEX, 一次往返完成; 批量读写使用 MGET/MSET 或管道.
  *
  * @author StarZou
  * @since 2015-03-20 11:12
  */
-@Component(value = "redisCache")
-public class RedisCache {
-    private int port = 6379;
+public class RedisCache implements InitializingBean, DisposableBean {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     private String host = "127.0.0.1";
-    private Jedis jedis = new Jedis(host, port);
 
-    public String cache(String key, String value, int seconds) {
-        String result = jedis.set(key, value);
-        jedis.expire(key, seconds);
+    private int port = Protocol.DEFAULT_PORT;
+
+    private int timeout = Protocol.DEFAULT_TIMEOUT;
+
+    private String password;
+
+    private int database = Protocol.DEFAULT_DATABASE;
+
+    private JedisPoolConfig poolConfig = new JedisPoolConfig();
+
+    private JedisPool jedisPool;
+
+    public RedisCache() {
+    }
+
+    /**
+     * 使用已创建的连接池
+     */
+    public RedisCache(JedisPool jedisPool) {
+        this.jedisPool = jedisPool;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    public void setPassword(String password) {
+        this.password = StringUtils.hasLength(password) ? password : null;
+    }
+
+    public void setDatabase(int database) {
+        this.database = database;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        poolConfig.setMaxTotal(maxTotal);
+    }
+
+    public void setMaxIdle(int maxIdle) {
+        poolConfig.setMaxIdle(maxIdle);
+    }
+
+    public void setMinIdle(int minIdle) {
+        poolConfig.setMinIdle(minIdle);
+    }
+
+    public void setMaxWaitMillis(long maxWaitMillis) {
+        poolConfig.setMaxWaitMillis(maxWaitMillis);
+    }
+
+    public void setTestOnBorrow(boolean testOnBorrow) {
+        poolConfig.setTestOnBorrow(testOnBorrow);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (jedisPool == null) {
+            jedisPool = new JedisPool(poolConfig, host, port, timeout, password, database);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (jedisPool != null) {
+            jedisPool.destroy();
+        }
+    }
+
+    /**
+     * 借出连接执行操作
+     */
+    public <T> T execute(RedisCallback<T> callback) {
+        Jedis jedis = jedisPool.getResource();
+        try {
+            return callback.doInRedis(jedis);
+        } finally {
+            // 连接出错时 close 会将其作为损坏的连接归还
+            jedis.close();
+        }
+    }
+
+    /**
+     * 在管道中执行多个命令, 一次往返
+     *
+     * @return 每个命令的结果, 按添加顺序排列
+     */
+    public List<Object> pipelined(final PipelineCallback callback) {
+        return execute(new RedisCallback<List<Object>>() {
+            @Override
+            public List<Object> doInRedis(Jedis jedis) {
+                Pipeline pipeline = jedis.pipelined();
+                callback.doInPipeline(pipeline);
+                return pipeline.syncAndReturnAll();
+            }
+        });
+    }
+
+    /**
+     * 缓存字符串值
+     *
+     * @param seconds 过期时间, 单位秒, <=0 表示不过期
+     */
+    public String cache(final String key, final String value, final int seconds) {
+        return execute(new RedisCallback<String>() {
+            @Override
+            public String doInRedis(Jedis jedis) {
+                return seconds > 0 ? jedis.setex(key, seconds, value) : jedis.set(key, value);
+            }
+        });
+    }
+
+    public String get(final String key) {
+        return execute(new RedisCallback<String>() {
+            @Override
+            public String doInRedis(Jedis jedis) {
+                return jedis.get(key);
+            }
+        });
+    }
+
+    public Long delete(final String... keys) {
+        return execute(new RedisCallback<Long>() {
+            @Override
+            public Long doInRedis(Jedis jedis) {
+                return jedis.del(keys);
+            }
+        });
+    }
+
+    /**
+     * 批量取值, 一次往返
+     *
+     * @return 与keys顺序对应的值, 不存在的为null
+     */
+    public List<String> mget(final String... keys) {
+        return execute(new RedisCallback<List<String>>() {
+            @Override
+            public List<String> doInRedis(Jedis jedis) {
+                return jedis.mget(keys);
+            }
+        });
+    }
+
+    /**
+     * 批量缓存字符串值
+     *
+     * @param values  key -> value
+     * @param seconds 过期时间, 单位秒, <=0 表示不过期(使用 MSET), 否则在管道中逐个 SETEX
+     */
+    public void mset(final Map<String, String> values, final int seconds) {
+        if (values.isEmpty()) {
+            return;
+        }
+        if (seconds <= 0) {
+            final String[] keysValues = new String[values.size() * 2];
+            int i = 0;
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                keysValues[i++] = entry.getKey();
+                keysValues[i++] = entry.getValue();
+            }
+            execute(new RedisCallback<String>() {
+                @Override
+                public String doInRedis(Jedis jedis) {
+                    return jedis.mset(keysValues);
+                }
+            });
+            return;
+        }
+        pipelined(new PipelineCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                for (Map.Entry<String, String> entry : values.entrySet()) {
+                    pipeline.setex(entry.getKey(), seconds, entry.getValue());
+                }
+            }
+        });
+    }
+
+    /**
+     * 缓存二进制值, 使用 SETEX 一次设置值和过期时间
+     *
+     * @param seconds 过期时间, 单位秒, <=0 表示不过期
+     */
+    public String cache(final byte[] key, final byte[] value, final int seconds) {
+        return execute(new RedisCallback<String>() {
+            @Override
+            public String doInRedis(Jedis jedis) {
+                return seconds > 0 ? jedis.setex(key, seconds, value) : jedis.set(key, value);
+            }
+        });
+    }
+
+    public byte[] getBytes(final byte[] key) {
+        return execute(new RedisCallback<byte[]>() {
+            @Override
+            public byte[] doInRedis(Jedis jedis) {
+                return jedis.get(key);
+            }
+        });
+    }
+
+    public Long delete(final byte[]... keys) {
+        return execute(new RedisCallback<Long>() {
+            @Override
+            public Long doInRedis(Jedis jedis) {
+                return jedis.del(keys);
+            }
+        });
+    }
+
+    public List<byte[]> mget(final byte[]... keys) {
+        return execute(new RedisCallback<List<byte[]>>() {
+            @Override
+            public List<byte[]> doInRedis(Jedis jedis) {
+                return jedis.mget(keys);
+            }
+        });
+    }
+
+    /**
+     * 按编码缓存对象
+     *
+     * @param seconds 过期时间, 单位秒, <=0 表示不过期
+     */
+    public <T> String cache(String key, T value, int seconds, RedisCodec<? super T> codec) {
+        return cache(toBytes(key), codec.encode(value), seconds);
+    }
+
+    /**
+     * 按编码取得对象
+     *
+     * @return 对象, 不存在返回null
+     */
+    public <T> T get(String key, RedisCodec<T> codec) {
+        byte[] bytes = getBytes(toBytes(key));
+        return bytes == null ? null : codec.decode(bytes);
+    }
+
+    /**
+     * 按编码批量取得对象, 一次往返
+     *
+     * @return key -> 对象, 只包含存在的key, 按keys的顺序排列
+     */
+    public <T> Map<String, T> mget(Collection<String> keys, RedisCodec<T> codec) {
+        Map<String, T> result = new LinkedHashMap<String, T>(keys.size() * 4 / 3 + 1);
+        if (keys.isEmpty()) {
+            return result;
+        }
+        List<String> keyList = new ArrayList<String>(keys);
+        byte[][] rawKeys = new byte[keyList.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = toBytes(keyList.get(i));
+        }
+        List<byte[]> values = mget(rawKeys);
+        for (int i = 0; i < rawKeys.length; i++) {
+            byte[] value = values.get(i);
+            if (value != null) {
+                result.put(keyList.get(i), codec.decode(value));
+            }
+        }
         return result;
     }
 
-    public String get(String key) {
-        return jedis.get(key);
+    /**
+     * 按编码批量缓存对象, 在管道中逐个写入, 一次往返
+     *
+     * @param seconds 过期时间, 单位秒, <=0 表示不过期
+     */
+    public <T> void mset(final Map<String, ? extends T> values, final int seconds, final RedisCodec<? super T> codec) {
+        if (values.isEmpty()) {
+            return;
+        }
+        pipelined(new PipelineCallback() {
+            @Override
+            public void doInPipeline(Pipeline pipeline) {
+                for (Map.Entry<String, ? extends T> entry : values.entrySet()) {
+                    byte[] key = toBytes(entry.getKey());
+                    byte[] value = codec.encode(entry.getValue());
+                    if (seconds > 0) {
+                        pipeline.setex(key, seconds, value);
+                    } else {
+                        pipeline.set(key, value);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 删除所有以 prefix 开头的key, 使用 SCAN 分批查找, 不阻塞 redis
+     *
+     * @return 删除的key数
+     */
+    public long deleteByPrefix(final String prefix) {
+        return execute(new RedisCallback<Long>() {
+            @Override
+            public Long doInRedis(Jedis jedis) {
+                ScanParams params = new ScanParams().match(prefix + "*").count(500);
+                String cursor = ScanParams.SCAN_POINTER_START;
+                long count = 0;
+                do {
+                    ScanResult<String> result = jedis.scan(cursor, params);
+                    List<String> keys = result.getResult();
+                    if (!keys.isEmpty()) {
+                        count += jedis.del(keys.toArray(new String[keys.size()]));
+                    }
+                    cursor = result.getStringCursor();
+                } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+                return count;
+            }
+        });
+    }
+
+    /**
+     * 发布消息
+     *
+     * @return 收到消息的订阅者数
+     */
+    public Long publish(final String channel, final String message) {
+        return execute(new RedisCallback<Long>() {
+            @Override
+            public Long doInRedis(Jedis jedis) {
+                return jedis.publish(channel, message);
+            }
+        });
+    }
+
+    /**
+     * 订阅频道, 阻塞到 pubSub 取消订阅或连接断开为止, 期间占用一个连接
+     */
+    public void subscribe(final JedisPubSub pubSub, final String... channels) {
+        execute(new RedisCallback<Void>() {
+            @Override
+            public Void doInRedis(Jedis jedis) {
+                jedis.subscribe(pubSub, channels);
+                return null;
+            }
+        });
+    }
+
+    public JedisPool getJedisPool() {
+        return jedisPool;
+    }
+
+    private static byte[] toBytes(String key) {
+        return key.getBytes(UTF_8);
     }
 }
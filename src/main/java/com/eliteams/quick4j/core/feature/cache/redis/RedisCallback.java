@@ -0,0 +1,15 @@
+package com.eliteams.quick4j.core.feature.cache.redis;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * RedisCallback : 使用从连接池借出的连接执行操作, 执行完后连接自动归还
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:04
+ */
+public interface RedisCallback<T> {
+
+    T doInRedis(Jedis jedis);
+
+}
@@ -0,0 +1,25 @@
+package com.eliteams.quick4j.core.feature.cache.redis;
+
+/**
+ * RedisCodec : 缓存值与 redis 二进制值之间的转换
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:00
+ */
+public interface RedisCodec<T> {
+
+    /**
+     * 编码
+     *
+     * @param value 缓存值, 不为null
+     */
+    byte[] encode(T value);
+
+    /**
+     * 解码
+     *
+     * @param bytes redis 中的值, 不为null
+     */
+    T decode(byte[] bytes);
+
+}
@@ -0,0 +1,51 @@
+package com.eliteams.quick4j.core.feature.cache.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * SerializableRedisCodec : 使用 Java 序列化的编码, 值需要实现 Serializable
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:02
+ */
+public class SerializableRedisCodec implements RedisCodec<Object> {
+
+    public static final SerializableRedisCodec INSTANCE = new SerializableRedisCodec();
+
+    @Override
+    public byte[] encode(Object value) {
+        if (!(value instanceof Serializable)) {
+            throw new IllegalArgumentException("value is not serializable : " + value.getClass().getName());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(value);
+            out.close();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("serialize failed : " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try {
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            try {
+                return in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("deserialize failed", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("deserialize failed", e);
+        }
+    }
+}
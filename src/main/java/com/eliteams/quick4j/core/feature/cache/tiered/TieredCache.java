@@ -0,0 +1,268 @@
+package com.eliteams.quick4j.core.feature.cache.tiered;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import com.eliteams.quick4j.core.feature.cache.local.LocalCache;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCache;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCodec;
+
+/**
+ * TieredCache : 两级缓存, 进程内有界 LRU 的 L1 在前, redis 的 L2 在后
+ * <p/>
+ * 读取 : L1 -> L2 -> 加载器, 同一个key同时只有一个线程访问 L2 或调用加载器, 其他线程等待其结果;
+ * 写入/清除 : 同时写入/清除 L1 和 L2, 并通过 redis 频道通知其他节点清除各自的 L1.
+ * <p/>
+ * key 按 String.valueOf 转换为字符串, 需要有稳定的 toString; 不缓存null值;
+ * redis 不可用时 L2 视为未命中, 只记录日志, 不影响调用者
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:45
+ */
+public class TieredCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCache.class);
+
+    private final String name;
+
+    private final LocalCache<String, Object> local;
+
+    private final RedisCache redisCache;
+
+    private final RedisCodec<Object> codec;
+
+    /**
+     * L2 过期时间, 单位秒, <=0 表示不过期
+     */
+    private final int redisTimeToLiveSeconds;
+
+    /**
+     * L2 key前缀
+     */
+    private final String keyPrefix;
+
+    private final TieredCacheManager cacheManager;
+
+    /**
+     * 正在从 L2 或加载器加载的key
+     */
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<String, Flight>();
+
+    /**
+     * L1 失效次数, 加载期间发生失效时, 加载结果不放入 L1
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    TieredCache(String name, LocalCache<String, Object> local, RedisCache redisCache, RedisCodec<Object> codec, int redisTimeToLiveSeconds,
+            String keyPrefix, TieredCacheManager cacheManager) {
+        this.name = name;
+        this.local = local;
+        this.redisCache = redisCache;
+        this.codec = codec;
+        this.redisTimeToLiveSeconds = redisTimeToLiveSeconds;
+        this.keyPrefix = keyPrefix;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = load(toKey(key), null);
+        return value == null ? null : new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = load(toKey(key), null);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * 取值, L1 和 L2 都未命中时调用加载器, 并把结果放入两级缓存; 同一个key的并发加载只调用一次加载器
+     *
+     * @param key    key
+     * @param loader 加载器, 返回null时不缓存
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> loader) {
+        return (T) load(toKey(key), loader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = toKey(key);
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        invalidations.incrementAndGet();
+        local.put(localKey, value);
+        putRemote(localKey, value);
+        cacheManager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = toKey(key);
+        invalidations.incrementAndGet();
+        local.remove(localKey);
+        try {
+            redisCache.delete(keyPrefix + localKey);
+        } catch (RuntimeException e) {
+            logger.warn("evict {} from redis failed : {}", keyPrefix + localKey, e.getMessage());
+        }
+        cacheManager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        invalidations.incrementAndGet();
+        local.clear();
+        try {
+            redisCache.deleteByPrefix(keyPrefix);
+        } catch (RuntimeException e) {
+            logger.warn("clear {} from redis failed : {}", keyPrefix, e.getMessage());
+        }
+        cacheManager.publishClear(name);
+    }
+
+    /**
+     * 其他节点修改了key, 清除 L1
+     */
+    void evictLocal(String key) {
+        invalidations.incrementAndGet();
+        local.remove(key);
+    }
+
+    /**
+     * 其他节点清空了缓存, 或可能错过了失效通知, 清空 L1
+     */
+    void clearLocal() {
+        invalidations.incrementAndGet();
+        local.clear();
+    }
+
+    /**
+     * L1 的命中统计
+     */
+    public LocalCache<String, Object> getLocalCache() {
+        return local;
+    }
+
+    private Object load(String key, Callable<?> loader) {
+        Object value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        while (true) {
+            Flight flight = new Flight(key, loader);
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                try {
+                    flight.run();
+                } finally {
+                    flights.remove(key, flight);
+                }
+                existing = flight;
+            }
+            value = existing.await();
+            // 加入的加载没有加载器且未命中时, 自己再加载一次
+            if (value != null || loader == null || existing.loader != null) {
+                return value;
+            }
+        }
+    }
+
+    private Object getRemote(String key) {
+        try {
+            byte[] bytes = redisCache.getBytes(toBytes(keyPrefix + key));
+            return bytes == null ? null : codec.decode(bytes);
+        } catch (RuntimeException e) {
+            logger.warn("get {} from redis failed : {}", keyPrefix + key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, Object value) {
+        try {
+            redisCache.cache(toBytes(keyPrefix + key), codec.encode(value), redisTimeToLiveSeconds);
+        } catch (RuntimeException e) {
+            logger.warn("put {} to redis failed : {}", keyPrefix + key, e.getMessage());
+        }
+    }
+
+    private static String toKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static byte[] toBytes(String key) {
+        return key.getBytes(TieredCacheManager.UTF_8);
+    }
+
+    /**
+     * 一次加载 : 读 L2, 未命中时调用加载器并写入 L2, 最后在未发生失效时放入 L1
+     */
+    private final class Flight extends FutureTask<Object> {
+
+        private final Callable<?> loader;
+
+        private Flight(final String key, final Callable<?> loader) {
+            super(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    long version = invalidations.get();
+                    Object value = getRemote(key);
+                    if (value == null && loader != null) {
+                        value = loader.call();
+                        if (value != null) {
+                            putRemote(key, value);
+                        }
+                    }
+                    if (value != null && version == invalidations.get()) {
+                        local.put(key, value);
+                    }
+                    return value;
+                }
+            });
+            this.loader = loader;
+        }
+
+        private Object await() {
+            try {
+                return get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while loading " + name, e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("load " + name + " failed", cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.eliteams.quick4j.core.feature.cache.tiered;
+
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.StringUtils;
+import redis.clients.jedis.JedisPubSub;
+import com.eliteams.quick4j.core.feature.cache.local.LocalCache;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCache;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCodec;
+import com.eliteams.quick4j.core.feature.cache.redis.SerializableRedisCodec;
+
+/**
+ * TieredCacheManager : 管理 {@link TieredCache}, 只提供 cacheNames 中配置的缓存, 其他名字返回null
+ * <p/>
+ * 第一个缓存创建时启动订阅线程, 订阅失效频道, 收到其他节点的消息后清除本地 L1;
+ * 订阅断开后自动重连, 重连成功时清空所有 L1, 避免断开期间错过的失效通知导致读到旧值
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:50
+ */
+public class TieredCacheManager implements CacheManager, DisposableBean {
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCacheManager.class);
+
+    private static final String EVICT = "E";
+
+    private static final String CLEAR = "C";
+
+    /**
+     * 订阅断开后的最长重连间隔, 单位毫秒
+     */
+    private static final long MAX_RECONNECT_DELAY = 30000;
+
+    /**
+     * 本节点id, 用于忽略自己发出的失效消息
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentMap<String, TieredCache> caches = new ConcurrentHashMap<String, TieredCache>();
+
+    private RedisCache redisCache;
+
+    private RedisCodec<Object> codec = SerializableRedisCodec.INSTANCE;
+
+    private Set<String> cacheNames = Collections.emptySet();
+
+    private String channel = "cache:invalidation";
+
+    private String keyPrefix = "cache:";
+
+    private int localMaxSize = 10000;
+
+    private int localTimeToLiveSeconds = 60;
+
+    private int redisTimeToLiveSeconds = 600;
+
+    private volatile boolean running;
+
+    private Thread subscriber;
+
+    private final JedisPubSub pubSub = new JedisPubSub() {
+        @Override
+        public void onSubscribe(String channel, int subscribedChannels) {
+            for (TieredCache cache : caches.values()) {
+                cache.clearLocal();
+            }
+        }
+
+        @Override
+        public void onMessage(String channel, String message) {
+            handleMessage(message);
+        }
+    };
+
+    public void setRedisCache(RedisCache redisCache) {
+        this.redisCache = redisCache;
+    }
+
+    public void setCodec(RedisCodec<Object> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * 使用两级缓存的缓存名, 空白的名字会被忽略
+     */
+    public void setCacheNames(String... cacheNames) {
+        Set<String> names = new LinkedHashSet<String>();
+        for (String name : cacheNames) {
+            if (StringUtils.hasText(name)) {
+                names.add(name.trim());
+            }
+        }
+        this.cacheNames = names;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    public void setLocalMaxSize(int localMaxSize) {
+        this.localMaxSize = localMaxSize;
+    }
+
+    public void setLocalTimeToLiveSeconds(int localTimeToLiveSeconds) {
+        this.localTimeToLiveSeconds = localTimeToLiveSeconds;
+    }
+
+    public void setRedisTimeToLiveSeconds(int redisTimeToLiveSeconds) {
+        this.redisTimeToLiveSeconds = redisTimeToLiveSeconds;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TieredCache cache = caches.get(name);
+        if (cache != null || !cacheNames.contains(name)) {
+            return cache;
+        }
+        LocalCache<String, Object> local = new LocalCache<String, Object>(localMaxSize, localTimeToLiveSeconds * 1000L);
+        TieredCache created = new TieredCache(name, local, redisCache, codec, redisTimeToLiveSeconds, keyPrefix + name + ":", this);
+        cache = caches.putIfAbsent(name, created);
+        if (cache == null) {
+            startSubscriber();
+            cache = created;
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(cacheNames);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        running = false;
+        if (pubSub.isSubscribed()) {
+            try {
+                pubSub.unsubscribe();
+            } catch (RuntimeException e) {
+                logger.debug("unsubscribe failed", e);
+            }
+        }
+        if (subscriber != null) {
+            subscriber.interrupt();
+            subscriber = null;
+        }
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(nodeId + "\n" + cacheName + "\n" + EVICT + "\n" + key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(nodeId + "\n" + cacheName + "\n" + CLEAR + "\n");
+    }
+
+    private void publish(String message) {
+        try {
+            redisCache.publish(channel, message);
+        } catch (RuntimeException e) {
+            logger.warn("publish cache invalidation failed : {}", e.getMessage());
+        }
+    }
+
+    private void handleMessage(String message) {
+        String[] parts = message.split("\n", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TieredCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (EVICT.equals(parts[2])) {
+            cache.evictLocal(parts[3]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+
+    private synchronized void startSubscriber() {
+        if (running) {
+            return;
+        }
+        running = true;
+        subscriber = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                long delay = 1000;
+                while (running) {
+                    try {
+                        redisCache.subscribe(pubSub, channel);
+                        delay = 1000;
+                    } catch (RuntimeException e) {
+                        logger.warn("subscribe {} failed, retry in {} ms : {}", new Object[] { channel, delay, e.getMessage() });
+                    }
+                    if (!running) {
+                        return;
+                    }
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    delay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
+                }
+            }
+        }, "tiered-cache-subscriber");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ *package-info : 两级缓存, 进程内 L1 + redis L2
+ *@since 2026-10-17 17:40
+ *@author StarZou
+ **/
+package com.eliteams.quick4j.core.feature.cache.tiered;
@@ -0,0 +1,143 @@
+package com.eliteams.quick4j.core.feature.logging;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.spi.Filter;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * AsyncAppenderHelper : {@link AsyncFileAppender} 与 {@link AsyncConsoleAppender} 共用的队列生命周期, 配置项及阈值过滤判断
+ * <p/>
+ * 配置项 :
+ * <ul>
+ * <li>QueueSize : 队列容量, 默认 8192</li>
+ * <li>BatchSize : 每批最多写出的条数, 默认 512</li>
+ * <li>OverflowPolicy : 队列满时的策略, block(默认) 或 drop, 见 {@link AsyncEventQueue}</li>
+ * <li>LocationInfo : 布局中使用 %C %F %L %M 时必须为 true, 在调用线程中计算调用位置, 开销较大; 默认 false</li>
+ * </ul>
+ * doAppend 不持有 appender 的锁, 因此关闭状态用 volatile 字段记录, 不读取 AppenderSkeleton 的 closed
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:55
+ */
+public class AsyncAppenderHelper {
+
+    private final AppenderSkeleton appender;
+
+    private final AsyncEventQueue.BatchWriter writer;
+
+    private int queueSize = 8192;
+
+    private int batchSize = 512;
+
+    private String overflowPolicy = AsyncEventQueue.BLOCK;
+
+    private boolean locationInfo;
+
+    private volatile AsyncEventQueue queue;
+
+    private volatile boolean closed;
+
+    /**
+     * @param appender 所属的 appender, 用于线程名及阈值过滤判断
+     * @param writer   在后台线程中批量写出, 需自行持有 appender 的锁
+     */
+    public AsyncAppenderHelper(AppenderSkeleton appender, AsyncEventQueue.BatchWriter writer) {
+        this.appender = appender;
+        this.writer = writer;
+    }
+
+    /**
+     * 按当前配置创建队列, 已有队列时先写完再替换
+     */
+    public void activate() {
+        AsyncEventQueue previous = queue;
+        if (previous != null) {
+            previous.close(1000);
+        }
+        queue = new AsyncEventQueue("async-log-" + appender.getName(), queueSize, batchSize, overflowPolicy, writer);
+    }
+
+    /**
+     * 判断阈值及过滤器后放入队列
+     *
+     * @return false 表示还未初始化, 由调用方按同步方式输出
+     */
+    public boolean append(LoggingEvent event) {
+        AsyncEventQueue current = queue;
+        if (current == null) {
+            return false;
+        }
+        if (!closed && accepts(event)) {
+            current.put(event, locationInfo);
+        }
+        return true;
+    }
+
+    /**
+     * 停止接收, 并等待队列中的日志写完
+     */
+    public void close() {
+        closed = true;
+        AsyncEventQueue current = queue;
+        if (current != null) {
+            current.close(5000);
+        }
+    }
+
+    /**
+     * 按阈值及过滤器判断事件是否需要输出, 与 AppenderSkeleton.doAppend 的判断相同
+     */
+    private boolean accepts(LoggingEvent event) {
+        if (!appender.isAsSevereAsThreshold(event.getLevel())) {
+            return false;
+        }
+        Filter filter = appender.getFilter();
+        while (filter != null) {
+            switch (filter.decide(event)) {
+            case Filter.DENY:
+                return false;
+            case Filter.ACCEPT:
+                return true;
+            default:
+                filter = filter.getNext();
+            }
+        }
+        return true;
+    }
+
+    public AsyncEventQueue getQueue() {
+        return queue;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setLocationInfo(boolean locationInfo) {
+        this.locationInfo = locationInfo;
+    }
+
+    public boolean getLocationInfo() {
+        return locationInfo;
+    }
+}
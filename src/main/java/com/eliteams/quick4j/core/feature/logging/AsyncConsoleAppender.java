@@ -0,0 +1,94 @@
+package com.eliteams.quick4j.core.feature.logging;
+
+import java.util.List;
+import org.apache.log4j.ConsoleAppender;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * AsyncConsoleAppender : 异步控制台日志, 调用线程只把事件放入队列, 后台线程批量写出, 每批刷新一次.
+ * <p/>
+ * 在 ConsoleAppender 的配置项之外, 支持 QueueSize, BatchSize, OverflowPolicy, LocationInfo, 见 {@link AsyncAppenderHelper}
+ * <p/>
+ * ImmediateFlush 固定为 false
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:40
+ */
+public class AsyncConsoleAppender extends ConsoleAppender {
+
+    private final AsyncAppenderHelper async = new AsyncAppenderHelper(this, new AsyncEventQueue.BatchWriter() {
+        @Override
+        public void write(List<LoggingEvent> batch) {
+            synchronized (AsyncConsoleAppender.this) {
+                for (LoggingEvent event : batch) {
+                    append(event);
+                }
+                if (qw != null) {
+                    qw.flush();
+                }
+            }
+        }
+    });
+
+    @Override
+    public void activateOptions() {
+        setImmediateFlush(false);
+        super.activateOptions();
+        async.activate();
+    }
+
+    /**
+     * 不加锁, 判断阈值及过滤器后放入队列; 未初始化时按同步方式输出
+     */
+    @Override
+    public void doAppend(LoggingEvent event) {
+        if (!async.append(event)) {
+            super.doAppend(event);
+        }
+    }
+
+    /**
+     * 写完队列中的日志后关闭
+     */
+    @Override
+    public void close() {
+        async.close();
+        super.close();
+    }
+
+    public AsyncEventQueue getQueue() {
+        return async.getQueue();
+    }
+
+    public void setQueueSize(int queueSize) {
+        async.setQueueSize(queueSize);
+    }
+
+    public int getQueueSize() {
+        return async.getQueueSize();
+    }
+
+    public void setBatchSize(int batchSize) {
+        async.setBatchSize(batchSize);
+    }
+
+    public int getBatchSize() {
+        return async.getBatchSize();
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        async.setOverflowPolicy(overflowPolicy);
+    }
+
+    public String getOverflowPolicy() {
+        return async.getOverflowPolicy();
+    }
+
+    public void setLocationInfo(boolean locationInfo) {
+        async.setLocationInfo(locationInfo);
+    }
+
+    public boolean getLocationInfo() {
+        return async.getLocationInfo();
+    }
+}
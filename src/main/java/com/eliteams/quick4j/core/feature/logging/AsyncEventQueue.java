@@ -0,0 +1,181 @@
+package com.eliteams.quick4j.core.feature.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.helpers.LogLog;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * AsyncEventQueue : 异步日志队列, 固定容量的环形数组, 由一个后台线程每次取出一批事件交给 {@link BatchWriter} 写出.
+ * <p/>
+ * 队列满时的策略 :
+ * <ul>
+ * <li>block : 等待队列有空位, 不丢日志; 队列已关闭或后台线程已停止时不再等待, 按丢弃计数</li>
+ * <li>drop : 丢弃 WARN 以下的日志, WARN 及以上仍等待; 丢弃的条数在下一批中以一条 WARN 日志输出</li>
+ * </ul>
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:30
+ */
+public class AsyncEventQueue {
+
+    public static final String BLOCK = "block";
+
+    public static final String DROP = "drop";
+
+    /**
+     * 批量写出
+     */
+    public interface BatchWriter {
+
+        /**
+         * 写出一批事件, 在后台线程中调用
+         */
+        void write(List<LoggingEvent> batch);
+    }
+
+    private static final long POLL_MILLIS = 100;
+
+    private final ArrayBlockingQueue<LoggingEvent> queue;
+
+    private final int batchSize;
+
+    private final boolean dropOnOverflow;
+
+    private final BatchWriter writer;
+
+    private final AtomicLong pendingDropped = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread worker;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name      后台线程名
+     * @param capacity  队列容量
+     * @param batchSize 每批最多写出的条数
+     * @param policy    队列满时的策略, block 或 drop
+     * @param writer    批量写出
+     */
+    public AsyncEventQueue(String name, int capacity, int batchSize, String policy, BatchWriter writer) {
+        if (!BLOCK.equalsIgnoreCase(policy) && !DROP.equalsIgnoreCase(policy)) {
+            throw new IllegalArgumentException("未知的队列满策略 : " + policy + ", 可选 block, drop");
+        }
+        this.queue = new ArrayBlockingQueue<LoggingEvent>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.dropOnOverflow = DROP.equalsIgnoreCase(policy);
+        this.writer = writer;
+        this.worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                dispatch();
+            }
+        }, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 放入队列. 先在调用线程中取出线程名, NDC, MDC 及格式化后的消息, 这些值在后台线程中无法取得或可能已变化
+     *
+     * @param event        日志事件
+     * @param locationInfo 是否需要调用位置(%C %F %L %M), 需要时在调用线程中计算
+     */
+    public void put(LoggingEvent event, boolean locationInfo) {
+        event.getThreadName();
+        event.getNDC();
+        event.getMDCCopy();
+        event.getRenderedMessage();
+        if (locationInfo) {
+            event.getLocationInformation();
+        }
+        if (queue.offer(event)) {
+            return;
+        }
+        if (dropOnOverflow && !event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            drop();
+            return;
+        }
+        try {
+            // 分段等待, 队列关闭或后台线程停止后没有人再取出, 不能一直等下去
+            while (!queue.offer(event, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!running || !worker.isAlive()) {
+                    drop();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop();
+        }
+    }
+
+    private void drop() {
+        pendingDropped.incrementAndGet();
+        dropped.incrementAndGet();
+    }
+
+    private void dispatch() {
+        List<LoggingEvent> batch = new ArrayList<LoggingEvent>(batchSize + 1);
+        while (running || !queue.isEmpty()) {
+            LoggingEvent first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            long count = pendingDropped.getAndSet(0);
+            if (count > 0) {
+                batch.add(new LoggingEvent(AsyncEventQueue.class.getName(), Logger.getLogger(AsyncEventQueue.class), Level.WARN, "异步日志队列已满, 丢弃了 "
+                        + count + " 条 WARN 以下的日志", null));
+            }
+            try {
+                writer.write(batch);
+            } catch (Throwable e) {
+                // 包括 Error, 后台线程只有一个, 不能因一批写出失败而退出
+                LogLog.error("异步日志写出失败 : " + worker.getName(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * 停止接收并等待队列中的日志写完
+     *
+     * @param timeoutMillis 最长等待时间
+     */
+    public void close(long timeoutMillis) {
+        running = false;
+        try {
+            worker.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 队列中等待写出的条数
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * 累计丢弃的条数
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ *package-info : 异步日志, 日志事件放入有界队列, 由后台线程批量写出
+ *@since 2026-10-17 21:30
+ *@author StarZou
+ **/
+package com.eliteams.quick4j.core.feature.logging;
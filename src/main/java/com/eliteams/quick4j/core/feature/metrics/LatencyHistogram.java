@@ -0,0 +1,173 @@
+package com.eliteams.quick4j.core.feature.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram : 耗时分布, 线程安全, 记录时不加锁也不分配对象
+ * <p/>
+ * 按 2 的幂分段, 每段再均分为 16 个桶, 相对误差不超过 1/16; 百分位取所在桶的上界.
+ * 记录的单位由调用者决定, 通常为纳秒
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:00
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每段的桶数 = 2^SUB_BITS
+     */
+    private static final int SUB_BITS = 4;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * 记录一次耗时, 负数按0记录
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(indexOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * 平均值, 没有记录时返回0
+     */
+    public double getMean() {
+        long n = count.get();
+        return n == 0 ? 0D : (double) total.get() / n;
+    }
+
+    /**
+     * 百分位值, 没有记录时返回0
+     *
+     * @param percentile 0 ~ 100, 如 99.9
+     */
+    public long getPercentile(double percentile) {
+        long n = 0;
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0D), 100D) / 100D * n);
+        if (rank < 1) {
+            rank = 1;
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * 合并另一个分布的记录
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long value = other.buckets.get(i);
+            if (value != 0) {
+                buckets.addAndGet(i, value);
+            }
+        }
+        count.addAndGet(other.count.get());
+        total.addAndGet(other.total.get());
+        long otherMax = other.max.get();
+        long current = max.get();
+        while (otherMax > current && !max.compareAndSet(current, otherMax)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * 以纳秒记录时, 换算为指定单位的常用汇总 : count, mean, p50, p90, p99, p999, max
+     *
+     * @param unit 输出单位
+     */
+    public Map<String, Object> summary(TimeUnit unit) {
+        double nanosPerUnit = unit.toNanos(1);
+        Map<String, Object> summary = new LinkedHashMap<String, Object>();
+        summary.put("count", getCount());
+        summary.put("mean", round(getMean() / nanosPerUnit));
+        summary.put("p50", round(getPercentile(50) / nanosPerUnit));
+        summary.put("p90", round(getPercentile(90) / nanosPerUnit));
+        summary.put("p99", round(getPercentile(99) / nanosPerUnit));
+        summary.put("p999", round(getPercentile(99.9) / nanosPerUnit));
+        summary.put("max", round(getMax() / nanosPerUnit));
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000D) / 1000D;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_COUNT + SUB_BITS - 1;
+        long sub = index % SUB_COUNT;
+        long lower = (SUB_COUNT + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
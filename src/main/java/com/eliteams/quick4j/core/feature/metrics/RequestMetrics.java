@@ -0,0 +1,85 @@
+package com.eliteams.quick4j.core.feature.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * RequestMetrics : 按 "请求方法 @RequestMapping路径" 汇总的请求统计, 没有进入控制器的请求(静态资源, 未登录跳转, 404 等)汇总为 {@link #UNMAPPED}
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:00
+ */
+public class RequestMetrics {
+
+    public static final String UNMAPPED = "(unmapped)";
+
+    private final ConcurrentMap<String, RequestStatistics> statistics = new ConcurrentHashMap<String, RequestStatistics>();
+
+    private volatile boolean enabled = true;
+
+    /**
+     * 记录一次请求
+     *
+     * @param method     请求方法
+     * @param totalNanos 总耗时
+     * @param timing     各阶段时间点
+     * @param error      是否出错(抛出异常或状态码 >= 500)
+     */
+    public void record(String method, long totalNanos, RequestTiming timing, boolean error) {
+        String pattern = timing.getPattern();
+        getStatistics(pattern == null ? UNMAPPED : method + " " + pattern).record(totalNanos, timing, error);
+    }
+
+    /**
+     * 取得路径的统计, 不存在时创建
+     */
+    public RequestStatistics getStatistics(String key) {
+        RequestStatistics result = statistics.get(key);
+        if (result == null) {
+            result = new RequestStatistics(key);
+            RequestStatistics previous = statistics.putIfAbsent(key, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按总耗时降序排列的各路径统计
+     */
+    public Map<String, Object> toMap() {
+        List<RequestStatistics> list = new ArrayList<RequestStatistics>(statistics.values());
+        Collections.sort(list, new Comparator<RequestStatistics>() {
+            @Override
+            public int compare(RequestStatistics o1, RequestStatistics o2) {
+                return Long.compare(o2.getTotal().getTotal(), o1.getTotal().getTotal());
+            }
+        });
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        for (RequestStatistics item : list) {
+            map.put(item.getKey(), item.toMap());
+        }
+        return map;
+    }
+
+    public void reset() {
+        for (RequestStatistics item : statistics.values()) {
+            item.reset();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
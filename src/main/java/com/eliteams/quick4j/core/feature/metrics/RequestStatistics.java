@@ -0,0 +1,115 @@
+package com.eliteams.quick4j.core.feature.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RequestStatistics : 同一个 @RequestMapping 路径的请求统计, 总耗时及各阶段耗时分布, 单位纳秒
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:55
+ */
+public class RequestStatistics {
+
+    /**
+     * 阶段名, 与 {@link #phases} 一一对应
+     */
+    static final String[] PHASE_NAMES = { "filter", "auth", "handler", "view", "other" };
+
+    private final String key;
+
+    private final StripedCounter count = new StripedCounter();
+
+    private final StripedCounter errors = new StripedCounter();
+
+    private final LatencyHistogram total = new LatencyHistogram();
+
+    private final LatencyHistogram[] phases = new LatencyHistogram[PHASE_NAMES.length];
+
+    public RequestStatistics(String key) {
+        this.key = key;
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * 记录一次请求
+     */
+    public void record(long totalNanos, RequestTiming timing, boolean error) {
+        count.increment();
+        if (error) {
+            errors.increment();
+        }
+        total.record(totalNanos);
+        long filter = timing.getFilterNanos(totalNanos);
+        long auth = timing.getAuthNanos();
+        long handler = timing.getHandlerNanos();
+        long view = timing.getViewNanos();
+        phases[0].record(filter);
+        phases[1].record(auth);
+        phases[2].record(handler);
+        phases[3].record(view);
+        phases[4].record(totalNanos - filter - auth - handler - view);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public LatencyHistogram getTotal() {
+        return total;
+    }
+
+    /**
+     * 阶段耗时分布
+     *
+     * @param name filter, auth, handler, view, other
+     */
+    public LatencyHistogram getPhase(String name) {
+        for (int i = 0; i < PHASE_NAMES.length; i++) {
+            if (PHASE_NAMES[i].equals(name)) {
+                return phases[i];
+            }
+        }
+        throw new IllegalArgumentException("未知的阶段 : " + name);
+    }
+
+    public void reset() {
+        count.reset();
+        errors.reset();
+        total.reset();
+        for (LatencyHistogram phase : phases) {
+            phase.reset();
+        }
+    }
+
+    /**
+     * 汇总为有序Map, 耗时单位为微秒; breakdown 为各阶段占总耗时的比例
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("count", getCount());
+        map.put("errors", getErrors());
+        map.put("totalMicros", total.summary(TimeUnit.MICROSECONDS));
+        Map<String, Object> breakdown = new LinkedHashMap<String, Object>();
+        Map<String, Object> phaseMap = new LinkedHashMap<String, Object>();
+        long totalNanos = total.getTotal();
+        for (int i = 0; i < PHASE_NAMES.length; i++) {
+            breakdown.put(PHASE_NAMES[i], totalNanos == 0 ? 0D : Math.round(phases[i].getTotal() * 1000D / totalNanos) / 1000D);
+            phaseMap.put(PHASE_NAMES[i], phases[i].summary(TimeUnit.MICROSECONDS));
+        }
+        map.put("breakdown", breakdown);
+        map.put("phasesMicros", phaseMap);
+        return map;
+    }
+}
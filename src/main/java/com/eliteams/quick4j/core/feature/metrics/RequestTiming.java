@@ -0,0 +1,140 @@
+package com.eliteams.quick4j.core.feature.metrics;
+
+/**
+ * RequestTiming : 当前线程正在处理的请求的各阶段时间点, 每个线程复用同一个对象, 不产生额外分配.
+ * <p/>
+ * 阶段划分 : filter(进入控制器之前的过滤器及安全检查) → handler(控制器) → view(视图渲染) → other(之后的过滤器及响应输出);
+ * 认证(登录)耗时单独记为 auth, 从其所在的阶段中扣除. 由 {@link #begin()} 开始, {@link #end()} 结束
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:50
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<RequestTiming>() {
+        @Override
+        protected RequestTiming initialValue() {
+            return new RequestTiming();
+        }
+    };
+
+    private boolean active;
+
+    private long start;
+
+    private long handlerStart;
+
+    private long handlerEnd;
+
+    private long viewEnd;
+
+    private long filterAuthNanos;
+
+    private long handlerAuthNanos;
+
+    private String pattern;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * 开始计时当前线程的请求
+     */
+    public static RequestTiming begin() {
+        RequestTiming timing = CURRENT.get();
+        timing.active = true;
+        timing.start = System.nanoTime();
+        timing.handlerStart = 0;
+        timing.handlerEnd = 0;
+        timing.viewEnd = 0;
+        timing.filterAuthNanos = 0;
+        timing.handlerAuthNanos = 0;
+        timing.pattern = null;
+        return timing;
+    }
+
+    /**
+     * 当前线程正在计时的请求, 没有时返回null
+     */
+    public static RequestTiming current() {
+        RequestTiming timing = CURRENT.get();
+        return timing.active ? timing : null;
+    }
+
+    /**
+     * 进入控制器
+     *
+     * @param pattern 匹配的 @RequestMapping 路径
+     */
+    public void handlerStarted(String pattern) {
+        this.pattern = pattern;
+        this.handlerStart = System.nanoTime();
+    }
+
+    /**
+     * 控制器返回, 开始渲染视图
+     */
+    public void handlerCompleted() {
+        if (handlerStart != 0 && handlerEnd == 0) {
+            handlerEnd = System.nanoTime();
+        }
+    }
+
+    /**
+     * 视图渲染完成, 控制器抛出异常时没有视图阶段
+     */
+    public void viewCompleted() {
+        if (handlerStart == 0) {
+            return;
+        }
+        if (handlerEnd == 0) {
+            // 没有经过 postHandle, 控制器抛出了异常
+            handlerEnd = System.nanoTime();
+        } else if (viewEnd == 0) {
+            viewEnd = System.nanoTime();
+        }
+    }
+
+    /**
+     * 记录认证耗时, 从当前所在的阶段中扣除
+     */
+    public void addAuthTime(long nanos) {
+        if (handlerStart != 0 && handlerEnd == 0) {
+            handlerAuthNanos += nanos;
+        } else {
+            filterAuthNanos += nanos;
+        }
+    }
+
+    /**
+     * 结束计时, 返回请求总耗时
+     */
+    public long end() {
+        active = false;
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 匹配的 @RequestMapping 路径, 没有进入控制器时为null
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    public long getFilterNanos(long totalNanos) {
+        long filterEnd = handlerStart == 0 ? start + totalNanos : handlerStart;
+        return Math.max(0, filterEnd - start - filterAuthNanos);
+    }
+
+    public long getAuthNanos() {
+        return filterAuthNanos + handlerAuthNanos;
+    }
+
+    public long getHandlerNanos() {
+        return handlerEnd == 0 ? 0 : Math.max(0, handlerEnd - handlerStart - handlerAuthNanos);
+    }
+
+    public long getViewNanos() {
+        return viewEnd == 0 ? 0 : viewEnd - handlerEnd;
+    }
+}
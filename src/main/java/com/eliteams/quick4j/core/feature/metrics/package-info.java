@@ -0,0 +1,6 @@
+/**
+ *package-info : 运行指标, 计数及耗时分布
+ *@since 2026-10-17 18:00
+ *@author StarZou
+ **/
+package com.eliteams.quick4j.core.feature.metrics;
@@ -26,4 +26,55 @@ public abstract class Dialect {
      */
     public abstract String getCountString(String sql);
 
+    /**
+     * 是否支持多行插入 : insert into ... values (...),(...)
+     */
+    public boolean supportsMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * 得到估算总数量 sql, 结果集 rows 列为估算的总数量; 结果多于一行时(如多表查询的执行计划)无法估算, 改为统计精确总数.
+     * 包含占位符时按 {@link #getEstimateCountParameters(String)} 绑定, 其返回null时按原SQL的参数绑定.
+     * 
+     * @param sql
+     * @return 不支持估算时返回null
+     */
+    public String getEstimateCountString(String sql) {
+        return null;
+    }
+
+    /**
+     * 得到估算总数量 sql 的参数
+     * 
+     * @param sql
+     * @return 按原SQL的参数绑定时返回null
+     */
+    public Object[] getEstimateCountParameters(String sql) {
+        return null;
+    }
+
+    /**
+     * 是否支持 keyset 分页, 不支持时分页插件拒绝 {@link com.eliteams.quick4j.core.feature.orm.mybatis.SeekPage}
+     */
+    public boolean supportsSeek() {
+        return false;
+    }
+
+    /**
+     * 得到 keyset 分页sql : 在条件后追加 (排序列) > (?), 按排序列排序并限定数量. 只在 {@link #supportsSeek()} 为 true 时调用.
+     * <p/>
+     * 追加的占位符位于原有占位符之后, 按排序列的顺序绑定上一页最后一条记录的值
+     * 
+     * @param sql
+     * @param sortColumns 排序列, 组合起来必须唯一
+     * @param descending 是否降序
+     * @param hasKeys 是否有上一页的key, 没有时查询第一页
+     * @param limit
+     * @return
+     */
+    public String getSeekString(String sql, String[] sortColumns, boolean descending, boolean hasKeys, int limit) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " 不支持 keyset 分页!");
+    }
+
 }
@@ -1,32 +1,58 @@
 package com.eliteams.quick4j.core.feature.orm.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import org.apache.ibatis.session.Configuration;
 
 /**
- * 数据库方言工厂,产生方言对象
+ * 数据库方言工厂,产生方言对象.
+ * <p/>
+ * 优先使用 mybatis-config.xml 中的 dialectClass, 没有配置时根据数据库产品名称自动识别.
+ * 不缓存结果, 由调用方按 Configuration 保存(如分页插件实例), 避免静态引用使 Configuration 在重新部署后无法回收
  * 
  * @author StarZou
  * @since 2014年5月18日 下午1:32:23
  **/
 public class DialectFactory {
 
-    public static String dialectClass = null;
-
-    public static Dialect buildDialect(Configuration configuration) {
+    public static Dialect buildDialect(Configuration configuration, Connection connection) {
+        String dialectClass = configuration.getVariables() == null ? null : configuration.getVariables().getProperty("dialectClass");
         if (dialectClass == null) {
-            synchronized (DialectFactory.class) {
-                if (dialectClass == null) {
-                    dialectClass = configuration.getVariables().getProperty("dialectClass");
-                }
-            }
+            dialectClass = detectDialectClass(connection);
         }
-        Dialect dialect = null;
         try {
-            dialect = (Dialect) Class.forName(dialectClass).newInstance();
+            return (Dialect) Class.forName(dialectClass).newInstance();
         } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("请检查 mybatis-config.xml 中  dialectClass 是否配置正确?");
+            throw new IllegalArgumentException("请检查 mybatis-config.xml 中  dialectClass 是否配置正确?", e);
+        }
+    }
+
+    /**
+     * 根据数据库产品名称识别方言
+     */
+    private static String detectDialectClass(Connection connection) {
+        String productName;
+        try {
+            productName = connection.getMetaData().getDatabaseProductName();
+        } catch (SQLException e) {
+            throw new IllegalStateException("无法识别数据库方言, 请在 mybatis-config.xml 中配置 dialectClass", e);
+        }
+        String name = productName == null ? "" : productName.toLowerCase();
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MySql5Dialect.class.getName();
+        }
+        if (name.contains("postgresql")) {
+            return PostgreDialect.class.getName();
+        }
+        if (name.equals("h2")) {
+            return H2Dialect.class.getName();
+        }
+        if (name.contains("sql server")) {
+            return MSDialect.class.getName();
+        }
+        if (name.contains("oracle")) {
+            return OracleDialect.class.getName();
         }
-        return dialect;
+        throw new IllegalStateException("无法识别数据库方言 : " + productName + ", 请在 mybatis-config.xml 中配置 dialectClass");
     }
 }
@@ -0,0 +1,20 @@
+package com.eliteams.quick4j.core.feature.orm.dialect;
+
+/**
+ * H2 数据库 方言, 分页及 keyset 分页与 Postgre 相同; 没有 pg_class, 不支持估算总数, CountMode.ESTIMATE 时统计精确总数
+ *
+ * @author StarZou
+ * @since 2026-10-17 22:00
+ **/
+public class H2Dialect extends PostgreDialect {
+
+    @Override
+    public String getEstimateCountString(String sql) {
+        return null;
+    }
+
+    @Override
+    public Object[] getEstimateCountParameters(String sql) {
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.eliteams.quick4j.core.feature.orm.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分页SQL模板, 由固定的SQL片段和 offset/limit 占位组成, 分页时只需绑定数值
+ *
+ * @author StarZou
+ * @since 2026-10-17 11:02
+ **/
+public final class LimitTemplate {
+
+    /**
+     * 占位 : 偏移量
+     */
+    public static final int OFFSET = 0;
+
+    /**
+     * 占位 : 限定数
+     */
+    public static final int LIMIT = 1;
+
+    /**
+     * 占位 : 偏移量 + 限定数
+     */
+    public static final int END = 2;
+
+    /**
+     * SQL片段, 比占位多一个
+     */
+    private final String[] fragments;
+
+    /**
+     * 占位, 位于相邻两个片段之间
+     */
+    private final int[] placeholders;
+
+    /**
+     * 片段总长度, 用于预估结果长度
+     */
+    private final int length;
+
+    private LimitTemplate(String[] fragments, int[] placeholders) {
+        this.fragments = fragments;
+        this.placeholders = placeholders;
+        int total = 0;
+        for (String fragment : fragments) {
+            total += fragment.length();
+        }
+        this.length = total;
+    }
+
+    /**
+     * 绑定分页参数, 得到分页SQL
+     *
+     * @param offset 偏移量
+     * @param limit  限定数
+     * @return 分页SQL
+     */
+    public String bind(int offset, int limit) {
+        StringBuilder sql = new StringBuilder(length + placeholders.length * 10);
+        for (int i = 0; i < placeholders.length; i++) {
+            sql.append(fragments[i]);
+            switch (placeholders[i]) {
+            case OFFSET:
+                sql.append(offset);
+                break;
+            case LIMIT:
+                sql.append(limit);
+                break;
+            default:
+                sql.append(offset + limit);
+                break;
+            }
+        }
+        return sql.append(fragments[placeholders.length]).toString();
+    }
+
+    /**
+     * 模板构建器
+     */
+    public static class Builder {
+        private final List<String> fragments = new ArrayList<String>();
+        private final List<Integer> placeholders = new ArrayList<Integer>();
+        private StringBuilder current = new StringBuilder();
+
+        public Builder append(String fragment) {
+            current.append(fragment);
+            return this;
+        }
+
+        public Builder appendOffset() {
+            return placeholder(OFFSET);
+        }
+
+        public Builder appendLimit() {
+            return placeholder(LIMIT);
+        }
+
+        public Builder appendEnd() {
+            return placeholder(END);
+        }
+
+        private Builder placeholder(int placeholder) {
+            fragments.add(current.toString());
+            placeholders.add(placeholder);
+            current = new StringBuilder();
+            return this;
+        }
+
+        public LimitTemplate build() {
+            String[] fragmentArray = fragments.toArray(new String[fragments.size() + 1]);
+            fragmentArray[fragments.size()] = current.toString();
+            int[] placeholderArray = new int[placeholders.size()];
+            for (int i = 0; i < placeholderArray.length; i++) {
+                placeholderArray[i] = placeholders.get(i);
+            }
+            return new LimitTemplate(fragmentArray, placeholderArray);
+        }
+    }
+}
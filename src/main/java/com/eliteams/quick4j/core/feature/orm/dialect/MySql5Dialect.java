@@ -19,4 +19,24 @@ public class MySql5Dialect extends Dialect {
     public String getCountString(String sql) {
         return MySql5PageHepler.getCountString(sql);
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public String getEstimateCountString(String sql) {
+        return MySql5PageHepler.getEstimateCountString(sql);
+    }
+
+    @Override
+    public boolean supportsSeek() {
+        return true;
+    }
+
+    @Override
+    public String getSeekString(String sql, String[] sortColumns, boolean descending, boolean hasKeys, int limit) {
+        return MySql5PageHepler.getSeekString(sql, sortColumns, descending, hasKeys, limit);
+    }
 }
@@ -1,46 +1,28 @@
 package com.eliteams.quick4j.core.feature.orm.dialect;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
  * @author StarZou
  * @since 2014年5月18日 下午1:33:01
  **/
 public class MySql5PageHepler {
+
     /**
-     * 得到查询总数的sql
+     * 已分析的SQL, 每条SQL只分析一次
      */
-    public static String getCountString(String querySelect) {
-
-        querySelect = getLineSql(querySelect);
-        int orderIndex = getLastOrderInsertPoint(querySelect);
-
-        int formIndex = getAfterFormInsertPoint(querySelect);
-        String select = querySelect.substring(0, formIndex);
-
-        // 如果SELECT 中包含 DISTINCT 只能在外层包含COUNT
-        if (select.toLowerCase().indexOf("select distinct") != -1 || querySelect.toLowerCase().indexOf("group by") != -1) {
-            return new StringBuffer(querySelect.length()).append("select count(1) count from (").append(querySelect.substring(0, orderIndex)).append(" ) t").toString();
-        } else {
-            return new StringBuffer(querySelect.length()).append("select count(1) count ").append(querySelect.substring(formIndex, orderIndex)).toString();
+    private static final SqlRewriteCache<PageSql> SQL_CACHE = new SqlRewriteCache<PageSql>(new SqlRewriteCache.Analyzer<PageSql>() {
+        @Override
+        public PageSql analyze(String querySelect) {
+            String sql = PageSql.getLineSql(querySelect);
+            LimitTemplate limitTemplate = new LimitTemplate.Builder().append(sql).append(" limit ").appendOffset().append(" ,").appendLimit().build();
+            return new PageSql(sql, "My SQL", limitTemplate);
         }
-    }
+    });
 
     /**
-     * 得到最后一个Order By的插入点位置
-     * 
-     * @return 返回最后一个Order By插入点的位置
+     * 得到查询总数的sql
      */
-    private static int getLastOrderInsertPoint(String querySelect) {
-        int orderIndex = querySelect.toLowerCase().lastIndexOf("order by");
-        if (orderIndex == -1) {
-            orderIndex = querySelect.length();
-        }
-        if (!isBracketCanPartnership(querySelect.substring(orderIndex, querySelect.length()))) {
-            throw new RuntimeException("My SQL 分页必须要有Order by 语句!");
-        }
-        return orderIndex;
+    public static String getCountString(String querySelect) {
+        return SQL_CACHE.get(querySelect).getCountString();
     }
 
     /**
@@ -53,70 +35,37 @@ public class MySql5PageHepler {
      * @return 分页SQL
      */
     public static String getLimitString(String querySelect, int offset, int limit) {
-
-        querySelect = getLineSql(querySelect);
-
-        String sql = querySelect + " limit " + offset + " ," + limit;
-
-        return sql;
-
-    }
-
-    /**
-     * 将SQL语句变成一条语句，并且每个单词的间隔都是1个空格
-     * 
-     * @param sql
-     *            SQL语句
-     * @return 如果sql是NULL返回空，否则返回转化后的SQL
-     */
-    private static String getLineSql(String sql) {
-        return sql.replaceAll("[\r\n]", " ").replaceAll("\\s{2,}", " ");
+        return SQL_CACHE.get(querySelect).getLimitString(offset, limit);
     }
 
     /**
-     * 得到SQL第一个正确的FROM的的插入点
+     * 得到估算总数的sql : EXPLAIN 的 rows 列为估算行数; 多表查询时有多行, 分页插件改为统计精确总数
      */
-    private static int getAfterFormInsertPoint(String querySelect) {
-        String regex = "\\s+FROM\\s+";
-        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(querySelect);
-        while (matcher.find()) {
-            int fromStartIndex = matcher.start(0);
-            String text = querySelect.substring(0, fromStartIndex);
-            if (isBracketCanPartnership(text)) {
-                return fromStartIndex;
-            }
-        }
-        return 0;
+    public static String getEstimateCountString(String querySelect) {
+        return "EXPLAIN " + SQL_CACHE.get(querySelect).getSql();
     }
 
     /**
-     * 判断括号"()"是否匹配,并不会判断排列顺序是否正确
+     * 得到 keyset 分页的SQL
      * 
-     * @param text
-     *            要判断的文本
-     * @return 如果匹配返回TRUE,否则返回FALSE
+     * @param sortColumns
+     *            排序列
+     * @param descending
+     *            是否降序
+     * @param hasKeys
+     *            是否有上一页的key
+     * @param limit
+     *            限定数
+     * @return 分页SQL
      */
-    private static boolean isBracketCanPartnership(String text) {
-        if (text == null || (getIndexOfCount(text, '(') != getIndexOfCount(text, ')'))) {
-            return false;
-        }
-        return true;
+    public static String getSeekString(String querySelect, String[] sortColumns, boolean descending, boolean hasKeys, int limit) {
+        return SQL_CACHE.get(querySelect).getSeekString(sortColumns, descending, hasKeys) + " limit " + limit;
     }
 
     /**
-     * 得到一个字符在另一个字符串中出现的次数
-     * 
-     * @param text
-     *            文本
-     * @param ch
-     *            字符
+     * SQL分析缓存
      */
-    private static int getIndexOfCount(String text, char ch) {
-        int count = 0;
-        for (int i = 0; i < text.length(); i++) {
-            count = (text.charAt(i) == ch) ? count + 1 : count;
-        }
-        return count;
+    public static SqlRewriteCache<PageSql> getSqlCache() {
+        return SQL_CACHE;
     }
 }
@@ -6,6 +6,16 @@ package com.eliteams.quick4j.core.feature.orm.dialect;
  **/
 public class OracleDialect extends Dialect {
 
+    /**
+     * 已分析的SQL, 只用于统计总数, 分页SQL仍按原方式拼接
+     */
+    private static final SqlRewriteCache<PageSql> SQL_CACHE = new SqlRewriteCache<PageSql>(new SqlRewriteCache.Analyzer<PageSql>() {
+        @Override
+        public PageSql analyze(String querySelect) {
+            return new PageSql(PageSql.getLineSql(querySelect), "Oracle", null);
+        }
+    });
+
     @Override
     public String getLimitString(String sql, int offset, int limit) {
 
@@ -33,7 +43,13 @@ public class OracleDialect extends Dialect {
 
     @Override
     public String getCountString(String sql) {
-        // TODO Oracle分页查询
-        return null;
+        return SQL_CACHE.get(sql).getCountString();
+    }
+
+    /**
+     * SQL分析缓存
+     */
+    public static SqlRewriteCache<PageSql> getSqlCache() {
+        return SQL_CACHE;
     }
 }
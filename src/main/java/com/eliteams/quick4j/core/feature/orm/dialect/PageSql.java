@@ -0,0 +1,282 @@
+package com.eliteams.quick4j.core.feature.orm.dialect;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分析后的分页查询SQL, 保存统计总数的SQL及分页SQL模板, 由 {@link SqlRewriteCache} 缓存复用
+ *
+ * @author StarZou
+ * @since 2026-10-17 11:10
+ **/
+public final class PageSql {
+
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("[\r\n]");
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s{2,}");
+
+    private static final Pattern FROM_PATTERN = Pattern.compile("\\s+FROM\\s+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern FROM_TABLE_PATTERN = Pattern.compile("\\s+FROM\\s+([`\"\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WHERE_PATTERN = Pattern.compile("\\s+WHERE\\s+", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern GROUP_BY_PATTERN = Pattern.compile("\\s+GROUP\\s+BY\\s+", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 单行化后的SQL
+     */
+    private final String sql;
+
+    /**
+     * 统计总数的SQL, 无法统计时为null
+     */
+    private final String countSql;
+
+    /**
+     * 无法统计总数时的错误信息
+     */
+    private final String countError;
+
+    /**
+     * 分页SQL模板
+     */
+    private final LimitTemplate limitTemplate;
+
+    /**
+     * 最外层 Order By 的位置, 括号不匹配时为 -1
+     */
+    private final int orderIndex;
+
+    /**
+     * 最外层 WHERE 的起始位置, 没有时为 -1
+     */
+    private final int whereStart;
+
+    /**
+     * 最外层 WHERE 条件的起始位置, 没有时为 -1
+     */
+    private final int whereEnd;
+
+    /**
+     * 最外层是否有 GROUP BY
+     */
+    private final boolean grouped;
+
+    /**
+     * 最外层 FROM 后的第一个表名, 是子查询时为null
+     */
+    private final String fromTable;
+
+    /**
+     * @param sql           单行化后的SQL
+     * @param dialectName   数据库名称, 用于错误信息
+     * @param limitTemplate 分页SQL模板
+     */
+    public PageSql(String sql, String dialectName, LimitTemplate limitTemplate) {
+        this.sql = sql;
+        this.limitTemplate = limitTemplate;
+
+        this.orderIndex = getLastOrderInsertPoint(sql);
+        this.fromTable = getFromTable(sql);
+        if (orderIndex == -1) {
+            this.countSql = null;
+            this.countError = dialectName + " 分页必须要有Order by 语句!";
+            this.whereStart = -1;
+            this.whereEnd = -1;
+            this.grouped = false;
+        } else {
+            this.countSql = buildCountString(sql, orderIndex);
+            this.countError = null;
+            int fromIndex = getAfterFormInsertPoint(sql);
+            Matcher where = findTopLevel(WHERE_PATTERN, sql, fromIndex, orderIndex);
+            this.whereStart = where == null ? -1 : where.start();
+            this.whereEnd = where == null ? -1 : where.end();
+            this.grouped = findTopLevel(GROUP_BY_PATTERN, sql, fromIndex, orderIndex) != null;
+        }
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 得到查询总数的sql
+     */
+    public String getCountString() {
+        if (countSql == null) {
+            throw new RuntimeException(countError);
+        }
+        return countSql;
+    }
+
+    /**
+     * 得到分页的SQL
+     */
+    public String getLimitString(int offset, int limit) {
+        return limitTemplate.bind(offset, limit);
+    }
+
+    /**
+     * 最外层 FROM 后的第一个表名(保留 schema 及引号), 是子查询时返回null
+     */
+    public String getFromTable() {
+        return fromTable;
+    }
+
+    /**
+     * 得到 keyset 分页的SQL(不含 LIMIT), 在最外层条件后追加 (排序列) > (?), 并以排序列重新排序.
+     * <p/>
+     * 追加的占位符位于原有占位符之后, 按排序列的顺序绑定上一页最后一条记录的值
+     * 
+     * @param sortColumns
+     *            排序列, 组合起来必须唯一
+     * @param descending
+     *            是否降序
+     * @param hasKeys
+     *            是否有上一页的key, 没有时查询第一页
+     * @return 不含 LIMIT 的分页SQL
+     */
+    public String getSeekString(String[] sortColumns, boolean descending, boolean hasKeys) {
+        if (orderIndex == -1) {
+            throw new RuntimeException(countError);
+        }
+        if (grouped) {
+            throw new RuntimeException("keyset 分页不支持 GROUP BY 语句!");
+        }
+        if (sql.indexOf('?', orderIndex) != -1) {
+            throw new RuntimeException("keyset 分页的 Order by 语句不能包含参数!");
+        }
+        if (sortColumns == null || sortColumns.length == 0) {
+            throw new RuntimeException("keyset 分页必须指定排序列!");
+        }
+
+        int end = orderIndex;
+        while (end > 0 && sql.charAt(end - 1) == ' ') {
+            end--;
+        }
+        StringBuilder seekSql = new StringBuilder(sql.length() + 64);
+        if (!hasKeys) {
+            seekSql.append(sql, 0, end);
+        } else {
+            if (whereStart == -1) {
+                seekSql.append(sql, 0, end).append(" WHERE ");
+            } else {
+                seekSql.append(sql, 0, whereStart).append(" WHERE (").append(sql, whereEnd, end).append(") AND ");
+            }
+            appendRow(seekSql, sortColumns, false);
+            seekSql.append(descending ? " < " : " > ");
+            appendRow(seekSql, sortColumns, true);
+        }
+        seekSql.append(" ORDER BY ");
+        for (int i = 0; i < sortColumns.length; i++) {
+            seekSql.append(i == 0 ? "" : ", ").append(sortColumns[i]).append(descending ? " DESC" : " ASC");
+        }
+        return seekSql.toString();
+    }
+
+    /**
+     * 追加行值 : 单列时为 col / ?, 多列时为 (col1, col2) / (?, ?)
+     */
+    private static void appendRow(StringBuilder seekSql, String[] sortColumns, boolean placeholder) {
+        if (sortColumns.length > 1) {
+            seekSql.append('(');
+        }
+        for (int i = 0; i < sortColumns.length; i++) {
+            seekSql.append(i == 0 ? "" : ", ").append(placeholder ? "?" : sortColumns[i]);
+        }
+        if (sortColumns.length > 1) {
+            seekSql.append(')');
+        }
+    }
+
+    private static String buildCountString(String querySelect, int orderIndex) {
+        int formIndex = getAfterFormInsertPoint(querySelect);
+        String select = querySelect.substring(0, formIndex);
+
+        // 如果SELECT 中包含 DISTINCT 只能在外层包含COUNT
+        if (select.toLowerCase().indexOf("select distinct") != -1 || querySelect.toLowerCase().indexOf("group by") != -1) {
+            return new StringBuilder(querySelect.length()).append("select count(1) count from (").append(querySelect.substring(0, orderIndex)).append(" ) t").toString();
+        } else {
+            return new StringBuilder(querySelect.length()).append("select count(1) count ").append(querySelect.substring(formIndex, orderIndex)).toString();
+        }
+    }
+
+    /**
+     * 将SQL语句变成一条语句，并且每个单词的间隔都是1个空格
+     * 
+     * @param sql
+     *            SQL语句
+     * @return 转化后的SQL
+     */
+    public static String getLineSql(String sql) {
+        return WHITESPACE_PATTERN.matcher(LINE_BREAK_PATTERN.matcher(sql).replaceAll(" ")).replaceAll(" ");
+    }
+
+    /**
+     * 得到最后一个Order By的插入点位置
+     * 
+     * @return 返回最后一个Order By插入点的位置, 括号不匹配时返回 -1
+     */
+    private static int getLastOrderInsertPoint(String querySelect) {
+        int orderIndex = querySelect.toLowerCase().lastIndexOf("order by");
+        if (orderIndex == -1) {
+            orderIndex = querySelect.length();
+        }
+        if (!isBracketCanPartnership(querySelect, orderIndex, querySelect.length())) {
+            return -1;
+        }
+        return orderIndex;
+    }
+
+    /**
+     * 得到SQL第一个正确的FROM的的插入点
+     */
+    private static int getAfterFormInsertPoint(String querySelect) {
+        Matcher matcher = FROM_PATTERN.matcher(querySelect);
+        while (matcher.find()) {
+            int fromStartIndex = matcher.start(0);
+            if (isBracketCanPartnership(querySelect, 0, fromStartIndex)) {
+                return fromStartIndex;
+            }
+        }
+        return 0;
+    }
+
+    private static String getFromTable(String querySelect) {
+        int fromIndex = getAfterFormInsertPoint(querySelect);
+        Matcher matcher = FROM_TABLE_PATTERN.matcher(querySelect);
+        matcher.region(fromIndex, querySelect.length());
+        return matcher.lookingAt() ? matcher.group(1) : null;
+    }
+
+    /**
+     * 在区间内查找第一个位于最外层(括号匹配)的关键字
+     */
+    private static Matcher findTopLevel(Pattern pattern, String querySelect, int start, int end) {
+        Matcher matcher = pattern.matcher(querySelect);
+        matcher.region(start, end);
+        while (matcher.find()) {
+            if (isBracketCanPartnership(querySelect, 0, matcher.start())) {
+                return matcher;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断区间内括号"()"是否匹配,并不会判断排列顺序是否正确
+     */
+    private static boolean isBracketCanPartnership(String text, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch == '(') {
+                count++;
+            } else if (ch == ')') {
+                count--;
+            }
+        }
+        return count == 0;
+    }
+}
@@ -18,4 +18,29 @@ public class PostgreDialect extends Dialect {
     public String getCountString(String sql) {
         return PostgrePageHepler.getCountString(sql);
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
+    @Override
+    public String getEstimateCountString(String sql) {
+        return PostgrePageHepler.getEstimateCountString(sql);
+    }
+
+    @Override
+    public Object[] getEstimateCountParameters(String sql) {
+        return PostgrePageHepler.getEstimateCountParameters(sql);
+    }
+
+    @Override
+    public boolean supportsSeek() {
+        return true;
+    }
+
+    @Override
+    public String getSeekString(String sql, String[] sortColumns, boolean descending, boolean hasKeys, int limit) {
+        return PostgrePageHepler.getSeekString(sql, sortColumns, descending, hasKeys, limit);
+    }
 }
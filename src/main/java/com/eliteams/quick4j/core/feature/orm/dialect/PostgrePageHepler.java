@@ -1,44 +1,29 @@
 package com.eliteams.quick4j.core.feature.orm.dialect;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 /**
 @since 2014年7月2日 上午10:30:14
 **/
 public class PostgrePageHepler {
-    /**
-     * 得到查询总数的sql
-     */
-    public static String getCountString(String querySelect) {
-        querySelect = getLineSql(querySelect);
-        int orderIndex = getLastOrderInsertPoint(querySelect);
 
-        int formIndex = getAfterFormInsertPoint(querySelect);
-        String select = querySelect.substring(0, formIndex);
+    private static final String ESTIMATE_COUNT_SQL = "SELECT reltuples::bigint AS rows FROM pg_class WHERE oid = CAST(? AS regclass)";
 
-        // 如果SELECT 中包含 DISTINCT 只能在外层包含COUNT
-        if (select.toLowerCase().indexOf("select distinct") != -1 || querySelect.toLowerCase().indexOf("group by") != -1) {
-            return new StringBuffer(querySelect.length()).append("select count(1) count from (").append(querySelect.substring(0, orderIndex)).append(" ) t").toString();
-        } else {
-            return new StringBuffer(querySelect.length()).append("select count(1) count ").append(querySelect.substring(formIndex, orderIndex)).toString();
+    /**
+     * 已分析的SQL, 每条SQL只分析一次
+     */
+    private static final SqlRewriteCache<PageSql> SQL_CACHE = new SqlRewriteCache<PageSql>(new SqlRewriteCache.Analyzer<PageSql>() {
+        @Override
+        public PageSql analyze(String querySelect) {
+            String sql = PageSql.getLineSql(querySelect);
+            LimitTemplate limitTemplate = new LimitTemplate.Builder().append(sql).append(" LIMIT ").appendLimit().append(" OFFSET ").appendOffset().build();
+            return new PageSql(sql, "Postgre", limitTemplate);
         }
-    }
+    });
 
     /**
-     * 得到最后一个Order By的插入点位置
-     * 
-     * @return 返回最后一个Order By插入点的位置
+     * 得到查询总数的sql
      */
-    private static int getLastOrderInsertPoint(String querySelect) {
-        int orderIndex = querySelect.toLowerCase().lastIndexOf("order by");
-        if (orderIndex == -1) {
-            orderIndex = querySelect.length();
-        }
-        if (!isBracketCanPartnership(querySelect.substring(orderIndex, querySelect.length()))) {
-            throw new RuntimeException("Postgre 分页必须要有Order by 语句!");
-        }
-        return orderIndex;
+    public static String getCountString(String querySelect) {
+        return SQL_CACHE.get(querySelect).getCountString();
     }
 
     /**
@@ -51,66 +36,52 @@ public class PostgrePageHepler {
      * @return 分页SQL
      */
     public static String getLimitString(String querySelect, int offset, int limit) {
-        querySelect = getLineSql(querySelect);
-        String sql = querySelect + " LIMIT " + limit + " OFFSET " + offset;
-        return sql;
+        return SQL_CACHE.get(querySelect).getLimitString(offset, limit);
     }
 
     /**
-     * 将SQL语句变成一条语句，并且每个单词的间隔都是1个空格
+     * 得到估算总数的sql : 统计信息中主表的行数 pg_class.reltuples, 不考虑查询条件; 表名作为参数绑定, 见 {@link #getEstimateCountParameters(String)}
      * 
-     * @param sql
-     *            SQL语句
-     * @return 如果sql是NULL返回空，否则返回转化后的SQL
+     * @return 主表是子查询时返回null
      */
-    private static String getLineSql(String sql) {
-        return sql.replaceAll("[\r\n]", " ").replaceAll("\\s{2,}", " ");
+    public static String getEstimateCountString(String querySelect) {
+        if (SQL_CACHE.get(querySelect).getFromTable() == null) {
+            return null;
+        }
+        return ESTIMATE_COUNT_SQL;
     }
 
     /**
-     * 得到SQL第一个正确的FROM的的插入点
+     * 得到估算总数的sql的参数 : 主表名(保留 schema 及引号, 由 regclass 解析)
+     * 
+     * @return 主表是子查询时返回null
      */
-    private static int getAfterFormInsertPoint(String querySelect) {
-        String regex = "\\s+FROM\\s+";
-        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
-        Matcher matcher = pattern.matcher(querySelect);
-        while (matcher.find()) {
-            int fromStartIndex = matcher.start(0);
-            String text = querySelect.substring(0, fromStartIndex);
-            if (isBracketCanPartnership(text)) {
-                return fromStartIndex;
-            }
-        }
-        return 0;
+    public static Object[] getEstimateCountParameters(String querySelect) {
+        String table = SQL_CACHE.get(querySelect).getFromTable();
+        return table == null ? null : new Object[] { table };
     }
 
     /**
-     * 判断括号"()"是否匹配,并不会判断排列顺序是否正确
+     * 得到 keyset 分页的SQL
      * 
-     * @param text
-     *            要判断的文本
-     * @return 如果匹配返回TRUE,否则返回FALSE
+     * @param sortColumns
+     *            排序列
+     * @param descending
+     *            是否降序
+     * @param hasKeys
+     *            是否有上一页的key
+     * @param limit
+     *            限定数
+     * @return 分页SQL
      */
-    private static boolean isBracketCanPartnership(String text) {
-        if (text == null || (getIndexOfCount(text, '(') != getIndexOfCount(text, ')'))) {
-            return false;
-        }
-        return true;
+    public static String getSeekString(String querySelect, String[] sortColumns, boolean descending, boolean hasKeys, int limit) {
+        return SQL_CACHE.get(querySelect).getSeekString(sortColumns, descending, hasKeys) + " LIMIT " + limit;
     }
 
     /**
-     * 得到一个字符在另一个字符串中出现的次数
-     * 
-     * @param text
-     *            文本
-     * @param ch
-     *            字符
+     * SQL分析缓存
      */
-    private static int getIndexOfCount(String text, char ch) {
-        int count = 0;
-        for (int i = 0; i < text.length(); i++) {
-            count = (text.charAt(i) == ch) ? count + 1 : count;
-        }
-        return count;
+    public static SqlRewriteCache<PageSql> getSqlCache() {
+        return SQL_CACHE;
     }
 }
@@ -0,0 +1,80 @@
+package com.eliteams.quick4j.core.feature.orm.dialect;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+
+/**
+ * SQL改写缓存, 同一条原始SQL只分析一次, 之后直接复用分析结果.
+ * <p/>
+ * Mapper 中的SQL语句数量是有限的, 缓存达到上限后不再放入新的SQL(仍然正常分析), 防止拼接了参数值的动态SQL撑爆内存
+ *
+ * @author StarZou
+ * @since 2026-10-17 11:05
+ **/
+public class SqlRewriteCache<V> {
+
+    /**
+     * 默认最大缓存条数
+     */
+    public static final int DEFAULT_SIZE = 512;
+
+    private final ConcurrentMap<String, V> cache = new ConcurrentHashMap<String, V>();
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    private final Analyzer<V> analyzer;
+
+    private final int maxSize;
+
+    public SqlRewriteCache(Analyzer<V> analyzer) {
+        this(analyzer, DEFAULT_SIZE);
+    }
+
+    public SqlRewriteCache(Analyzer<V> analyzer, int maxSize) {
+        this.analyzer = analyzer;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 取得SQL的分析结果, 未缓存时分析并缓存
+     *
+     * @param sql 原始SQL
+     * @return 分析结果
+     */
+    public V get(String sql) {
+        V value = cache.get(sql);
+        if (value != null) {
+            statistics.recordHit();
+            return value;
+        }
+        statistics.recordMiss();
+        value = analyzer.analyze(sql);
+        if (cache.size() < maxSize) {
+            V previous = cache.putIfAbsent(sql, value);
+            if (previous != null) {
+                return previous;
+            }
+        }
+        return value;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * SQL分析器, 分析结果必须是不可变的, 会被多个线程共享
+     */
+    public interface Analyzer<V> {
+        V analyze(String sql);
+    }
+}
@@ -0,0 +1,147 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.eliteams.quick4j.core.feature.orm.dialect.DialectFactory;
+
+/**
+ * 批量操作模板, 使用 BATCH 执行器, 每 flushSize 条语句发送一次, 减少数据库往返.
+ * <p/>
+ * 存在 Spring 事务时使用事务的连接, 由事务提交; 否则自己提交.
+ * BATCH 会话不注册到事务中, mybatis-spring 不允许同一个事务切换执行器类型, 这样同一个事务中可以与普通执行器的 Mapper 调用任意交替;
+ * 执行后清空事务中普通会话的一级缓存, 之后的查询能读到批量修改的数据
+ *
+ * @author StarZou
+ * @since 2026-10-17 13:20
+ **/
+public class BatchTemplate {
+
+    /**
+     * 默认每批条数
+     */
+    public static final int DEFAULT_FLUSH_SIZE = 1000;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    private int flushSize = DEFAULT_FLUSH_SIZE;
+
+    /**
+     * 是否支持多行插入, 第一次使用时根据方言确定
+     */
+    private volatile Boolean multiRowInsert;
+
+    public void setSqlSessionFactory(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    /**
+     * 逐条执行语句, 每 flushSize 条发送一次
+     *
+     * @param statement  insert/update/delete 语句id
+     * @param parameters 每条语句的参数
+     * @return 影响的行数
+     */
+    public int update(String statement, Collection<?> parameters) {
+        SqlSession sqlSession = openBatchSession();
+        try {
+            int count = 0;
+            int pending = 0;
+            for (Object parameter : parameters) {
+                sqlSession.update(statement, parameter);
+                if (++pending == flushSize) {
+                    count += getUpdateCount(sqlSession.flushStatements());
+                    pending = 0;
+                }
+            }
+            count += getUpdateCount(sqlSession.flushStatements());
+            sqlSession.commit(true);
+            return count;
+        } finally {
+            closeBatchSession(sqlSession);
+        }
+    }
+
+    /**
+     * 分块执行语句, 每次以不超过 flushSize 条的子集合为参数, 用于多行插入、IN 删除等一条语句处理多条记录的场景
+     *
+     * @param statement 以集合为参数的语句id
+     * @param items     全部记录
+     * @return 影响的行数
+     */
+    public int updateInChunks(String statement, Collection<?> items) {
+        List<?> list = items instanceof List ? (List<?>) items : new ArrayList<Object>(items);
+        SqlSession sqlSession = openBatchSession();
+        try {
+            int count = 0;
+            for (int from = 0; from < list.size(); from += flushSize) {
+                sqlSession.update(statement, list.subList(from, Math.min(from + flushSize, list.size())));
+                count += getUpdateCount(sqlSession.flushStatements());
+            }
+            sqlSession.commit(true);
+            return count;
+        } finally {
+            closeBatchSession(sqlSession);
+        }
+    }
+
+    /**
+     * 当前数据库方言是否支持多行插入
+     */
+    public boolean supportsMultiRowInsert() {
+        if (multiRowInsert == null) {
+            SqlSession sqlSession = openBatchSession();
+            try {
+                multiRowInsert = DialectFactory.buildDialect(sqlSession.getConfiguration(), sqlSession.getConnection()).supportsMultiRowInsert();
+            } finally {
+                sqlSession.close();
+            }
+        }
+        return multiRowInsert;
+    }
+
+    /**
+     * 打开不注册到事务的 BATCH 会话. SpringManagedTransaction 取得的是事务绑定的连接, 事务中 commit 及 close 不会提交或关闭该连接
+     */
+    private SqlSession openBatchSession() {
+        return sqlSessionFactory.openSession(ExecutorType.BATCH);
+    }
+
+    /**
+     * 关闭 BATCH 会话, 并清空事务中普通会话的一级缓存
+     */
+    private void closeBatchSession(SqlSession sqlSession) {
+        sqlSession.close();
+        SqlSessionHolder holder = (SqlSessionHolder) TransactionSynchronizationManager.getResource(sqlSessionFactory);
+        if (holder != null) {
+            holder.getSqlSession().clearCache();
+        }
+    }
+
+    /**
+     * 累加影响的行数, 驱动重写批量语句时返回 SUCCESS_NO_INFO(-2), 按 1 行计
+     */
+    private static int getUpdateCount(List<BatchResult> batchResults) {
+        int count = 0;
+        for (BatchResult batchResult : batchResults) {
+            for (int updateCount : batchResult.getUpdateCounts()) {
+                count += updateCount >= 0 ? updateCount : 1;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,56 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.Properties;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+
+/**
+ * 分页总数缓存, 缓存具有相同SQL语句和参数的总数.
+ * <p/>
+ * 通过 mybatis-config.xml 中分页插件的 countCacheClass 属性指定实现类, 实现类需要有无参构造函数
+ *
+ * @author StarZou
+ * @since 2026-10-17 10:15
+ **/
+public interface CountCache {
+
+    /**
+     * 初始化配置, 参数为分页插件的 properties
+     *
+     * @param properties 插件配置
+     */
+    void setProperties(Properties properties);
+
+    /**
+     * 取得缓存的总数
+     *
+     * @param key 统计SQL + 参数
+     * @return 总数, 未命中返回null
+     */
+    Integer get(CountCacheKey key);
+
+    /**
+     * 缓存总数
+     *
+     * @param key   统计SQL + 参数
+     * @param count 总数
+     */
+    void put(CountCacheKey key, int count);
+
+    /**
+     * 表数据发生变化, 使所有读取该表的总数失效
+     *
+     * @param table 表名, 小写
+     */
+    void invalidate(String table);
+
+    /**
+     * 清空缓存
+     */
+    void clear();
+
+    /**
+     * 命中统计
+     */
+    CacheStatistics getStatistics();
+
+}
@@ -0,0 +1,60 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.Arrays;
+
+/**
+ * 总数缓存的key : 统计SQL + 绑定的参数值
+ *
+ * @author StarZou
+ * @since 2026-10-17 10:12
+ **/
+public final class CountCacheKey {
+
+    /**
+     * 统计总数的SQL
+     */
+    private final String countSql;
+
+    /**
+     * 按占位符顺序排列的参数值
+     */
+    private final Object[] parameters;
+
+    private final int hashCode;
+
+    public CountCacheKey(String countSql, Object[] parameters) {
+        this.countSql = countSql;
+        this.parameters = parameters;
+        this.hashCode = 31 * countSql.hashCode() + Arrays.deepHashCode(parameters);
+    }
+
+    public String getCountSql() {
+        return countSql;
+    }
+
+    public Object[] getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof CountCacheKey)) {
+            return false;
+        }
+        CountCacheKey other = (CountCacheKey) obj;
+        return hashCode == other.hashCode && countSql.equals(other.countSql) && Arrays.deepEquals(parameters, other.parameters);
+    }
+
+    @Override
+    public String toString() {
+        return "CountCacheKey [countSql=" + countSql + ", parameters=" + Arrays.deepToString(parameters) + "]";
+    }
+}
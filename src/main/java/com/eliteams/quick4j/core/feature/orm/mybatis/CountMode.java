@@ -0,0 +1,26 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+/**
+ * 分页总数的统计方式
+ *
+ * @author StarZou
+ * @since 2026-10-17 12:00
+ **/
+public enum CountMode {
+
+    /**
+     * 不统计总数, 多查询一条记录判断是否有下一页, 总数为 -1
+     */
+    NONE,
+
+    /**
+     * 使用数据库的估算值作为总数(MySQL EXPLAIN, Postgre pg_class.reltuples), 数据库不支持或无法估算(如 MySQL 多表查询)时统计精确总数
+     */
+    ESTIMATE,
+
+    /**
+     * 统计精确总数
+     */
+    EXACT
+
+}
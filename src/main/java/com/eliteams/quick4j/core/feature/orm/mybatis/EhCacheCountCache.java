@@ -0,0 +1,147 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+import com.eliteams.quick4j.core.feature.cache.EhCacheEvictionListener;
+
+/**
+ * 使用 ehcache 区域的分页总数缓存, 容量和过期时间在 ehcache.xml 中配置.
+ * <p/>
+ * ehcache 由 Spring 创建, 晚于分页插件初始化, 因此在第一次使用时按名字查找;
+ * 查找到之前总是未命中, 也不缓存.
+ * <p/>
+ * 配置项 :
+ * <ul>
+ * <li>countCacheManagerName : ehcache.xml 中的 CacheManager 名字, 默认 quick4j</li>
+ * <li>countCacheName : 缓存区域名, 默认 pageCounts</li>
+ * </ul>
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:10
+ **/
+public class EhCacheCountCache implements CountCache {
+
+    public static final String DEFAULT_CACHE_MANAGER_NAME = "quick4j";
+
+    public static final String DEFAULT_CACHE_NAME = "pageCounts";
+
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    private String cacheManagerName = DEFAULT_CACHE_MANAGER_NAME;
+
+    private String cacheName = DEFAULT_CACHE_NAME;
+
+    private volatile Ehcache cache;
+
+    public EhCacheCountCache() {
+    }
+
+    public EhCacheCountCache(Ehcache cache) {
+        setCache(cache);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        this.cacheManagerName = properties.getProperty("countCacheManagerName", DEFAULT_CACHE_MANAGER_NAME);
+        this.cacheName = properties.getProperty("countCacheName", DEFAULT_CACHE_NAME);
+    }
+
+    @Override
+    public Integer get(CountCacheKey key) {
+        Ehcache ehcache = getCache();
+        if (ehcache == null) {
+            statistics.recordMiss();
+            return null;
+        }
+        long start = System.nanoTime();
+        Element element = ehcache.get(key);
+        statistics.recordGetTime(System.nanoTime() - start);
+        if (element == null) {
+            statistics.recordMiss();
+            return null;
+        }
+        statistics.recordHit();
+        return ((CountEntry) element.getObjectValue()).count;
+    }
+
+    @Override
+    public void put(CountCacheKey key, int count) {
+        Ehcache ehcache = getCache();
+        if (ehcache != null) {
+            ehcache.put(new Element(key, new CountEntry(count, SqlTables.getReadTables(key.getCountSql()))));
+        }
+    }
+
+    @Override
+    public void invalidate(String table) {
+        Ehcache ehcache = getCache();
+        if (ehcache == null) {
+            return;
+        }
+        for (Object key : (List<?>) ehcache.getKeys()) {
+            Element element = ehcache.getQuiet(key);
+            if (element != null && ((CountEntry) element.getObjectValue()).tables.contains(table)) {
+                ehcache.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Ehcache ehcache = getCache();
+        if (ehcache != null) {
+            ehcache.removeAll();
+        }
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * 缓存区域, 尚未创建时返回null
+     */
+    public Ehcache getCache() {
+        Ehcache ehcache = cache;
+        if (ehcache == null) {
+            CacheManager cacheManager = CacheManager.getCacheManager(cacheManagerName);
+            if (cacheManager != null && cacheManager.cacheExists(cacheName)) {
+                synchronized (this) {
+                    if (cache == null) {
+                        setCache(cacheManager.getEhcache(cacheName));
+                    }
+                }
+                ehcache = cache;
+            }
+        }
+        return ehcache;
+    }
+
+    private void setCache(Ehcache cache) {
+        EhCacheEvictionListener.register(cache, statistics);
+        this.cache = cache;
+    }
+
+    /**
+     * 缓存的总数及其读取的表
+     */
+    private static final class CountEntry {
+        private final int count;
+        private final Set<String> tables;
+
+        private CountEntry(int count, Set<String> tables) {
+            this.count = count;
+            this.tables = tables;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.Properties;
+import java.util.Set;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+import com.eliteams.quick4j.core.feature.cache.local.LocalCache;
+import com.eliteams.quick4j.core.util.Matcher;
+
+/**
+ * 默认的分页总数缓存, 使用进程内有界 LRU 缓存, 支持过期时间.
+ * <p/>
+ * 配置项 :
+ * <ul>
+ * <li>countCacheSize : 最大缓存条数, 默认 1000</li>
+ * <li>countCacheTimeToLive : 过期时间, 单位秒, 默认 60</li>
+ * </ul>
+ *
+ * @author StarZou
+ * @since 2026-10-17 10:20
+ **/
+public class LocalCountCache implements CountCache {
+
+    public static final int DEFAULT_SIZE = 1000;
+
+    public static final int DEFAULT_TIME_TO_LIVE = 60;
+
+    private LocalCache<CountCacheKey, CountEntry> cache = new LocalCache<CountCacheKey, CountEntry>(DEFAULT_SIZE, DEFAULT_TIME_TO_LIVE * 1000L);
+
+    @Override
+    public void setProperties(Properties properties) {
+        int size = Integer.parseInt(properties.getProperty("countCacheSize", String.valueOf(DEFAULT_SIZE)));
+        int timeToLive = Integer.parseInt(properties.getProperty("countCacheTimeToLive", String.valueOf(DEFAULT_TIME_TO_LIVE)));
+        this.cache = new LocalCache<CountCacheKey, CountEntry>(size, timeToLive * 1000L);
+    }
+
+    @Override
+    public Integer get(CountCacheKey key) {
+        CountEntry entry = cache.get(key);
+        return entry == null ? null : entry.count;
+    }
+
+    @Override
+    public void put(CountCacheKey key, int count) {
+        cache.put(key, new CountEntry(count, SqlTables.getReadTables(key.getCountSql())));
+    }
+
+    @Override
+    public void invalidate(final String table) {
+        cache.removeIf(new Matcher<CountEntry>() {
+            @Override
+            public boolean matches(CountEntry entry) {
+                return entry.tables.contains(table);
+            }
+        });
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * 缓存的总数及其读取的表
+     */
+    private static final class CountEntry {
+        private final int count;
+        private final Set<String> tables;
+
+        private CountEntry(int count, Set<String> tables) {
+            this.count = count;
+            this.tables = tables;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.eliteams.quick4j.core.feature.orm.mybatis;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.apache.ibatis.session.RowBounds;
 
 /**
@@ -49,6 +51,26 @@ public class Page<T> extends RowBounds {
      */
     protected int totalPages;
 
+    /**
+     * 总数的统计方式, 默认统计精确总数
+     */
+    protected CountMode countMode = CountMode.EXACT;
+
+    /**
+     * 是否有下一页
+     */
+    protected boolean hasNext;
+
+    /**
+     * 并行统计中的总数, 取总数时等待结果
+     */
+    private transient Future<Integer> totalCountFuture;
+
+    /**
+     * 是否多查询了一条记录用于判断是否有下一页, 由分页插件设置
+     */
+    transient boolean lookAhead;
+
     // --计算 数据库 查询的参数 : LIMIT 3, 3; LIMIT offset, limit; --//
     /**
      * 计算偏移量
@@ -129,6 +151,7 @@ public class Page<T> extends RowBounds {
      * 取得总记录数, 默认值为-1.
      */
     public int getTotalCount() {
+        awaitTotalCount();
         return totalCount;
     }
 
@@ -144,6 +167,7 @@ public class Page<T> extends RowBounds {
      * 根据pageSize与totalCount计算总页数, 默认值为-1.
      */
     public int getTotalPages() {
+        int totalCount = getTotalCount();
         if (totalCount < 0) {
             return -1;
         }
@@ -155,4 +179,62 @@ public class Page<T> extends RowBounds {
         this.totalPages = totalPages;
     }
 
+    /**
+     * 设置并行统计中的总数, 由分页插件调用.
+     */
+    void setTotalCountFuture(Future<Integer> totalCountFuture) {
+        this.totalCountFuture = totalCountFuture;
+    }
+
+    /**
+     * 是否有并行统计中的总数.
+     */
+    boolean isTotalCountPending() {
+        return totalCountFuture != null;
+    }
+
+    /**
+     * 等待并行统计的总数.
+     */
+    private void awaitTotalCount() {
+        Future<Integer> future = totalCountFuture;
+        if (future == null) {
+            return;
+        }
+        totalCountFuture = null;
+        try {
+            setTotalCount(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待统计总数时被中断", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("统计总数失败", e.getCause());
+        }
+    }
+
+    /**
+     * 取得总数的统计方式.
+     */
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    /**
+     * 设置总数的统计方式, 列表只需要判断是否有下一页时使用 {@link CountMode#NONE}, 省去统计总数的查询.
+     */
+    public void setCountMode(CountMode countMode) {
+        this.countMode = countMode;
+    }
+
+    /**
+     * 是否有下一页. {@link CountMode#NONE} 时是准确的, 其它方式下根据总数或本页是否已满判断.
+     */
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.eliteams.quick4j.core.feature.orm.mybatis;
 
 import java.sql.Statement;
+import java.util.List;
 import java.util.Properties;
 import org.apache.ibatis.executor.resultset.FastResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
@@ -9,11 +10,6 @@ import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.plugin.Signature;
-import org.apache.ibatis.reflection.MetaObject;
-import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
-import org.apache.ibatis.reflection.factory.ObjectFactory;
-import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
-import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.session.RowBounds;
 
 /**
@@ -23,23 +19,40 @@ import org.apache.ibatis.session.RowBounds;
 @Intercepts({ @Signature(type = ResultSetHandler.class, method = "handleResultSets", args = { Statement.class }) })
 public class PaginationResultSetHandlerInterceptor implements Interceptor {
 
-    private static final ObjectFactory DEFAULT_OBJECT_FACTORY = new DefaultObjectFactory();
-    private static final ObjectWrapperFactory DEFAULT_OBJECT_WRAPPER_FACTORY = new DefaultObjectWrapperFactory();
-
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         FastResultSetHandler resultSetHandler = (FastResultSetHandler) invocation.getTarget();
-        MetaObject metaStatementHandler = MetaObject.forObject(resultSetHandler, DEFAULT_OBJECT_FACTORY, DEFAULT_OBJECT_WRAPPER_FACTORY);
-        RowBounds rowBounds = (RowBounds) metaStatementHandler.getValue("rowBounds");
+        RowBounds rowBounds = PluginFields.getRowBounds(resultSetHandler);
 
         Object result = invocation.proceed();
 
         if (rowBounds instanceof Page) {
-            metaStatementHandler.setValue("rowBounds.result", result);
+            setResult((Page<?>) rowBounds, (List<?>) result);
         }
         return result;
     }
 
+    /**
+     * 判断是否有下一页并设置查询结果, {@link CountMode#NONE} 或并行统计总数时去掉多查询的一条.
+     * 并行统计时不等待总数, 当前线程仍占用着连接
+     */
+    @SuppressWarnings("unchecked")
+    private void setResult(Page<?> page, List<?> result) {
+        int pageSize = page.getPageSize();
+        if (page.lookAhead) {
+            boolean hasNext = result.size() > pageSize;
+            if (hasNext) {
+                result.remove(result.size() - 1);
+            }
+            page.setHasNext(hasNext);
+        } else if (page.getCountMode() == CountMode.EXACT && !(page instanceof SeekPage)) {
+            page.setHasNext(page.getPageNo() < page.getTotalPages());
+        } else {
+            page.setHasNext(result.size() >= pageSize);
+        }
+        ((Page<Object>) page).setResult((List<Object>) result);
+    }
+
     @Override
     public Object plugin(Object target) {
         return Plugin.wrap(target, this);
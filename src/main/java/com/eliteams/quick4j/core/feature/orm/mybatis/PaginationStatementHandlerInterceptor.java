@@ -3,67 +3,171 @@ package com.eliteams.quick4j.core.feature.orm.mybatis;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.statement.BaseStatementHandler;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Plugin;
 import org.apache.ibatis.plugin.Signature;
 import org.apache.ibatis.reflection.MetaObject;
-import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
-import org.apache.ibatis.reflection.factory.ObjectFactory;
-import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
-import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.eliteams.quick4j.core.feature.orm.dialect.Dialect;
 import com.eliteams.quick4j.core.feature.orm.dialect.DialectFactory;
 
 /**
+ * 分页插件, 配置项 :
+ * <ul>
+ * <li>countCacheEnabled : 是否缓存具有相同SQL语句和参数的总数, 默认 false</li>
+ * <li>countCacheClass : 总数缓存实现类, 默认 {@link LocalCountCache}</li>
+ * <li>其余配置项由总数缓存实现类读取, 参见 {@link LocalCountCache}</li>
+ * <li>parallelCountEnabled : 是否在另一个连接上与分页查询并行统计总数, 默认 false</li>
+ * <li>parallelCountThreads : 并行统计的线程数, 默认 4, 线程都忙时在当前连接上顺序统计</li>
+ * <li>parallelCountConnectionTimeout : 等待统计线程取得连接的最长时间, 单位毫秒, 默认 100, 超时(连接池繁忙)时在当前连接上顺序统计</li>
+ * <li>parallelCountInWriteTransaction : 写事务中是否也并行统计, 默认 false, 此时在当前连接上顺序统计, 保证能统计到事务中未提交的数据</li>
+ * </ul>
+ * 分页参数为 {@link SeekPage} 时使用 keyset 分页, 上一页的key在原有参数之后绑定.
+ * 总数的统计方式见 {@link CountMode}.
+ * 
  * @author StarZou
  * @since 2014年5月18日 下午1:36:31
  **/
-@Intercepts({ @Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class }) })
+@Intercepts({ @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class }),
+        @Signature(type = StatementHandler.class, method = "parameterize", args = { Statement.class }),
+        @Signature(type = StatementHandler.class, method = "update", args = { Statement.class }),
+        @Signature(type = StatementHandler.class, method = "batch", args = { Statement.class }) })
 public class PaginationStatementHandlerInterceptor implements Interceptor {
 
     private final static Logger logger = LoggerFactory.getLogger(PaginationStatementHandlerInterceptor.class);
 
-    private static final ObjectFactory DEFAULT_OBJECT_FACTORY = new DefaultObjectFactory();
-    private static final ObjectWrapperFactory DEFAULT_OBJECT_WRAPPER_FACTORY = new DefaultObjectWrapperFactory();
+    /**
+     * 总数缓存, 未启用时为null
+     */
+    private CountCache countCache;
+
+    /**
+     * 已解析的方言及其所属的 Configuration, 插件实例随 Configuration 一起回收
+     */
+    private volatile ResolvedDialect resolvedDialect;
+
+    /**
+     * 并行统计总数的线程池, 未启用时为null
+     */
+    private ExecutorService countExecutor;
+
+    /**
+     * 写事务中是否也并行统计
+     */
+    private boolean parallelCountInWriteTransaction;
+
+    /**
+     * 等待统计线程取得连接的最长时间, 单位毫秒
+     */
+    private long parallelCountConnectionTimeout = 100;
 
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
+        if (invocation.getTarget() instanceof Executor) {
+            return querySeekPage(invocation);
+        }
         StatementHandler statementHandler = (StatementHandler) invocation.getTarget();
-        ParameterHandler parameterHandler = statementHandler.getParameterHandler();
-        BoundSql boundSql = statementHandler.getBoundSql();
+        String methodName = invocation.getMethod().getName();
+        if ("update".equals(methodName) || "batch".equals(methodName)) {
+            // insert,update,delete 执行或加入批量(BATCH 执行器)后, 使读取该表的总数缓存失效
+            Object result = invocation.proceed();
+            invalidateCountCache(statementHandler.getBoundSql().getSql());
+            return result;
+        }
+        if ("parameterize".equals(methodName)) {
+            Object result = invocation.proceed();
+            setSeekParameters(statementHandler, (Statement) invocation.getArgs()[0]);
+            return result;
+        }
 
-        MetaObject metaStatementHandler = MetaObject.forObject(statementHandler, DEFAULT_OBJECT_FACTORY, DEFAULT_OBJECT_WRAPPER_FACTORY);
-        RowBounds rowBounds = (RowBounds) metaStatementHandler.getValue("delegate.rowBounds");
+        BaseStatementHandler delegate = PluginFields.getDelegate(statementHandler);
+        RowBounds rowBounds = delegate == null ? null : PluginFields.getRowBounds(delegate);
         // 没有分页参数
-        if (rowBounds == null || rowBounds == RowBounds.DEFAULT) {
+        if (!(rowBounds instanceof Page)) {
             return invocation.proceed();
         }
 
-        Configuration configuration = (Configuration) metaStatementHandler.getValue("delegate.configuration");
-        Dialect dialect = DialectFactory.buildDialect(configuration);
-        String originalSql = (String) metaStatementHandler.getValue("delegate.boundSql.sql");
-        // 获取总记录数
-        Page<?> page = (Page<?>) rowBounds;
-        String countSql = dialect.getCountString(originalSql);
+        ParameterHandler parameterHandler = statementHandler.getParameterHandler();
+        BoundSql boundSql = statementHandler.getBoundSql();
+        Configuration configuration = PluginFields.getConfiguration(delegate);
         Connection connection = (Connection) invocation.getArgs()[0];
-        int total = getTotal(parameterHandler, connection, countSql);
-        page.setTotalCount(total);
+        Dialect dialect = getDialect(configuration, connection);
+        String originalSql = boundSql.getSql();
+        Page<?> page = (Page<?>) rowBounds;
+        page.lookAhead = false;
+        if (page instanceof SeekPage && !dialect.supportsSeek()) {
+            throw new IllegalStateException(dialect.getClass().getSimpleName() + " 不支持 keyset 分页, 请使用 Page, 或在 mybatis-config.xml 中配置支持的 dialectClass("
+                    + "MySql5Dialect, PostgreDialect)");
+        }
+        // 获取总记录数
+        int limit = page.getLimit();
+        if (page.getCountMode() == CountMode.NONE) {
+            // 不统计总数, 多查询一条判断是否有下一页
+            page.setTotalCount(-1);
+            page.lookAhead = true;
+        } else {
+            String estimateCountSql = page.getCountMode() == CountMode.ESTIMATE ? dialect.getEstimateCountString(originalSql) : null;
+            int estimateTotal = estimateCountSql == null ? -1
+                    : getEstimateTotal(parameterHandler, connection, estimateCountSql, dialect.getEstimateCountParameters(originalSql));
+            if (estimateTotal != -1) {
+                page.setTotalCount(estimateTotal);
+            } else {
+                String countSql = dialect.getCountString(originalSql);
+                setTotal(page, parameterHandler, connection, configuration, boundSql, countSql);
+                // 并行统计中, 结果处理时不能等待总数(当前线程占用着连接), 多查询一条判断是否有下一页
+                page.lookAhead = page.isTotalCountPending();
+            }
+        }
+        if (page.lookAhead) {
+            limit++;
+        }
 
         // 设置物理分页语句
-        metaStatementHandler.setValue("delegate.boundSql.sql", dialect.getLimitString(originalSql, page.getOffset(), page.getLimit()));
+        if (page instanceof SeekPage) {
+            SeekPage<?> seekPage = (SeekPage<?>) page;
+            PluginFields.setSql(boundSql, dialect.getSeekString(originalSql, seekPage.getSortColumns(), seekPage.isDescending(), seekPage.hasLastKeys(), limit));
+        } else {
+            PluginFields.setSql(boundSql, dialect.getLimitString(originalSql, page.getOffset(), limit));
+        }
         // 屏蔽mybatis原有分页
-        metaStatementHandler.setValue("delegate.rowBounds.offset", RowBounds.NO_ROW_OFFSET);
-        metaStatementHandler.setValue("delegate.rowBounds.limit", RowBounds.NO_ROW_LIMIT);
+        page.offset = RowBounds.NO_ROW_OFFSET;
+        page.limit = RowBounds.NO_ROW_LIMIT;
         if (logger.isDebugEnabled()) {
             logger.debug("分页SQL : " + boundSql.getSql());
         }
@@ -77,6 +181,160 @@ public class PaginationStatementHandlerInterceptor implements Interceptor {
 
     @Override
     public void setProperties(Properties properties) {
+        if (Boolean.parseBoolean(properties.getProperty("parallelCountEnabled"))) {
+            int threads = Integer.parseInt(properties.getProperty("parallelCountThreads", "4"));
+            countExecutor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger threadNumber = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "pagination-count-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            parallelCountInWriteTransaction = Boolean.parseBoolean(properties.getProperty("parallelCountInWriteTransaction"));
+            parallelCountConnectionTimeout = Long.parseLong(properties.getProperty("parallelCountConnectionTimeout", "100"));
+        }
+
+        if (!Boolean.parseBoolean(properties.getProperty("countCacheEnabled"))) {
+            return;
+        }
+        String countCacheClass = properties.getProperty("countCacheClass", LocalCountCache.class.getName());
+        try {
+            countCache = (CountCache) Class.forName(countCacheClass).newInstance();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("请检查 mybatis-config.xml 中  countCacheClass 是否配置正确?", e);
+        }
+        countCache.setProperties(properties);
+    }
+
+    /**
+     * 取得方言, 每个 Configuration 只解析一次
+     */
+    private Dialect getDialect(Configuration configuration, Connection connection) {
+        ResolvedDialect resolved = resolvedDialect;
+        if (resolved == null || resolved.configuration != configuration) {
+            resolved = new ResolvedDialect(configuration, DialectFactory.buildDialect(configuration, connection));
+            resolvedDialect = resolved;
+        }
+        return resolved.dialect;
+    }
+
+    /**
+     * 总数缓存, 未启用时返回null
+     */
+    public CountCache getCountCache() {
+        return countCache;
+    }
+
+    /**
+     * 获取总计录, 启用并行统计时在另一个连接上统计, 由 {@link Page#getTotalCount()} 等待结果.
+     * 统计线程都忙, 或统计线程在 parallelCountConnectionTimeout 内取不到连接时, 在当前连接上顺序统计,
+     * 避免每个请求都占着一个连接等待另一个连接, 耗尽连接池
+     * 
+     * @param page
+     * @param parameterHandler
+     * @param connection
+     * @param configuration
+     * @param boundSql
+     * @param countSql
+     * @throws Exception
+     */
+    private void setTotal(Page<?> page, final ParameterHandler parameterHandler, Connection connection, Configuration configuration, BoundSql boundSql,
+            final String countSql) throws Exception {
+        // 缓存具有相同SQL语句和参数的总数; 写事务中统计到的总数可能包含未提交的数据, 缓存的总数又不含本事务的修改, 都不使用缓存
+        boolean writeTransaction = !connection.getAutoCommit() && !connection.isReadOnly();
+        CountCacheKey cacheKey = null;
+        if (countCache != null && !writeTransaction) {
+            cacheKey = new CountCacheKey(countSql, getParameterValues(configuration, boundSql, parameterHandler.getParameterObject()));
+            Integer cachedCount = countCache.get(cacheKey);
+            if (cachedCount != null) {
+                page.setTotalCount(cachedCount);
+                return;
+            }
+        }
+
+        if (countExecutor == null || configuration.getEnvironment() == null || (writeTransaction && !parallelCountInWriteTransaction)) {
+            page.setTotalCount(getTotal(parameterHandler, connection, countSql, cacheKey));
+            return;
+        }
+        ParallelCount parallelCount = new ParallelCount(configuration.getEnvironment().getDataSource(), parameterHandler, countSql, cacheKey);
+        Future<Integer> future;
+        try {
+            future = countExecutor.submit(parallelCount);
+        } catch (RejectedExecutionException e) {
+            future = null;
+        }
+        if (future == null || !parallelCount.awaitConnection(parallelCountConnectionTimeout)) {
+            page.setTotalCount(getTotal(parameterHandler, connection, countSql, cacheKey));
+            return;
+        }
+        page.setTotalCountFuture(future);
+    }
+
+    /**
+     * 在另一个连接上统计总数. 提交任务的线程通过 {@link #awaitConnection(long)} 等待取得连接,
+     * 超时后放弃, 之后取到的连接直接归还, 不再统计
+     */
+    private final class ParallelCount implements Callable<Integer> {
+
+        private static final int WAITING = 0;
+
+        private static final int ACQUIRED = 1;
+
+        private static final int ABANDONED = 2;
+
+        private final DataSource dataSource;
+
+        private final ParameterHandler parameterHandler;
+
+        private final String countSql;
+
+        private final CountCacheKey cacheKey;
+
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private final CountDownLatch connectionReady = new CountDownLatch(1);
+
+        private ParallelCount(DataSource dataSource, ParameterHandler parameterHandler, String countSql, CountCacheKey cacheKey) {
+            this.dataSource = dataSource;
+            this.parameterHandler = parameterHandler;
+            this.countSql = countSql;
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public Integer call() throws Exception {
+            Connection countConnection;
+            try {
+                countConnection = dataSource.getConnection();
+            } catch (SQLException e) {
+                state.compareAndSet(WAITING, ABANDONED);
+                throw e;
+            } finally {
+                connectionReady.countDown();
+            }
+            try {
+                if (!state.compareAndSet(WAITING, ACQUIRED)) {
+                    // 提交的线程已经在自己的连接上统计
+                    return null;
+                }
+                return getTotal(parameterHandler, countConnection, countSql, cacheKey);
+            } finally {
+                countConnection.close();
+            }
+        }
+
+        /**
+         * 等待统计线程取得连接
+         * 
+         * @return 是否取得连接, false 时由调用方顺序统计
+         */
+        private boolean awaitConnection(long timeoutMillis) throws InterruptedException {
+            connectionReady.await(timeoutMillis, TimeUnit.MILLISECONDS);
+            return !state.compareAndSet(WAITING, ABANDONED) && state.get() == ACQUIRED;
+        }
     }
 
     /**
@@ -85,24 +343,217 @@ public class PaginationStatementHandlerInterceptor implements Interceptor {
      * @param parameterHandler
      * @param connection
      * @param countSql
+     * @param cacheKey 未启用总数缓存时为null
      * @return
-     * @throws Exception
+     * @throws SQLException
      */
-    private int getTotal(ParameterHandler parameterHandler, Connection connection, String countSql) throws Exception {
-        // MetaObject metaStatementHandler =
-        // MetaObject.forObject(parameterHandler);
-        // Object parameterObject =
-        // metaStatementHandler.getValue("parameterObject");
-        // TODO 缓存具有相同SQL语句和参数的总数
+    private int getTotal(ParameterHandler parameterHandler, Connection connection, String countSql, CountCacheKey cacheKey) throws SQLException {
         PreparedStatement prepareStatement = connection.prepareStatement(countSql);
-        parameterHandler.setParameters(prepareStatement);
-        ResultSet rs = prepareStatement.executeQuery();
         int count = 0;
-        if (rs.next()) {
-            count = rs.getInt(1);
+        try {
+            parameterHandler.setParameters(prepareStatement);
+            ResultSet rs = prepareStatement.executeQuery();
+            if (rs.next()) {
+                count = rs.getInt(1);
+            }
+            rs.close();
+        } finally {
+            prepareStatement.close();
+        }
+
+        if (cacheKey != null) {
+            countCache.put(cacheKey, count);
         }
-        rs.close();
-        prepareStatement.close();
         return count;
     }
+
+    /**
+     * 获取估算的总记录数
+     * 
+     * @param parameterHandler
+     * @param connection
+     * @param estimateCountSql 结果集 rows 列为估算值
+     * @param estimateParameters 估算SQL的参数, 为null时按原SQL的参数绑定
+     * @return 结果集不是一行(如多表查询的执行计划, 驱动表的行数不是总数)时返回 -1
+     * @throws Exception
+     */
+    private int getEstimateTotal(ParameterHandler parameterHandler, Connection connection, String estimateCountSql, Object[] estimateParameters)
+            throws Exception {
+        PreparedStatement prepareStatement = connection.prepareStatement(estimateCountSql);
+        long count = -1;
+        try {
+            if (estimateParameters != null) {
+                for (int i = 0; i < estimateParameters.length; i++) {
+                    prepareStatement.setObject(i + 1, estimateParameters[i]);
+                }
+            } else if (estimateCountSql.indexOf('?') != -1) {
+                parameterHandler.setParameters(prepareStatement);
+            }
+            ResultSet rs = prepareStatement.executeQuery();
+            if (rs.next()) {
+                count = Math.max(rs.getLong("rows"), 0);
+                if (rs.next()) {
+                    count = -1;
+                }
+            }
+            rs.close();
+        } finally {
+            prepareStatement.close();
+        }
+        return (int) Math.min(count, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 按占位符顺序取得参数值, 取值规则与 DefaultParameterHandler 一致
+     * 
+     * @param configuration
+     * @param boundSql
+     * @param parameterObject
+     * @return 参数值
+     */
+    private Object[] getParameterValues(Configuration configuration, BoundSql boundSql, Object parameterObject) {
+        List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+        if (parameterMappings == null) {
+            return new Object[0];
+        }
+        TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+        MetaObject metaObject = parameterObject == null ? null : configuration.newMetaObject(parameterObject);
+        Object[] values = new Object[parameterMappings.size()];
+        for (int i = 0; i < values.length; i++) {
+            ParameterMapping parameterMapping = parameterMappings.get(i);
+            if (parameterMapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String propertyName = parameterMapping.getProperty();
+            if (boundSql.hasAdditionalParameter(propertyName)) {
+                values[i] = boundSql.getAdditionalParameter(propertyName);
+            } else if (parameterObject == null) {
+                values[i] = null;
+            } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+                values[i] = parameterObject;
+            } else {
+                values[i] = metaObject.getValue(propertyName);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * keyset 分页 : 上一页的key不在SQL参数中, 需要加入一级/二级缓存的key, 否则不同页会命中同一个缓存
+     * 
+     * @param invocation
+     * @return
+     * @throws Throwable
+     */
+    private Object querySeekPage(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        RowBounds rowBounds = (RowBounds) args[2];
+        if (!(rowBounds instanceof SeekPage) || !((SeekPage<?>) rowBounds).hasLastKeys()) {
+            return invocation.proceed();
+        }
+        Executor executor = (Executor) invocation.getTarget();
+        MappedStatement mappedStatement = (MappedStatement) args[0];
+        BoundSql boundSql = mappedStatement.getBoundSql(args[1]);
+        CacheKey cacheKey = executor.createCacheKey(mappedStatement, args[1], rowBounds, boundSql);
+        for (Object key : ((SeekPage<?>) rowBounds).getLastKeys()) {
+            cacheKey.update(key);
+        }
+        return executor.query(mappedStatement, args[1], rowBounds, (ResultHandler) args[3], cacheKey, boundSql);
+    }
+
+    /**
+     * keyset 分页 : 在原有参数之后绑定上一页的key
+     * 
+     * @param statementHandler
+     * @param statement
+     * @throws SQLException
+     */
+    private void setSeekParameters(StatementHandler statementHandler, Statement statement) throws SQLException {
+        BaseStatementHandler delegate = PluginFields.getDelegate(statementHandler);
+        RowBounds rowBounds = delegate == null ? null : PluginFields.getRowBounds(delegate);
+        if (!(rowBounds instanceof SeekPage) || !((SeekPage<?>) rowBounds).hasLastKeys()) {
+            return;
+        }
+        if (!(statement instanceof PreparedStatement)) {
+            throw new SQLException("keyset 分页只支持 PREPARED 类型的语句!");
+        }
+        Object[] lastKeys = ((SeekPage<?>) rowBounds).getLastKeys();
+        int index = statementHandler.getBoundSql().getParameterMappings().size();
+        for (Object key : lastKeys) {
+            ((PreparedStatement) statement).setObject(++index, key);
+        }
+    }
+
+    /**
+     * 写操作执行后, 使读取该表的总数缓存失效; 处于 Spring 事务中时, 事务结束后再失效一次,
+     * 避免提交前其它连接统计到的旧总数在提交后继续使用
+     * 
+     * @param sql insert/update/delete 语句
+     */
+    private void invalidateCountCache(String sql) {
+        if (countCache == null) {
+            return;
+        }
+        String table = SqlTables.getWriteTable(sql);
+        invalidateCountCacheTable(table);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAfterCompletion(table);
+        }
+    }
+
+    /**
+     * @param table 表名, 为null(无法识别修改的表)时全部失效
+     */
+    private void invalidateCountCacheTable(String table) {
+        if (table == null) {
+            countCache.clear();
+        } else {
+            countCache.invalidate(table);
+        }
+    }
+
+    /**
+     * 记录事务中修改的表, 每个事务只注册一次 TransactionSynchronization, 批量写入时不会为每条语句注册
+     */
+    private void invalidateAfterCompletion(String table) {
+        @SuppressWarnings("unchecked")
+        Set<String> tables = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (tables == null) {
+            final Set<String> pending = new HashSet<String>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(PaginationStatementHandlerInterceptor.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(PaginationStatementHandlerInterceptor.this, pending);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PaginationStatementHandlerInterceptor.this);
+                    for (String pendingTable : pending) {
+                        invalidateCountCacheTable(pendingTable);
+                    }
+                }
+            });
+            tables = pending;
+        }
+        tables.add(table);
+    }
+
+    private static final class ResolvedDialect {
+
+        private final Configuration configuration;
+
+        private final Dialect dialect;
+
+        private ResolvedDialect(Configuration configuration, Dialect dialect) {
+            this.configuration = configuration;
+            this.dialect = dialect;
+        }
+    }
 }
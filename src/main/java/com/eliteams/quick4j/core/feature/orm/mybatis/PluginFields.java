@@ -0,0 +1,80 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.lang.reflect.Field;
+import org.apache.ibatis.executor.resultset.FastResultSetHandler;
+import org.apache.ibatis.executor.statement.BaseStatementHandler;
+import org.apache.ibatis.executor.statement.RoutingStatementHandler;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * 插件访问 Mybatis 内部字段, 字段在类加载时查找一次, 代替每次调用 MetaObject 按属性路径反射
+ *
+ * @author StarZou
+ * @since 2026-10-17 12:20
+ **/
+final class PluginFields {
+
+    private static final Field ROUTING_DELEGATE = getField(RoutingStatementHandler.class, "delegate");
+
+    private static final Field STATEMENT_CONFIGURATION = getField(BaseStatementHandler.class, "configuration");
+
+    private static final Field STATEMENT_ROW_BOUNDS = getField(BaseStatementHandler.class, "rowBounds");
+
+    private static final Field RESULT_SET_ROW_BOUNDS = getField(FastResultSetHandler.class, "rowBounds");
+
+    private static final Field BOUND_SQL_SQL = getField(BoundSql.class, "sql");
+
+    private PluginFields() {
+    }
+
+    /**
+     * 取得实际执行的 StatementHandler, 不是 Mybatis 内置实现时返回null
+     */
+    static BaseStatementHandler getDelegate(StatementHandler statementHandler) {
+        if (statementHandler instanceof RoutingStatementHandler) {
+            statementHandler = (StatementHandler) get(ROUTING_DELEGATE, statementHandler);
+        }
+        return statementHandler instanceof BaseStatementHandler ? (BaseStatementHandler) statementHandler : null;
+    }
+
+    static Configuration getConfiguration(BaseStatementHandler statementHandler) {
+        return (Configuration) get(STATEMENT_CONFIGURATION, statementHandler);
+    }
+
+    static RowBounds getRowBounds(BaseStatementHandler statementHandler) {
+        return (RowBounds) get(STATEMENT_ROW_BOUNDS, statementHandler);
+    }
+
+    static RowBounds getRowBounds(FastResultSetHandler resultSetHandler) {
+        return (RowBounds) get(RESULT_SET_ROW_BOUNDS, resultSetHandler);
+    }
+
+    static void setSql(BoundSql boundSql, String sql) {
+        try {
+            BOUND_SQL_SQL.set(boundSql, sql);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object get(Field field, Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field getField(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("当前 Mybatis 版本不支持分页插件 : " + type.getName() + "." + name, e);
+        }
+    }
+}
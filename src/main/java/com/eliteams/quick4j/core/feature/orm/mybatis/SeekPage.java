@@ -0,0 +1,124 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.List;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+/**
+ * keyset(seek) 分页参数及查询结果封装.
+ * <p/>
+ * 不使用偏移量, 而是记住上一页最后一条记录的排序列的值, 查询时改写为 WHERE (排序列) > (?) ORDER BY 排序列 LIMIT 限定数, 翻页深度不影响查询速度.
+ * <p/>
+ * 排序列组合起来必须唯一(例如以主键结尾), 否则会漏掉数据. 查询后通过 {@link #getNextKeys()} 取得下一页的key.
+ * <p/>
+ * 默认不统计总数({@link CountMode#NONE}), 需要总数时调用 {@link #setCountMode(CountMode)}.
+ * 
+ * <pre>
+ * SeekPage&lt;User&gt; page = new SeekPage&lt;User&gt;(20, new String[] { "id" }, new String[] { "id" });
+ * userMapper.selectByExampleAndPage(page, example);
+ * SeekPage&lt;User&gt; next = new SeekPage&lt;User&gt;(20, new String[] { "id" }, new String[] { "id" }, page.getNextKeys());
+ * </pre>
+ * 
+ * @param <T>
+ *            Page中记录的类型.
+ * @author StarZou
+ * @since 2026-10-17 11:40
+ **/
+public class SeekPage<T> extends Page<T> {
+
+    /**
+     * 排序列 : SQL中的列名
+     */
+    protected String[] sortColumns;
+
+    /**
+     * 排序列对应的属性名, 用于从最后一条记录读取下一页的key
+     */
+    protected String[] sortProperties;
+
+    /**
+     * 是否降序
+     */
+    protected boolean descending;
+
+    /**
+     * 上一页最后一条记录的排序列的值, 为null时查询第一页
+     */
+    protected Object[] lastKeys;
+
+    /**
+     * 本页最后一条记录的排序列的值, 没有下一页时为null
+     */
+    protected Object[] nextKeys;
+
+    public SeekPage(int pageSize, String[] sortColumns, String[] sortProperties) {
+        this(pageSize, sortColumns, sortProperties, null);
+    }
+
+    public SeekPage(int pageSize, String[] sortColumns, String[] sortProperties, Object[] lastKeys) {
+        super(1, pageSize);
+        if (sortColumns == null || sortColumns.length == 0 || sortProperties == null || sortProperties.length != sortColumns.length) {
+            throw new IllegalArgumentException("排序列与属性名必须一一对应!");
+        }
+        if (lastKeys != null && lastKeys.length != sortColumns.length) {
+            throw new IllegalArgumentException("lastKeys 的数量必须与排序列一致!");
+        }
+        this.sortColumns = sortColumns;
+        this.sortProperties = sortProperties;
+        this.lastKeys = lastKeys;
+        // 统计总数要扫描全部匹配的记录, 抵消了 keyset 分页的收益
+        this.countMode = CountMode.NONE;
+    }
+
+    public String[] getSortColumns() {
+        return sortColumns;
+    }
+
+    public String[] getSortProperties() {
+        return sortProperties;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public void setDescending(boolean descending) {
+        this.descending = descending;
+    }
+
+    public Object[] getLastKeys() {
+        return lastKeys;
+    }
+
+    /**
+     * 是否有上一页的key, 没有时查询第一页
+     */
+    public boolean hasLastKeys() {
+        return lastKeys != null;
+    }
+
+    /**
+     * 取得下一页的key, 没有下一页时返回null
+     */
+    public Object[] getNextKeys() {
+        return nextKeys;
+    }
+
+    /**
+     * 设置页内的记录列表, 有下一页时从最后一条记录读取下一页的key, 需要先设置 {@link #setHasNext(boolean)}.
+     */
+    @Override
+    public void setResult(final List<T> result) {
+        super.setResult(result);
+        if (result == null || result.isEmpty() || !hasNext) {
+            this.nextKeys = null;
+            return;
+        }
+        MetaObject last = SystemMetaObject.forObject(result.get(result.size() - 1));
+        Object[] keys = new Object[sortProperties.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = last.getValue(sortProperties[i]);
+        }
+        this.nextKeys = keys;
+    }
+}
@@ -0,0 +1,135 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.concurrent.TimeUnit;
+import com.eliteams.quick4j.core.feature.metrics.LatencyHistogram;
+import com.eliteams.quick4j.core.feature.metrics.StripedCounter;
+
+/**
+ * 单个 MappedStatement 的执行统计 : 调用次数, 行数, 错误次数, 慢SQL次数及耗时分布.
+ * <p/>
+ * 调用次数及错误次数统计每次调用; 耗时, 行数, 慢SQL只统计被采样的调用. getter 同时用于JSON输出和JMX
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:15
+ **/
+public class SqlStatementStatistics {
+
+    private final String id;
+
+    private final StripedCounter calls = new StripedCounter();
+
+    private final StripedCounter sampledCalls = new StripedCounter();
+
+    private final StripedCounter rows = new StripedCounter();
+
+    private final StripedCounter errors = new StripedCounter();
+
+    private final StripedCounter slowCalls = new StripedCounter();
+
+    /**
+     * 单位纳秒
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    public SqlStatementStatistics(String id) {
+        this.id = id;
+    }
+
+    void recordCall() {
+        calls.increment();
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * 记录一次被采样的调用
+     *
+     * @return 是否为慢SQL
+     */
+    boolean recordSample(long elapsedNanos, int rowCount, long slowThresholdNanos) {
+        sampledCalls.increment();
+        rows.add(rowCount);
+        latency.record(elapsedNanos);
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowCalls.increment();
+            return true;
+        }
+        return false;
+    }
+
+    void reset() {
+        calls.reset();
+        sampledCalls.reset();
+        rows.reset();
+        errors.reset();
+        slowCalls.reset();
+        latency.reset();
+    }
+
+    /**
+     * MappedStatement id, 即 Mapper 接口全名.方法名
+     */
+    public String getId() {
+        return id;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getSampledCalls() {
+        return sampledCalls.sum();
+    }
+
+    /**
+     * 被采样的调用返回或影响的行数
+     */
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getSlowCalls() {
+        return slowCalls.sum();
+    }
+
+    /**
+     * 被采样的调用的总耗时
+     */
+    public double getTotalMillis() {
+        return toUnit(latency.getTotal(), TimeUnit.MILLISECONDS);
+    }
+
+    public double getMeanMicros() {
+        return toUnit(latency.getMean(), TimeUnit.MICROSECONDS);
+    }
+
+    public double getP50Micros() {
+        return toUnit(latency.getPercentile(50), TimeUnit.MICROSECONDS);
+    }
+
+    public double getP90Micros() {
+        return toUnit(latency.getPercentile(90), TimeUnit.MICROSECONDS);
+    }
+
+    public double getP99Micros() {
+        return toUnit(latency.getPercentile(99), TimeUnit.MICROSECONDS);
+    }
+
+    public double getP999Micros() {
+        return toUnit(latency.getPercentile(99.9), TimeUnit.MICROSECONDS);
+    }
+
+    public double getMaxMicros() {
+        return toUnit(latency.getMax(), TimeUnit.MICROSECONDS);
+    }
+
+    private static double toUnit(double nanos, TimeUnit unit) {
+        return Math.round(nanos / unit.toNanos(1) * 1000D) / 1000D;
+    }
+}
@@ -0,0 +1,120 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按 MappedStatement id 汇总的SQL执行统计, 由 {@link SqlStatisticsInterceptor} 记录
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:25
+ **/
+public class SqlStatistics implements SqlStatisticsMXBean {
+
+    public static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 1000;
+
+    private final ConcurrentMap<String, SqlStatementStatistics> statements = new ConcurrentHashMap<String, SqlStatementStatistics>();
+
+    private volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_THRESHOLD_MILLIS);
+
+    private volatile int sampleInterval = 1;
+
+    /**
+     * 取得语句的统计, 不存在时创建
+     */
+    public SqlStatementStatistics getStatement(String id) {
+        SqlStatementStatistics statistics = statements.get(id);
+        if (statistics == null) {
+            statistics = new SqlStatementStatistics(id);
+            SqlStatementStatistics previous = statements.putIfAbsent(id, statistics);
+            if (previous != null) {
+                statistics = previous;
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * 本次调用是否采样, 平均每 sampleInterval 次采样一次
+     */
+    public boolean isSampled() {
+        int interval = sampleInterval;
+        return interval <= 1 || ThreadLocalRandom.current().nextInt(interval) == 0;
+    }
+
+    long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    @Override
+    public List<SqlStatementStatistics> getStatements() {
+        List<SqlStatementStatistics> list = new ArrayList<SqlStatementStatistics>(statements.values());
+        Collections.sort(list, new Comparator<SqlStatementStatistics>() {
+            @Override
+            public int compare(SqlStatementStatistics o1, SqlStatementStatistics o2) {
+                return Double.compare(o2.getTotalMillis(), o1.getTotalMillis());
+            }
+        });
+        return list;
+    }
+
+    @Override
+    public long getTotalCalls() {
+        long total = 0;
+        for (SqlStatementStatistics statistics : statements.values()) {
+            total += statistics.getCalls();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalErrors() {
+        long total = 0;
+        for (SqlStatementStatistics statistics : statements.values()) {
+            total += statistics.getErrors();
+        }
+        return total;
+    }
+
+    @Override
+    public long getTotalSlowCalls() {
+        long total = 0;
+        for (SqlStatementStatistics statistics : statements.values()) {
+            total += statistics.getSlowCalls();
+        }
+        return total;
+    }
+
+    @Override
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    @Override
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    @Override
+    public void setSampleInterval(int sampleInterval) {
+        this.sampleInterval = Math.max(1, sampleInterval);
+    }
+
+    @Override
+    public void reset() {
+        for (SqlStatementStatistics statistics : statements.values()) {
+            statistics.reset();
+        }
+    }
+}
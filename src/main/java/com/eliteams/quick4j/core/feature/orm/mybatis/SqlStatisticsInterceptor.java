@@ -0,0 +1,125 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Properties;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.eliteams.quick4j.core.feature.orm.dialect.PageSql;
+
+/**
+ * SQL执行统计插件, 按 MappedStatement id 记录调用次数, 行数, 耗时分布, 超过阈值的记为慢SQL并输出警告日志.
+ * <p/>
+ * 配置项 :
+ * <ul>
+ * <li>slowThresholdMillis : 慢SQL阈值, 单位毫秒, 默认 1000</li>
+ * <li>sampleInterval : 采样间隔, 平均每 N 次调用计时一次, 默认 1 即每次都计时; 未采样的调用只累加调用次数</li>
+ * <li>jmxEnabled : 是否注册到JMX, 默认 true</li>
+ * <li>jmxName : JMX ObjectName, 默认 com.eliteams.quick4j:type=SqlStatistics, 重复注册时替换原有的</li>
+ * </ul>
+ * 统计数据通过 {@link #getStatistics()} 取得
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:30
+ **/
+@Intercepts({ @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                BoundSql.class }),
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }) })
+public class SqlStatisticsInterceptor implements Interceptor {
+
+    public static final String DEFAULT_JMX_NAME = "com.eliteams.quick4j:type=SqlStatistics";
+
+    private final static Logger logger = LoggerFactory.getLogger(SqlStatisticsInterceptor.class);
+
+    private final SqlStatistics statistics = new SqlStatistics();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        SqlStatementStatistics statement = statistics.getStatement(mappedStatement.getId());
+        statement.recordCall();
+        if (!statistics.isSampled()) {
+            return proceed(invocation, statement);
+        }
+
+        long start = System.nanoTime();
+        Object result = proceed(invocation, statement);
+        long elapsed = System.nanoTime() - start;
+        int rows = getRowCount(result);
+        if (statement.recordSample(elapsed, rows, statistics.getSlowThresholdNanos()) && logger.isWarnEnabled()) {
+            logger.warn("慢SQL : {} 耗时 {} ms, 行数 {}, SQL : {}", new Object[] { mappedStatement.getId(), elapsed / 1000000L, rows,
+                    PageSql.getLineSql(mappedStatement.getBoundSql(invocation.getArgs()[1]).getSql()) });
+        }
+        return result;
+    }
+
+    private static Object proceed(Invocation invocation, SqlStatementStatistics statement) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            statement.recordError();
+            throw e;
+        }
+    }
+
+    /**
+     * 查询返回的行数或更新影响的行数, 使用 ResultHandler 流式处理的查询为0
+     */
+    private static int getRowCount(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            return Math.max(0, (Integer) result);
+        }
+        return 0;
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        statistics.setSlowThresholdMillis(Long.parseLong(properties.getProperty("slowThresholdMillis", String.valueOf(SqlStatistics.DEFAULT_SLOW_THRESHOLD_MILLIS))));
+        statistics.setSampleInterval(Integer.parseInt(properties.getProperty("sampleInterval", "1")));
+        if (Boolean.parseBoolean(properties.getProperty("jmxEnabled", "true"))) {
+            registerMBean(properties.getProperty("jmxName", DEFAULT_JMX_NAME));
+        }
+    }
+
+    private void registerMBean(String name) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(statistics, objectName);
+        } catch (Exception e) {
+            logger.warn("SQL执行统计注册到JMX失败 : " + name, e);
+        }
+    }
+
+    /**
+     * SQL执行统计
+     */
+    public SqlStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,36 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.List;
+
+/**
+ * SQL执行统计的JMX接口, 默认注册为 com.eliteams.quick4j:type=SqlStatistics
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:20
+ **/
+public interface SqlStatisticsMXBean {
+
+    /**
+     * 按被采样调用的总耗时降序排列的各语句统计
+     */
+    List<SqlStatementStatistics> getStatements();
+
+    long getTotalCalls();
+
+    long getTotalErrors();
+
+    long getTotalSlowCalls();
+
+    long getSlowThresholdMillis();
+
+    void setSlowThresholdMillis(long slowThresholdMillis);
+
+    int getSampleInterval();
+
+    void setSampleInterval(int sampleInterval);
+
+    /**
+     * 清空统计
+     */
+    void reset();
+}
@@ -0,0 +1,71 @@
+package com.eliteams.quick4j.core.feature.orm.mybatis;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 从SQL语句中提取涉及的表名, 用于缓存失效判断
+ *
+ * @author StarZou
+ * @since 2026-10-17 10:05
+ **/
+public class SqlTables {
+
+    /**
+     * 查询语句中 FROM / JOIN 之后的表名
+     */
+    private static final Pattern READ_TABLE_PATTERN = Pattern.compile("\\b(?:FROM|JOIN)\\s+([`\"\\w.]+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 写语句 INSERT INTO / UPDATE / DELETE FROM 之后的表名
+     */
+    private static final Pattern WRITE_TABLE_PATTERN = Pattern.compile("^\\s*(?:INSERT\\s+(?:IGNORE\\s+)?INTO|UPDATE|DELETE\\s+FROM|REPLACE\\s+INTO)\\s+([`\"\\w.]+)",
+            Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 得到查询语句读取的所有表, 表名统一为小写且去掉引号和schema前缀
+     *
+     * @param sql 查询语句
+     * @return 表名集合
+     */
+    public static Set<String> getReadTables(String sql) {
+        Set<String> tables = new LinkedHashSet<String>();
+        Matcher matcher = READ_TABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            tables.add(normalize(matcher.group(1)));
+        }
+        return tables;
+    }
+
+    /**
+     * 得到写语句修改的表
+     *
+     * @param sql insert/update/delete 语句
+     * @return 表名, 无法识别时返回null
+     */
+    public static String getWriteTable(String sql) {
+        Matcher matcher = WRITE_TABLE_PATTERN.matcher(sql);
+        if (matcher.find()) {
+            return normalize(matcher.group(1));
+        }
+        return null;
+    }
+
+    /**
+     * 去掉引号和schema前缀, 转为小写
+     */
+    private static String normalize(String table) {
+        String name = table.replace("`", "").replace("\"", "");
+        int dot = name.lastIndexOf('.');
+        if (dot != -1) {
+            name = name.substring(dot + 1);
+        }
+        return name.toLowerCase();
+    }
+
+    private SqlTables() {
+
+    }
+}
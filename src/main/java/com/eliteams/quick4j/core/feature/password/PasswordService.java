@@ -0,0 +1,428 @@
+package com.eliteams.quick4j.core.feature.password;
+
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+import com.eliteams.quick4j.core.feature.cache.local.LocalCache;
+
+/**
+ * PBKDF2 密码哈希服务
+ * <p/>
+ * 哈希格式为 算法:迭代次数:盐:哈希, 盐和哈希为小写十六进制; 兼容 PasswordHash 生成的 迭代次数:盐:哈希 格式(PBKDF2WithHmacSHA1),
+ * 以及旧数据中的明文密码. 算法或迭代次数与当前配置不同的哈希, 登录成功后可通过 {@link #needsRehash(String)} 判断并重新哈希.
+ * <p/>
+ * PBKDF2 直接基于每个线程缓存的 Mac 实现, 不再每次调用 SecretKeyFactory.getInstance;
+ * 计算在专用的有界线程池中进行, 登录高峰时排队或拒绝, 不会占满请求线程的CPU;
+ * 验证成功的结果按 (密码, 哈希) 的 HMAC 摘要缓存一段时间, 摘要的密钥在每次启动时随机生成.
+ *
+ * @author StarZou
+ * @since 2026-10-17 16:20
+ **/
+public class PasswordService implements InitializingBean, DisposableBean {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final String ALGORITHM_PREFIX = "PBKDF2WithHmac";
+
+    /**
+     * PasswordHash 使用的算法
+     */
+    private static final String LEGACY_ALGORITHM = "PBKDF2WithHmacSHA1";
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * 每个线程缓存的 Mac, 按算法区分
+     */
+    private static final ThreadLocal<Map<String, Mac>> MACS = new ThreadLocal<Map<String, Mac>>() {
+        @Override
+        protected Map<String, Mac> initialValue() {
+            return new HashMap<String, Mac>(4);
+        }
+    };
+
+    private final SecureRandom random = new SecureRandom();
+
+    private String algorithm = "PBKDF2WithHmacSHA256";
+
+    private int iterations = 64000;
+
+    private int saltBytes = 16;
+
+    private int hashBytes = 32;
+
+    /**
+     * 计算线程数, <=0 时为CPU核数
+     */
+    private int threads;
+
+    /**
+     * 等待计算的最大任务数
+     */
+    private int queueSize = 64;
+
+    /**
+     * 等待计算结果的最长时间, 单位毫秒
+     */
+    private long timeoutMillis = 5000;
+
+    /**
+     * 验证缓存的最大条数, <=0 表示不缓存
+     */
+    private int cacheSize = 1000;
+
+    /**
+     * 验证缓存的过期时间, 单位秒
+     */
+    private int cacheTimeToLive = 300;
+
+    private ThreadPoolExecutor executor;
+
+    private LocalCache<String, Boolean> verifiedCache;
+
+    private byte[] cacheKey;
+
+    /**
+     * 用户不存在时用于验证的哈希, 使响应时间与用户存在时一致
+     */
+    private String dummyHash;
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public void setSaltBytes(int saltBytes) {
+        this.saltBytes = saltBytes;
+    }
+
+    public void setHashBytes(int hashBytes) {
+        this.hashBytes = hashBytes;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public void setCacheTimeToLive(int cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!algorithm.startsWith(ALGORITHM_PREFIX)) {
+            throw new IllegalArgumentException("unsupported algorithm : " + algorithm);
+        }
+        // 提前检查算法是否可用
+        mac(macAlgorithm(algorithm));
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueSize), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        if (cacheSize > 0) {
+            verifiedCache = new LocalCache<String, Boolean>(cacheSize, cacheTimeToLive * 1000L);
+            cacheKey = new byte[32];
+            random.nextBytes(cacheKey);
+        }
+        byte[] dummy = new byte[16];
+        random.nextBytes(dummy);
+        try {
+            dummyHash = hashNow(toHex(dummy));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 使用当前配置哈希密码
+     *
+     * @param password 明文密码
+     * @return 算法:迭代次数:盐:哈希
+     * @throws RejectedExecutionException 计算任务过多或等待超时
+     */
+    public String hash(final String password) {
+        return execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return hashNow(password);
+            }
+        });
+    }
+
+    /**
+     * 验证密码与哈希是否匹配
+     *
+     * @param password   明文密码
+     * @param storedHash 保存的哈希, 也可以是 PasswordHash 的格式或旧的明文密码; 为null(用户不存在)时仍计算一次哈希并返回false
+     * @throws RejectedExecutionException 计算任务过多或等待超时
+     */
+    public boolean verify(final String password, final String storedHash) {
+        if (password == null || password.isEmpty()) {
+            return false;
+        }
+        if (storedHash == null) {
+            execute(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    return verifyNow(password, dummyHash);
+                }
+            });
+            return false;
+        }
+        final String key = verifiedCache == null ? null : cacheKey(password, storedHash);
+        if (key != null && verifiedCache.get(key) != null) {
+            return true;
+        }
+        boolean verified = execute(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return verifyNow(password, storedHash);
+            }
+        });
+        if (verified && key != null) {
+            verifiedCache.put(key, Boolean.TRUE);
+        }
+        return verified;
+    }
+
+    /**
+     * 哈希是否需要按当前配置重新计算 : 明文密码, 旧格式, 算法, 迭代次数或长度与配置不同
+     *
+     * @param storedHash 保存的哈希
+     */
+    public boolean needsRehash(String storedHash) {
+        HashParts parts = HashParts.parse(storedHash);
+        return parts == null || !parts.algorithm.equals(algorithm) || parts.iterations != iterations || parts.hash.length != hashBytes
+                || parts.salt.length != saltBytes;
+    }
+
+    /**
+     * 验证缓存的命中统计, 未启用缓存时返回null
+     */
+    public CacheStatistics getCacheStatistics() {
+        return verifiedCache == null ? null : verifiedCache.getStatistics();
+    }
+
+    /**
+     * 在调用线程中哈希密码, 不经过线程池
+     */
+    public String hashNow(String password) throws GeneralSecurityException {
+        byte[] salt = new byte[saltBytes];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(algorithm, password, salt, iterations, hashBytes);
+        return new StringBuilder(algorithm.length() + 16 + (saltBytes + hashBytes) * 2).append(algorithm).append(SEPARATOR).append(iterations)
+                .append(SEPARATOR).append(toHex(salt)).append(SEPARATOR).append(toHex(hash)).toString();
+    }
+
+    /**
+     * 在调用线程中验证密码, 不经过线程池和缓存
+     */
+    public boolean verifyNow(String password, String storedHash) throws GeneralSecurityException {
+        HashParts parts = HashParts.parse(storedHash);
+        if (parts == null) {
+            // 旧数据中的明文密码
+            return MessageDigest.isEqual(password.getBytes(UTF_8), storedHash.getBytes(UTF_8));
+        }
+        byte[] hash = pbkdf2(parts.algorithm, password, parts.salt, parts.iterations, parts.hash.length);
+        return MessageDigest.isEqual(parts.hash, hash);
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future = executor.submit(task);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("password hashing failed", e.getCause());
+        }
+    }
+
+    private String cacheKey(String password, String storedHash) {
+        try {
+            Mac mac = mac("HmacSHA256");
+            mac.init(new SecretKeySpec(cacheKey, "HmacSHA256"));
+            mac.update(storedHash.getBytes(UTF_8));
+            mac.update((byte) 0);
+            return toHex(mac.doFinal(password.getBytes(UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * PBKDF2 (RFC 2898), 密码按 UTF-8 编码, 与 SecretKeyFactory 的结果相同
+     */
+    static byte[] pbkdf2(String algorithm, String password, byte[] salt, int iterations, int length) throws GeneralSecurityException {
+        String macAlgorithm = macAlgorithm(algorithm);
+        Mac mac = mac(macAlgorithm);
+        mac.init(new SecretKeySpec(password.getBytes(UTF_8), macAlgorithm));
+        int macLength = mac.getMacLength();
+        byte[] result = new byte[length];
+        byte[] block = new byte[macLength];
+        byte[] u = new byte[macLength];
+        for (int index = 1, offset = 0; offset < length; index++, offset += macLength) {
+            mac.update(salt);
+            mac.update((byte) (index >>> 24));
+            mac.update((byte) (index >>> 16));
+            mac.update((byte) (index >>> 8));
+            mac.update((byte) index);
+            mac.doFinal(u, 0);
+            System.arraycopy(u, 0, block, 0, macLength);
+            for (int i = 1; i < iterations; i++) {
+                mac.update(u);
+                mac.doFinal(u, 0);
+                for (int j = 0; j < macLength; j++) {
+                    block[j] ^= u[j];
+                }
+            }
+            System.arraycopy(block, 0, result, offset, Math.min(macLength, length - offset));
+        }
+        return result;
+    }
+
+    /**
+     * PBKDF2WithHmacSHA256 -> HmacSHA256
+     */
+    private static String macAlgorithm(String algorithm) {
+        return "Hmac" + algorithm.substring(ALGORITHM_PREFIX.length());
+    }
+
+    private static Mac mac(String macAlgorithm) {
+        Map<String, Mac> macs = MACS.get();
+        Mac mac = macs.get(macAlgorithm);
+        if (mac == null) {
+            try {
+                mac = Mac.getInstance(macAlgorithm);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalArgumentException("unsupported algorithm : " + macAlgorithm, e);
+            }
+            macs.put(macAlgorithm, mac);
+        }
+        return mac;
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    static byte[] fromHex(String hex) {
+        if ((hex.length() & 1) != 0) {
+            return null;
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                return null;
+            }
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return bytes;
+    }
+
+    /**
+     * 解析后的哈希
+     */
+    private static final class HashParts {
+        private final String algorithm;
+        private final int iterations;
+        private final byte[] salt;
+        private final byte[] hash;
+
+        private HashParts(String algorithm, int iterations, byte[] salt, byte[] hash) {
+            this.algorithm = algorithm;
+            this.iterations = iterations;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        /**
+         * 解析 算法:迭代次数:盐:哈希 或 迭代次数:盐:哈希, 不是这两种格式时返回null
+         */
+        private static HashParts parse(String storedHash) {
+            String[] parts = storedHash.split(SEPARATOR);
+            if (parts.length != 3 && parts.length != 4) {
+                return null;
+            }
+            int start = parts.length - 3;
+            String algorithm = start == 0 ? LEGACY_ALGORITHM : parts[0];
+            if (!algorithm.startsWith(ALGORITHM_PREFIX)) {
+                return null;
+            }
+            int iterations;
+            try {
+                iterations = Integer.parseInt(parts[start]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            byte[] salt = fromHex(parts[start + 1]);
+            byte[] hash = fromHex(parts[start + 2]);
+            if (iterations <= 0 || salt == null || hash == null || hash.length == 0) {
+                return null;
+            }
+            return new HashParts(algorithm, iterations, salt, hash);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ *package-info : 密码哈希服务
+ *@since 2026-10-17 16:20
+ *@author StarZou
+ **/
+package com.eliteams.quick4j.core.feature.password;
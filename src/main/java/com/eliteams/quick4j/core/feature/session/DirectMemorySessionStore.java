@@ -0,0 +1,229 @@
+package com.eliteams.quick4j.core.feature.session;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * 堆外会话存储 : 会话数据保存在直接内存(DirectByteBuffer)中, 堆上只保留很小的索引项
+ * <p/>
+ * 更新会话时, 数据不超过原缓冲区容量则原地覆盖, 避免频繁分配直接内存;
+ * 后台清理线程按 sweepIntervalSeconds 定期删除过期的会话, 不需要反序列化
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:50
+ **/
+public class DirectMemorySessionStore implements SessionStore, InitializingBean, DisposableBean {
+
+    /**
+     * 默认清理间隔, 单位秒
+     */
+    public static final int DEFAULT_SWEEP_INTERVAL = 60;
+
+    /**
+     * 新分配缓冲区的最小容量, 单位字节
+     */
+    private static final int MIN_CAPACITY = 512;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * 已分配的直接内存, 单位字节
+     */
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    private int sweepIntervalSeconds = DEFAULT_SWEEP_INTERVAL;
+
+    private ScheduledExecutorService sweeper;
+
+    public void setSweepIntervalSeconds(int sweepIntervalSeconds) {
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (sweepIntervalSeconds <= 0) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "session-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        sweeper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                sweep();
+            }
+        }, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        entries.clear();
+        allocatedBytes.set(0);
+    }
+
+    @Override
+    public byte[] get(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (entry) {
+            if (entry.isExpired(System.currentTimeMillis())) {
+                return null;
+            }
+            byte[] data = new byte[entry.length];
+            ByteBuffer buffer = entry.buffer.duplicate();
+            buffer.clear();
+            buffer.get(data);
+            return data;
+        }
+    }
+
+    @Override
+    public void put(String id, byte[] data, long timeToLiveMillis) {
+        long deadline = timeToLiveMillis > 0 ? System.currentTimeMillis() + timeToLiveMillis : Long.MAX_VALUE;
+        while (true) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                Entry created = new Entry(allocate(data.length));
+                created.write(data, deadline);
+                if (entries.putIfAbsent(id, created) == null) {
+                    return;
+                }
+                allocatedBytes.addAndGet(-created.buffer.capacity());
+                continue;
+            }
+            synchronized (entry) {
+                if (entry.removed) {
+                    continue;
+                }
+                if (entry.buffer.capacity() < data.length) {
+                    ByteBuffer buffer = allocate(data.length);
+                    allocatedBytes.addAndGet(-entry.buffer.capacity());
+                    entry.buffer = buffer;
+                }
+                entry.write(data, deadline);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            release(entry);
+        }
+    }
+
+    @Override
+    public Collection<String> ids() {
+        long now = System.currentTimeMillis();
+        List<String> ids = new ArrayList<String>(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (!entry.getValue().isExpired(now)) {
+                ids.add(entry.getKey());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 删除所有过期的会话
+     *
+     * @return 删除的会话数
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Entry> entry = it.next();
+            Entry value = entry.getValue();
+            if (!value.isExpired(now)) {
+                continue;
+            }
+            // 加锁后再次检查, 避免删除刚被顺延的会话
+            synchronized (value) {
+                if (value.isExpired(now) && entries.remove(entry.getKey(), value)) {
+                    release(value);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 会话数, 包括尚未清理的过期会话
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 已分配的直接内存, 单位字节
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    private ByteBuffer allocate(int length) {
+        // 预留1/4空间, 会话属性小幅增长时仍可原地覆盖
+        int capacity = Math.max(MIN_CAPACITY, length + (length >> 2));
+        allocatedBytes.addAndGet(capacity);
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    private void release(Entry entry) {
+        synchronized (entry) {
+            entry.removed = true;
+            allocatedBytes.addAndGet(-entry.buffer.capacity());
+        }
+    }
+
+    /**
+     * 索引项 : 直接内存缓冲区, 数据长度, 过期时间
+     */
+    private static final class Entry {
+        private ByteBuffer buffer;
+        private int length;
+        private volatile long deadline;
+        private boolean removed;
+
+        private Entry(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void write(byte[] data, long deadline) {
+            buffer.clear();
+            buffer.put(data);
+            this.length = data.length;
+            this.deadline = deadline;
+        }
+
+        private boolean isExpired(long now) {
+            return deadline < now;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.eliteams.quick4j.core.feature.session;
+
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCache;
+
+/**
+ * Redis 会话存储 : 会话数据通过 {@link RedisCache} 保存, 由 Redis 的过期时间清理, 多个节点可共享会话且重启不丢失
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:55
+ **/
+public class RedisSessionStore implements SessionStore {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 默认key前缀
+     */
+    public static final String DEFAULT_KEY_PREFIX = "shiro:session:";
+
+    private RedisCache redisCache;
+
+    private String keyPrefix = DEFAULT_KEY_PREFIX;
+
+    public void setRedisCache(RedisCache redisCache) {
+        this.redisCache = redisCache;
+    }
+
+    public void setKeyPrefix(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public byte[] get(String id) {
+        return redisCache.getBytes(key(id));
+    }
+
+    @Override
+    public void put(String id, byte[] data, long timeToLiveMillis) {
+        // 向上取整到秒, 不足1秒的存活时间也至少保留1秒
+        int seconds = timeToLiveMillis > 0 ? (int) Math.min(Integer.MAX_VALUE, (timeToLiveMillis + 999) / 1000) : 0;
+        redisCache.cache(key(id), data, seconds);
+    }
+
+    @Override
+    public void remove(String id) {
+        redisCache.delete(key(id));
+    }
+
+    /**
+     * 会话由 Redis 过期清理, 不枚举
+     */
+    @Override
+    public Collection<String> ids() {
+        return Collections.emptyList();
+    }
+
+    private byte[] key(String id) {
+        return (keyPrefix + id).getBytes(UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package com.eliteams.quick4j.core.feature.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.shiro.session.mgt.SimpleSession;
+
+/**
+ * 会话的紧凑二进制编码
+ * <p/>
+ * 按固定顺序写入 SimpleSession 的字段, 常见类型的属性值(String, Boolean, Integer, Long, Date)直接写入,
+ * 其他属性值(如 PrincipalCollection)使用 Java 序列化, 避免整个会话携带类描述信息
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:45
+ **/
+public class SessionCodec {
+
+    /**
+     * 编码版本, 字段变化时递增
+     */
+    private static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int BOOLEAN = 2;
+    private static final int INTEGER = 3;
+    private static final int LONG = 4;
+    private static final int DATE = 5;
+    private static final int SERIALIZABLE = 9;
+
+    /**
+     * 编码会话
+     *
+     * @param session 会话
+     * @return 编码后的数据
+     */
+    public byte[] encode(SimpleSession session) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(VERSION);
+            writeValue(out, session.getId());
+            writeTime(out, session.getStartTimestamp());
+            writeTime(out, session.getStopTimestamp());
+            writeTime(out, session.getLastAccessTime());
+            out.writeLong(session.getTimeout());
+            out.writeBoolean(session.isExpired());
+            writeValue(out, session.getHost());
+            Map<Object, Object> attributes = session.getAttributes();
+            if (attributes == null) {
+                out.writeInt(0);
+            } else {
+                out.writeInt(attributes.size());
+                for (Map.Entry<Object, Object> entry : attributes.entrySet()) {
+                    writeValue(out, entry.getKey());
+                    writeValue(out, entry.getValue());
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("encode session failed : " + session.getId(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 解码会话
+     *
+     * @param data 编码后的数据
+     * @return 会话
+     */
+    public SimpleSession decode(byte[] data) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unsupported session version : " + version);
+            }
+            SimpleSession session = new SimpleSession();
+            session.setId((Serializable) readValue(in));
+            session.setStartTimestamp(readTime(in));
+            session.setStopTimestamp(readTime(in));
+            session.setLastAccessTime(readTime(in));
+            session.setTimeout(in.readLong());
+            session.setExpired(in.readBoolean());
+            session.setHost((String) readValue(in));
+            int size = in.readInt();
+            if (size > 0) {
+                Map<Object, Object> attributes = new LinkedHashMap<Object, Object>(size * 4 / 3 + 1);
+                for (int i = 0; i < size; i++) {
+                    attributes.put(readValue(in), readValue(in));
+                }
+                session.setAttributes(attributes);
+            }
+            return session;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("decode session failed", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("decode session failed", e);
+        }
+    }
+
+    private void writeTime(DataOutputStream out, Date time) throws IOException {
+        out.writeLong(time == null ? Long.MIN_VALUE : time.getTime());
+    }
+
+    private Date readTime(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        return time == Long.MIN_VALUE ? null : new Date(time);
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream objects = new ObjectOutputStream(bytes);
+            objects.writeObject(value);
+            objects.close();
+            out.writeByte(SERIALIZABLE);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new IllegalArgumentException("session attribute is not serializable : " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+        int type = in.readUnsignedByte();
+        switch (type) {
+        case NULL:
+            return null;
+        case STRING:
+            return in.readUTF();
+        case BOOLEAN:
+            return in.readBoolean();
+        case INTEGER:
+            return in.readInt();
+        case LONG:
+            return in.readLong();
+        case DATE:
+            return new Date(in.readLong());
+        case SERIALIZABLE:
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            try {
+                return objects.readObject();
+            } finally {
+                objects.close();
+            }
+        default:
+            throw new IllegalArgumentException("unknown value type : " + type);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.eliteams.quick4j.core.feature.session;
+
+import java.util.Collection;
+
+/**
+ * 会话存储, 保存序列化后的会话, 由 {@link StoreSessionDAO} 使用
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:42
+ **/
+public interface SessionStore {
+
+    /**
+     * 取得会话数据
+     *
+     * @param id 会话id
+     * @return 序列化后的会话, 不存在或已过期返回null
+     */
+    byte[] get(String id);
+
+    /**
+     * 保存会话数据, 覆盖已有的数据
+     *
+     * @param id               会话id
+     * @param data             序列化后的会话
+     * @param timeToLiveMillis 存活时间, 单位毫秒, <=0 表示不过期
+     */
+    void put(String id, byte[] data, long timeToLiveMillis);
+
+    /**
+     * 删除会话数据
+     *
+     * @param id 会话id
+     */
+    void remove(String id);
+
+    /**
+     * 所有未过期的会话id, 不支持枚举的存储(如依赖 Redis 过期的存储)返回空集合
+     */
+    Collection<String> ids();
+
+}
@@ -0,0 +1,85 @@
+package com.eliteams.quick4j.core.feature.session;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.apache.shiro.session.Session;
+import org.apache.shiro.session.UnknownSessionException;
+import org.apache.shiro.session.mgt.SimpleSession;
+import org.apache.shiro.session.mgt.eis.AbstractSessionDAO;
+
+/**
+ * 基于 {@link SessionStore} 的 SessionDAO, 会话以 {@link SessionCodec} 编码后保存, 堆上不缓存会话对象
+ * <p/>
+ * 存活时间取会话的 timeout, 每次更新(包括 touch)都会顺延
+ *
+ * @author StarZou
+ * @since 2026-10-17 16:00
+ **/
+public class StoreSessionDAO extends AbstractSessionDAO {
+
+    private SessionStore sessionStore;
+
+    private SessionCodec sessionCodec = new SessionCodec();
+
+    public void setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    public void setSessionCodec(SessionCodec sessionCodec) {
+        this.sessionCodec = sessionCodec;
+    }
+
+    @Override
+    protected Serializable doCreate(Session session) {
+        Serializable sessionId = generateSessionId(session);
+        assignSessionId(session, sessionId);
+        store(session);
+        return sessionId;
+    }
+
+    @Override
+    protected Session doReadSession(Serializable sessionId) {
+        byte[] data = sessionStore.get(sessionId.toString());
+        return data == null ? null : sessionCodec.decode(data);
+    }
+
+    @Override
+    public void update(Session session) throws UnknownSessionException {
+        store(session);
+    }
+
+    @Override
+    public void delete(Session session) {
+        if (session == null || session.getId() == null) {
+            throw new IllegalArgumentException("session or session id is null");
+        }
+        sessionStore.remove(session.getId().toString());
+    }
+
+    @Override
+    public Collection<Session> getActiveSessions() {
+        List<Session> sessions = new ArrayList<Session>();
+        for (String id : sessionStore.ids()) {
+            byte[] data = sessionStore.get(id);
+            if (data != null) {
+                sessions.add(sessionCodec.decode(data));
+            }
+        }
+        return sessions;
+    }
+
+    private void store(Session session) {
+        if (!(session instanceof SimpleSession)) {
+            throw new IllegalArgumentException("unsupported session type : " + session.getClass().getName());
+        }
+        if (session.getId() == null) {
+            throw new IllegalArgumentException("session id is null");
+        }
+        SimpleSession simpleSession = (SimpleSession) session;
+        // 已停止或过期的会话只保留到 Shiro 删除它为止
+        long timeToLive = simpleSession.isValid() ? simpleSession.getTimeout() : 1000L;
+        sessionStore.put(session.getId().toString(), sessionCodec.encode(simpleSession), timeToLive);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ *package-info : 会话存储, 序列化后的 Shiro 会话保存在堆外内存或 Redis 中
+ *@since 2026-10-17 15:40
+ *@author StarZou
+ **/
+package com.eliteams.quick4j.core.feature.session;
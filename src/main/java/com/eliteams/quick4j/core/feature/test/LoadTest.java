@@ -0,0 +1,194 @@
+package com.eliteams.quick4j.core.feature.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import com.eliteams.quick4j.core.feature.metrics.LatencyHistogram;
+
+/**
+ * LoadTest : 微型压测, 先预热再计时运行, 统计吞吐量及每次调用的耗时分布.
+ * <p/>
+ * 迭代次数平均分给各线程, 所有线程同时开始; 每次调用用 System.nanoTime 单独计时, 记录到 {@link LatencyHistogram}
+ *
+ * <pre>
+ * LoadTestResult result = new LoadTest("selectById").warmUp(1000).iterations(10000).threads(4).run(new LoadTest.Task() {
+ *     public void run(int iteration) {
+ *         userMapper.selectByPrimaryKey(1L);
+ *     }
+ * });
+ * </pre>
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:50
+ */
+public class LoadTest {
+
+    /**
+     * 被测代码
+     */
+    public interface Task {
+
+        /**
+         * @param iteration 迭代序号, 预热与计时分别从0开始, 可用于构造不同的参数
+         */
+        void run(int iteration) throws Exception;
+    }
+
+    private final String name;
+
+    private int warmUpIterations = 100;
+
+    private int iterations = 1000;
+
+    private int threads = 1;
+
+    public LoadTest(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 预热次数, 不计入统计, 默认100
+     */
+    public LoadTest warmUp(int warmUpIterations) {
+        this.warmUpIterations = warmUpIterations;
+        return this;
+    }
+
+    /**
+     * 计时运行次数, 默认1000
+     */
+    public LoadTest iterations(int iterations) {
+        this.iterations = iterations;
+        return this;
+    }
+
+    /**
+     * 并发线程数, 默认1, 即在当前线程运行
+     */
+    public LoadTest threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * 预热后计时运行
+     *
+     * @param task 被测代码
+     * @return 运行结果, 被测代码抛出的异常计入错误数, 不中断运行
+     */
+    public LoadTestResult run(final Task task) throws InterruptedException {
+        if (iterations <= 0 || threads <= 0 || warmUpIterations < 0) {
+            throw new IllegalArgumentException("iterations, threads 必须大于0, warmUp 不能小于0");
+        }
+        ExecutorService executor = threads == 1 ? null : Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger sequence = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "load-test-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            execute(executor, task, warmUpIterations, null, new AtomicLong(), new AtomicReference<Throwable>());
+
+            LatencyHistogram histogram = new LatencyHistogram();
+            AtomicLong errors = new AtomicLong();
+            AtomicReference<Throwable> firstError = new AtomicReference<Throwable>();
+            long elapsed = execute(executor, task, iterations, histogram, errors, firstError);
+            return new LoadTestResult(name, threads, warmUpIterations, iterations, elapsed, histogram, errors.get(), firstError.get());
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * 运行一轮, 返回从全部线程开始到全部线程结束的纳秒数
+     */
+    private long execute(ExecutorService executor, Task task, int total, LatencyHistogram histogram, AtomicLong errors, AtomicReference<Throwable> firstError)
+            throws InterruptedException {
+        if (total == 0) {
+            return 0;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        if (executor == null) {
+            long start = System.nanoTime();
+            new Worker(task, total, sequence, histogram, errors, firstError, null).call();
+            return System.nanoTime() - start;
+        }
+
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<Future<Void>>(threads);
+        for (int i = 0; i < threads; i++) {
+            int share = total / threads + (i < total % threads ? 1 : 0);
+            futures.add(executor.submit(new Worker(task, share, sequence, histogram, errors, firstError, ready)));
+        }
+        long start = System.nanoTime();
+        ready.countDown();
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 单个线程的运行单元
+     */
+    private static final class Worker implements Callable<Void> {
+        private final Task task;
+        private final int count;
+        private final AtomicInteger sequence;
+        private final LatencyHistogram histogram;
+        private final AtomicLong errors;
+        private final AtomicReference<Throwable> firstError;
+        private final CountDownLatch ready;
+
+        private Worker(Task task, int count, AtomicInteger sequence, LatencyHistogram histogram, AtomicLong errors, AtomicReference<Throwable> firstError,
+                CountDownLatch ready) {
+            this.task = task;
+            this.count = count;
+            this.sequence = sequence;
+            this.histogram = histogram;
+            this.errors = errors;
+            this.firstError = firstError;
+            this.ready = ready;
+        }
+
+        @Override
+        public Void call() throws InterruptedException {
+            if (ready != null) {
+                ready.await();
+            }
+            for (int i = 0; i < count; i++) {
+                int iteration = sequence.getAndIncrement();
+                long start = System.nanoTime();
+                try {
+                    task.run(iteration);
+                } catch (Throwable e) {
+                    errors.incrementAndGet();
+                    firstError.compareAndSet(null, e);
+                }
+                if (histogram != null) {
+                    histogram.record(System.nanoTime() - start);
+                }
+            }
+            return null;
+        }
+    }
+}
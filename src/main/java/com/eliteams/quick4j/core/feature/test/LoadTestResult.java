@@ -0,0 +1,134 @@
+package com.eliteams.quick4j.core.feature.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import com.eliteams.quick4j.core.feature.metrics.LatencyHistogram;
+import com.eliteams.quick4j.core.util.JSONUtil;
+
+/**
+ * LoadTestResult : 压测结果, 吞吐量及耗时分布, 可输出为日志文本或JSON文件
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:55
+ */
+public class LoadTestResult {
+
+    private final String name;
+
+    private final int threads;
+
+    private final int warmUpIterations;
+
+    private final int iterations;
+
+    private final long elapsedNanos;
+
+    private final LatencyHistogram latency;
+
+    private final long errors;
+
+    private final Throwable firstError;
+
+    private final long timestamp = System.currentTimeMillis();
+
+    LoadTestResult(String name, int threads, int warmUpIterations, int iterations, long elapsedNanos, LatencyHistogram latency, long errors, Throwable firstError) {
+        this.name = name;
+        this.threads = threads;
+        this.warmUpIterations = warmUpIterations;
+        this.iterations = iterations;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+        this.errors = errors;
+        this.firstError = firstError;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 每秒调用次数
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : iterations * 1e9D / elapsedNanos;
+    }
+
+    /**
+     * 每次调用的耗时分布, 单位纳秒
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * 第一个错误, 没有错误时为null
+     */
+    public Throwable getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * 汇总为有序Map, 耗时单位为微秒
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        map.put("name", name);
+        map.put("timestamp", timestamp);
+        map.put("threads", threads);
+        map.put("warmUpIterations", warmUpIterations);
+        map.put("iterations", iterations);
+        map.put("errors", errors);
+        map.put("elapsedMillis", Math.round(elapsedNanos / 1e3D) / 1e3D);
+        map.put("throughput", Math.round(getThroughput() * 10D) / 10D);
+        map.put("latencyMicros", latency.summary(TimeUnit.MICROSECONDS));
+        return map;
+    }
+
+    /**
+     * 以JSON写入文件, 目录不存在时创建
+     */
+    public void writeJson(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("无法创建目录 : " + directory);
+        }
+        OutputStream out = new FileOutputStream(file);
+        try {
+            JSONUtil.writeTo(out, toMap());
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        Map<String, Object> summary = latency.summary(TimeUnit.MICROSECONDS);
+        return new StringBuilder(256).append("\n压测 : ").append(name)
+                .append("\n线程数 : ").append(threads).append(", 预热 : ").append(warmUpIterations).append(", 迭代 : ").append(iterations).append(", 错误 : ").append(errors)
+                .append("\n执行时间(ms) : ").append(Math.round(elapsedNanos / 1e3D) / 1e3D)
+                .append("\n吞吐量(次/秒) : ").append(Math.round(getThroughput() * 10D) / 10D)
+                .append("\n耗时(us) : mean=").append(summary.get("mean")).append(", p50=").append(summary.get("p50")).append(", p90=").append(summary.get("p90"))
+                .append(", p99=").append(summary.get("p99")).append(", p999=").append(summary.get("p999")).append(", max=").append(summary.get("max")).toString();
+    }
+}
@@ -1,19 +1,41 @@
 package com.eliteams.quick4j.core.feature.test;
 
+import java.io.File;
+import java.io.IOException;
+import org.junit.Rule;
+import org.junit.rules.TestName;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.AbstractJUnit4SpringContextTests;
 
 /**
  * TestSupport : Spring测试支持,用于测试由Spring 管理的bean,编写测试类时,继承该类
+ * <p/>
+ * start()/end() 记录单次运行耗时; loadTest() 预热后多次(可并发)运行, 输出吞吐量及耗时分布,
+ * 结果同时写入 ${loadTest.dir}/类名.方法名.json, 默认目录为 target/load-test
  *
  * @author StarZou
  * @since 2014年5月18日 下午2:28:58
  */
 @ContextConfiguration(locations = {"classpath*:applicationContext.xml"})
 public class TestSupport extends AbstractJUnit4SpringContextTests {
+
+    /**
+     * 压测结果目录的系统属性
+     */
+    public static final String LOAD_TEST_DIR_PROPERTY = "loadTest.dir";
+
+    @Rule
+    public TestName testName = new TestName();
+
     protected long startTime;
     protected long endTime;
 
+    /**
+     * 开始时的 System.nanoTime, 用于计算耗时
+     */
+    protected long startNanos;
+    protected long elapsedNanos;
+
     /**
      * 记录 开始运行时间
      *
@@ -21,6 +43,7 @@ public class TestSupport extends AbstractJUnit4SpringContextTests {
      */
     protected long start() {
         this.startTime = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
         return startTime;
     }
 
@@ -30,6 +53,7 @@ public class TestSupport extends AbstractJUnit4SpringContextTests {
      * @return
      */
     protected long end() {
+        this.elapsedNanos = System.nanoTime() - startNanos;
         this.endTime = System.currentTimeMillis();
         this.log();
         return endTime;
@@ -39,7 +63,34 @@ public class TestSupport extends AbstractJUnit4SpringContextTests {
      * 输出记录
      */
     protected void log() {
-        String text = "\n开始时间 : " + this.startTime + "\n结束时间 : " + this.endTime + "\n执行时间 : " + (this.endTime - this.startTime);
+        String text = "\n开始时间 : " + this.startTime + "\n结束时间 : " + this.endTime + "\n执行时间(ms) : " + (Math.round(this.elapsedNanos / 1e3D) / 1e3D);
         logger.info(text);
     }
-}
\ No newline at end of file
+
+    /**
+     * 以当前测试方法命名压测, 如 loadTest().warmUp(1000).iterations(10000).threads(4).run(task)
+     */
+    protected LoadTest loadTest() {
+        return new LoadTest(getClass().getSimpleName() + "." + testName.getMethodName());
+    }
+
+    /**
+     * 按默认参数压测当前测试方法, 输出结果, 被测代码出错时测试失败
+     */
+    protected LoadTestResult loadTest(LoadTest.Task task) throws InterruptedException, IOException {
+        return report(loadTest().run(task));
+    }
+
+    /**
+     * 输出压测结果到日志及JSON文件, 有错误时抛出第一个错误使测试失败
+     */
+    protected LoadTestResult report(LoadTestResult result) throws IOException {
+        logger.info(result.toString());
+        File directory = new File(System.getProperty(LOAD_TEST_DIR_PROPERTY, "target/load-test"));
+        result.writeJson(new File(directory, result.getName() + ".json"));
+        if (result.getErrors() > 0) {
+            throw new AssertionError(result.getName() + " 运行出错 " + result.getErrors() + " 次", result.getFirstError());
+        }
+        return result;
+    }
+}
@@ -1,5 +1,8 @@
 package com.eliteams.quick4j.core.generic;
 
+import java.util.List;
+import org.apache.ibatis.session.ResultHandler;
+
 /**
  * 所有自定义Dao的顶级接口, 封装常用的增删查改操作,
  * 可以通过Mybatis Generator Maven 插件自动生成Dao,
@@ -34,6 +37,20 @@ public interface GenericDao<Model, PK> {
      */
     int deleteByPrimaryKey(PK id);
 
+    /**
+     * 多行插入对象 : insert into ... values (...),(...)
+     *
+     * @param models 对象集合
+     */
+    int insertBatch(List<Model> models);
+
+    /**
+     * 通过主键集合, 批量删除对象 : delete from ... where id in (...)
+     *
+     * @param ids 主键集合
+     */
+    int deleteByIds(List<PK> ids);
+
     /**
      * 通过主键, 查询对象
      *
@@ -42,4 +59,13 @@ public interface GenericDao<Model, PK> {
      */
     Model selectByPrimaryKey(PK id);
 
+    /**
+     * 流式条件查询, 每读取一行回调一次 handler, 不在内存中保存结果集.
+     * 使用只进结果集, MySQL 下 fetchSize 为 Integer.MIN_VALUE 逐行读取, 内存占用与数据量无关
+     *
+     * @param example 查询条件, 为null时查询全部
+     * @param handler 结果处理器, ResultContext.getResultObject() 为当前对象
+     */
+    void streamByExample(Object example, ResultHandler handler);
+
 }
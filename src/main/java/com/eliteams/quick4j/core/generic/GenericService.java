@@ -1,6 +1,8 @@
 package com.eliteams.quick4j.core.generic;
 
+import java.util.Collection;
 import java.util.List;
+import org.apache.ibatis.session.ResultHandler;
 
 /**
  * 所有自定义Service的顶级接口,封装常用的增删查改操作
@@ -34,11 +36,35 @@ public interface GenericService<Model, PK> {
      */
     int delete(PK id);
 
+    /**
+     * 批量插入对象, 数据库支持时使用多行插入
+     *
+     * @param models 对象集合
+     * @return 插入的行数
+     */
+    int insertBatch(List<Model> models);
+
+    /**
+     * 批量更新对象, 使用 BATCH 执行器
+     *
+     * @param models 对象集合
+     * @return 更新的行数
+     */
+    int updateBatch(List<Model> models);
+
+    /**
+     * 通过主键集合, 批量删除对象
+     *
+     * @param ids 主键集合
+     * @return 删除的行数
+     */
+    int deleteByIds(Collection<PK> ids);
+
     /**
      * 通过主键, 查询对象
      *
      * @param id 主键
-     * @return model 对象
+     * @return model 对象, 每次调用返回调用者私有的实例, 修改后需调用 update 才会生效
      */
     Model selectById(PK id);
 
@@ -58,4 +84,12 @@ public interface GenericService<Model, PK> {
      */
     List<Model> selectList();
 
+    /**
+     * 流式查询多个对象, 逐个回调 handler, 适用于导出等大数据量场景
+     *
+     * @param example 查询条件, 为null时查询全部
+     * @param handler 结果处理器
+     */
+    void stream(Object example, ResultHandler handler);
+
 }
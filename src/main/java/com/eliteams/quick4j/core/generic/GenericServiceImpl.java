@@ -1,11 +1,30 @@
 package com.eliteams.quick4j.core.generic;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.Resource;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import com.eliteams.quick4j.core.feature.cache.redis.SerializableRedisCodec;
+import com.eliteams.quick4j.core.feature.orm.mybatis.BatchTemplate;
 
 /**
  * GenericService的实现类, 其他的自定义 ServiceImpl, 继承自它,可以获得常用的增删查改操作,
  * 未实现的方法有 子类各自实现
  * <p/>
+ * selectById 会读取名为 {@link #getCacheName()} 的实体缓存, 缓存不存在时直接查询数据库;
+ * 通过本类更新, 删除对象时, 会清除对应主键的缓存, 事务中的写操作在事务结束后再清除一次;
+ * 查询数据库期间主键被清除过时不放入缓存, 避免把读到的旧值放回缓存;
+ * 缓存中保存的是副本, selectById 每次返回调用者私有的对象, 修改它不会影响缓存及其他调用者, 见 {@link #copy(Object)}
+ * <p/>
  * Model : 代表数据库中的表 映射的Java对象类型
  * PK :代表对象的主键类型
  *
@@ -14,6 +33,11 @@ import java.util.List;
  */
 public abstract class GenericServiceImpl<Model, PK> implements GenericService<Model, PK> {
 
+    /**
+     * 清除版本的分段数, 2的幂
+     */
+    private static final int EVICT_VERSION_STRIPES = 64;
+
     /**
      * 定义成抽象方法,由子类实现,完成dao的注入
      *
@@ -21,13 +45,52 @@ public abstract class GenericServiceImpl<Model, PK> implements GenericService<Mo
      */
     public abstract GenericDao<Model, PK> getDao();
 
+    /**
+     * 批量操作模板
+     */
+    @Resource
+    private BatchTemplate batchTemplate;
+
+    /**
+     * Dao接口的类型, 即Mapper的namespace
+     */
+    private volatile Class<?> daoType;
+
+    /**
+     * 缓存管理器
+     */
+    private CacheManager cacheManager;
+
+    /**
+     * 实体缓存是否已解析
+     */
+    private volatile boolean entityCacheResolved;
+
+    /**
+     * 实体缓存, 未配置时为null
+     */
+    private volatile Cache entityCache;
+
+    /**
+     * 按主键分段的清除版本, 每次清除加一; 放入缓存前后比较版本, 查询期间被清除过则不缓存
+     */
+    private final AtomicLongArray evictVersions = new AtomicLongArray(EVICT_VERSION_STRIPES);
+
+    @Resource
+    public void setCacheManager(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        this.entityCacheResolved = false;
+    }
+
     /**
      * 插入对象
      *
      * @param model 对象
      */
     public int insert(Model model) {
-        return getDao().insertSelective(model);
+        int count = getDao().insertSelective(model);
+        afterWrite();
+        return count;
     }
 
     /**
@@ -36,7 +99,10 @@ public abstract class GenericServiceImpl<Model, PK> implements GenericService<Mo
      * @param model 对象
      */
     public int update(Model model) {
-        return getDao().updateByPrimaryKeySelective(model);
+        int count = getDao().updateByPrimaryKeySelective(model);
+        evict(getPrimaryKey(model));
+        afterWrite();
+        return count;
     }
 
     /**
@@ -45,17 +111,243 @@ public abstract class GenericServiceImpl<Model, PK> implements GenericService<Mo
      * @param id 主键
      */
     public int delete(PK id) {
-        return getDao().deleteByPrimaryKey(id);
+        int count = getDao().deleteByPrimaryKey(id);
+        evict(id);
+        afterWrite();
+        return count;
+    }
+
+    /**
+     * 批量插入对象, 数据库支持时使用多行插入, 否则使用 BATCH 执行器逐条插入
+     *
+     * @param models 对象集合
+     */
+    @Override
+    public int insertBatch(List<Model> models) {
+        if (models == null || models.isEmpty()) {
+            return 0;
+        }
+        int count;
+        if (batchTemplate.supportsMultiRowInsert()) {
+            count = batchTemplate.updateInChunks(getStatement("insertBatch"), models);
+        } else {
+            count = batchTemplate.update(getStatement("insertSelective"), models);
+        }
+        afterWrite();
+        return count;
+    }
+
+    /**
+     * 批量更新对象, 使用 BATCH 执行器
+     *
+     * @param models 对象集合
+     */
+    @Override
+    public int updateBatch(List<Model> models) {
+        if (models == null || models.isEmpty()) {
+            return 0;
+        }
+        int count = batchTemplate.update(getStatement("updateByPrimaryKeySelective"), models);
+        for (Model model : models) {
+            evict(getPrimaryKey(model));
+        }
+        afterWrite();
+        return count;
+    }
+
+    /**
+     * 通过主键集合, 批量删除对象
+     *
+     * @param ids 主键集合
+     */
+    @Override
+    public int deleteByIds(Collection<PK> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int count = batchTemplate.updateInChunks(getStatement("deleteByIds"), ids);
+        for (PK id : ids) {
+            evict(id);
+        }
+        afterWrite();
+        return count;
+    }
+
+    /**
+     * 通过本类插入, 更新, 删除对象之后调用, 默认什么也不做, 子类可覆盖以通知其他组件数据已变化
+     */
+    protected void afterWrite() {
+    }
+
+    /**
+     * 取得Dao中语句的完整id : Mapper接口名.方法名
+     *
+     * @param method 方法名
+     */
+    protected String getStatement(String method) {
+        if (daoType == null) {
+            for (Class<?> type : getDao().getClass().getInterfaces()) {
+                if (GenericDao.class.isAssignableFrom(type)) {
+                    daoType = type;
+                    break;
+                }
+            }
+            if (daoType == null) {
+                throw new IllegalStateException("无法确定 Dao 接口 : " + getDao().getClass().getName());
+            }
+        }
+        return daoType.getName() + "." + method;
     }
 
     /**
-     * 通过主键, 查询对象
+     * 通过主键, 查询对象, 优先读取实体缓存
      *
      * @param id 主键
-     * @return
+     * @return 调用者私有的对象, 修改后不影响缓存
      */
+    @SuppressWarnings("unchecked")
     public Model selectById(PK id) {
-        return getDao().selectByPrimaryKey(id);
+        Cache cache = getEntityCache();
+        if (cache == null || id == null) {
+            return getDao().selectByPrimaryKey(id);
+        }
+        Cache.ValueWrapper value = cache.get(id);
+        if (value != null) {
+            return copy((Model) value.get());
+        }
+        int stripe = evictStripe(id);
+        long version = evictVersions.get(stripe);
+        Model model = getDao().selectByPrimaryKey(id);
+        if (model != null) {
+            putIfNotEvicted(cache, id, copy(model), stripe, version);
+        }
+        return model;
+    }
+
+    /**
+     * 复制实体缓存中的对象, 默认使用 Java 序列化, 实体需要实现 Serializable; 子类可以改为更快的复制方式
+     *
+     * @param model 缓存中的对象或要放入缓存的对象
+     * @return 与 model 不共享可变状态的副本
+     */
+    @SuppressWarnings("unchecked")
+    protected Model copy(Model model) {
+        if (model == null) {
+            return null;
+        }
+        return (Model) SerializableRedisCodec.INSTANCE.decode(SerializableRedisCodec.INSTANCE.encode(model));
+    }
+
+    /**
+     * 读取数据库之后放入缓存: 读取期间被清除过(版本已变)时不放入; 放入后再比较一次, 期间被清除则撤销
+     *
+     * @param version 读取数据库之前的清除版本
+     */
+    private void putIfNotEvicted(Cache cache, Object id, Model model, int stripe, long version) {
+        if (evictVersions.get(stripe) != version) {
+            return;
+        }
+        cache.put(id, model);
+        if (evictVersions.get(stripe) != version) {
+            cache.evict(id);
+        }
+    }
+
+    private static int evictStripe(Object id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (EVICT_VERSION_STRIPES - 1);
+    }
+
+    /**
+     * 实体缓存名, 默认为 Model 类名首字母小写加 s, 如 User 对应 users;
+     * 返回null 则不使用缓存
+     */
+    protected String getCacheName() {
+        Class<?>[] types = GenericTypeResolver.resolveTypeArguments(getClass(), GenericServiceImpl.class);
+        if (types == null || types[0] == null) {
+            return null;
+        }
+        return StringUtils.uncapitalize(types[0].getSimpleName()) + "s";
+    }
+
+    /**
+     * 取得实体缓存, 没有缓存管理器或缓存未配置时返回null
+     */
+    protected Cache getEntityCache() {
+        if (!entityCacheResolved) {
+            String name = getCacheName();
+            if (cacheManager != null && name != null) {
+                entityCache = cacheManager.getCache(name);
+            }
+            entityCacheResolved = true;
+        }
+        return entityCache;
+    }
+
+    /**
+     * 流式读取表中的对象放入实体缓存, 用于启动时预热; 没有实体缓存时什么也不做
+     *
+     * @param limit 最多放入的条数
+     * @return 放入的条数
+     */
+    protected int loadEntityCache(final int limit) {
+        final Cache cache = getEntityCache();
+        if (cache == null || limit <= 0) {
+            return 0;
+        }
+        final int[] count = new int[1];
+        final long[] versions = new long[EVICT_VERSION_STRIPES];
+        for (int i = 0; i < versions.length; i++) {
+            versions[i] = evictVersions.get(i);
+        }
+        stream(null, new ResultHandler() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public void handleResult(ResultContext context) {
+                Model model = (Model) context.getResultObject();
+                PK id = getPrimaryKey(model);
+                int stripe = evictStripe(id);
+                putIfNotEvicted(cache, id, model, stripe, versions[stripe]);
+                if (++count[0] >= limit) {
+                    context.stop();
+                }
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * 取得对象的主键, 默认读取 id 属性
+     *
+     * @param model 对象
+     */
+    @SuppressWarnings("unchecked")
+    protected PK getPrimaryKey(Model model) {
+        return model == null ? null : (PK) SystemMetaObject.forObject(model).getValue("id");
+    }
+
+    /**
+     * 清除主键对应的缓存, 处于事务中时, 事务结束后再清除一次, 避免其他线程在提交前读入旧值
+     *
+     * @param id 主键
+     */
+    protected void evict(final PK id) {
+        final Cache cache = getEntityCache();
+        if (cache == null || id == null) {
+            return;
+        }
+        final int stripe = evictStripe(id);
+        evictVersions.incrementAndGet(stripe);
+        cache.evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictVersions.incrementAndGet(stripe);
+                    cache.evict(id);
+                }
+            });
+        }
     }
 
 
@@ -68,4 +360,15 @@ public abstract class GenericServiceImpl<Model, PK> implements GenericService<Mo
     public List<Model> selectList() {
         return null;
     }
+
+    /**
+     * 流式查询多个对象
+     *
+     * @param example 查询条件, 为null时查询全部
+     * @param handler 结果处理器
+     */
+    @Override
+    public void stream(Object example, ResultHandler handler) {
+        getDao().streamByExample(example, handler);
+    }
 }
@@ -8,11 +8,23 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Created by zya on 16/10/25.
  */
 public class ArrayUtil {
+    /**
+     * 并行匹配的最小元素数, 元素较少时线程调度的开销大于收益
+     */
+    public static final int PARALLEL_THRESHOLD = 8192;
+
+    /**
+     * 并行匹配时每个任务处理的元素数, 为 64 的倍数, 使每个任务只写自己的标记字
+     */
+    private static final int PARALLEL_CHUNK = 2048;
+
     /**
      * 获得数组对象包含的元素数量
      *
@@ -492,19 +504,311 @@ public class ArrayUtil {
      */
     private static <T> T[] match(T[] array, Matcher<T>[] matchers, boolean isMatchAll) {
 
+        return match(array, matchers, isMatchAll, false);
+    }
+
+    /**
+     * 并行提取数组中符合匹配条件的元素, 元素数不少于 {@link #PARALLEL_THRESHOLD} 时使用 fork/join 并行匹配,
+     * 匹配器需要是线程安全的. 结果保持原顺序
+     *
+     * @param array
+     *            原数组
+     * @param matcher
+     *            匹配器
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者matcher为null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] parallelMatch(T[] array, Matcher<T> matcher) {
+
+        if (matcher == null) {
+            return null;
+        }
+
+        return parallelMatchAll(array, matcher);
+    }
+
+    /**
+     * 并行提取数组中符合任何一个匹配条件的元素, 见 {@link #parallelMatch(Object[], Matcher)}
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> T[] parallelMatchAny(T[] array, Matcher<T>... matchers) {
+
+        return match(array, matchers, false, true);
+    }
+
+    /**
+     * 并行提取数组中符合全部匹配条件的元素, 见 {@link #parallelMatch(Object[], Matcher)}
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T> T[] parallelMatchAll(T[] array, Matcher<T>... matchers) {
+
+        return match(array, matchers, true, true);
+    }
+
+    private static <T> T[] match(final T[] array, Matcher<T>[] matchers, boolean isMatchAll, boolean parallel) {
+
         if (isEmpty(array) || isEmpty(matchers)) {
             return null;
         }
 
-        List<T> matched = new ArrayList<T>();
-        for (T obj : array) {
-            if (MatchHelper.match(obj, matchers, isMatchAll)) {
-                matched.add(obj);
+        // 匹配器编译为一个短路求值的匹配器, 先标记符合条件的下标, 再按数量创建结果数组
+        final Matcher<T> matcher = MatchHelper.compile(matchers, isMatchAll);
+        long[] marks = new long[words(array.length)];
+        int count = mark(new IndexFilter() {
+            @Override
+            boolean accept(int index) {
+                return matcher.matches(array[index]);
             }
+        }, array.length, marks, parallel);
+
+        T[] result = newArray(array, count);
+        int i = 0;
+        for (int index = nextMark(marks, 0); index >= 0; index = nextMark(marks, index + 1)) {
+            result[i++] = array[index];
         }
+        return result;
+    }
 
-        T[] result = newArray(array, new int[] { matched.size() });
-        return matched.toArray(result);
+    /**
+     * 提取 int 数组中符合匹配条件的元素, 不装箱
+     *
+     * @param array
+     *            原数组
+     * @param matcher
+     *            匹配器
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者matcher为null
+     */
+    public static int[] match(int[] array, IntMatcher matcher) {
+
+        if (matcher == null) {
+            return null;
+        }
+
+        return match(array, new IntMatcher[] { matcher }, true, false);
+    }
+
+    /**
+     * 提取 int 数组中符合任何一个匹配条件的元素
+     *
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者无匹配器
+     */
+    public static int[] matchAny(int[] array, IntMatcher... matchers) {
+
+        return match(array, matchers, false, false);
+    }
+
+    /**
+     * 提取 int 数组中符合全部匹配条件的元素
+     *
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者无匹配器
+     */
+    public static int[] matchAll(int[] array, IntMatcher... matchers) {
+
+        return match(array, matchers, true, false);
+    }
+
+    /**
+     * 并行提取 int 数组中符合匹配条件的元素, 见 {@link #parallelMatch(Object[], Matcher)}
+     */
+    public static int[] parallelMatch(int[] array, IntMatcher matcher) {
+
+        if (matcher == null) {
+            return null;
+        }
+
+        return match(array, new IntMatcher[] { matcher }, true, true);
+    }
+
+    private static int[] match(final int[] array, IntMatcher[] matchers, boolean isMatchAll, boolean parallel) {
+
+        if (array == null || array.length == 0 || matchers == null || matchers.length == 0) {
+            return null;
+        }
+
+        final IntMatcher matcher = MatchHelper.compile(matchers, isMatchAll);
+        long[] marks = new long[words(array.length)];
+        int count = mark(new IndexFilter() {
+            @Override
+            boolean accept(int index) {
+                return matcher.matches(array[index]);
+            }
+        }, array.length, marks, parallel);
+
+        int[] result = new int[count];
+        int i = 0;
+        for (int index = nextMark(marks, 0); index >= 0; index = nextMark(marks, index + 1)) {
+            result[i++] = array[index];
+        }
+        return result;
+    }
+
+    /**
+     * 提取 long 数组中符合匹配条件的元素, 不装箱
+     *
+     * @param array
+     *            原数组
+     * @param matcher
+     *            匹配器
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者matcher为null
+     */
+    public static long[] match(long[] array, LongMatcher matcher) {
+
+        if (matcher == null) {
+            return null;
+        }
+
+        return match(array, new LongMatcher[] { matcher }, true, false);
+    }
+
+    /**
+     * 提取 long 数组中符合任何一个匹配条件的元素
+     *
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者无匹配器
+     */
+    public static long[] matchAny(long[] array, LongMatcher... matchers) {
+
+        return match(array, matchers, false, false);
+    }
+
+    /**
+     * 提取 long 数组中符合全部匹配条件的元素
+     *
+     * @return 包含符合条件的元素数组. 返回null, 如果array为null或无元素或者无匹配器
+     */
+    public static long[] matchAll(long[] array, LongMatcher... matchers) {
+
+        return match(array, matchers, true, false);
+    }
+
+    /**
+     * 并行提取 long 数组中符合匹配条件的元素, 见 {@link #parallelMatch(Object[], Matcher)}
+     */
+    public static long[] parallelMatch(long[] array, LongMatcher matcher) {
+
+        if (matcher == null) {
+            return null;
+        }
+
+        return match(array, new LongMatcher[] { matcher }, true, true);
+    }
+
+    private static long[] match(final long[] array, LongMatcher[] matchers, boolean isMatchAll, boolean parallel) {
+
+        if (array == null || array.length == 0 || matchers == null || matchers.length == 0) {
+            return null;
+        }
+
+        final LongMatcher matcher = MatchHelper.compile(matchers, isMatchAll);
+        long[] marks = new long[words(array.length)];
+        int count = mark(new IndexFilter() {
+            @Override
+            boolean accept(int index) {
+                return matcher.matches(array[index]);
+            }
+        }, array.length, marks, parallel);
+
+        long[] result = new long[count];
+        int i = 0;
+        for (int index = nextMark(marks, 0); index >= 0; index = nextMark(marks, index + 1)) {
+            result[i++] = array[index];
+        }
+        return result;
+    }
+
+    /**
+     * 按下标判断是否符合条件
+     */
+    private abstract static class IndexFilter {
+        abstract boolean accept(int index);
+    }
+
+    /**
+     * 在 marks 中标记符合条件的下标
+     *
+     * @return 符合条件的数量
+     */
+    private static int mark(IndexFilter filter, int length, long[] marks, boolean parallel) {
+        if (parallel && length >= PARALLEL_THRESHOLD) {
+            return ForkJoinHolder.POOL.invoke(new MarkTask(filter, marks, 0, length));
+        }
+        return mark(filter, marks, 0, length);
+    }
+
+    private static int mark(IndexFilter filter, long[] marks, int from, int to) {
+        int count = 0;
+        for (int index = from; index < to; index++) {
+            if (filter.accept(index)) {
+                marks[index >>> 6] |= 1L << index;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int words(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    /**
+     * 从 from 开始的下一个已标记的下标, 没有时返回 -1
+     */
+    private static int nextMark(long[] marks, int from) {
+        int word = from >>> 6;
+        if (word >= marks.length) {
+            return -1;
+        }
+        long bits = marks[word] & (-1L << from);
+        while (bits == 0) {
+            if (++word == marks.length) {
+                return -1;
+            }
+            bits = marks[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * 并行标记, 按 64 对齐二分, 子任务之间不共享标记字
+     */
+    private static final class MarkTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexFilter filter;
+
+        private final long[] marks;
+
+        private final int from;
+
+        private final int to;
+
+        private MarkTask(IndexFilter filter, long[] marks, int from, int to) {
+            this.filter = filter;
+            this.marks = marks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            int middle = ((from + to) >>> 1) & ~63;
+            if (to - from <= PARALLEL_CHUNK || middle <= from) {
+                return mark(filter, marks, from, to);
+            }
+            MarkTask left = new MarkTask(filter, marks, from, middle);
+            left.fork();
+            int right = new MarkTask(filter, marks, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+
+    /**
+     * 并行匹配使用的线程池, 第一次并行匹配时创建, 线程数为 CPU 核数, 工作线程为守护线程
+     */
+    private static final class ForkJoinHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool();
     }
 
     private ArrayUtil() {
@@ -0,0 +1,338 @@
+package com.eliteams.quick4j.core.util;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * BeanAccessor : 类的属性访问元数据, 每个类只解析一次, 之后通过 MethodHandle 读写属性
+ * <p/>
+ * 包含 :
+ * <ul>
+ * <li>JavaBean 属性(Introspector, 不含 class)及其 getter</li>
+ * <li>本类声明的字段, 及按 get + 首字母大写 查找的 getter</li>
+ * <li>按名字查找的字段(含父类), 用于直接读写字段</li>
+ * </ul>
+ * 通过 ClassValue 与类关联; 元数据中的 type, Field 和 MethodHandle 都强引用该类, 不能依赖它使类及其类加载器被卸载
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:55
+ */
+public final class BeanAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    /**
+     * 找不到时的占位, 避免重复查找
+     */
+    private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+    private static final ClassValue<BeanAccessor> ACCESSORS = new ClassValue<BeanAccessor>() {
+        @Override
+        protected BeanAccessor computeValue(Class<?> type) {
+            return new BeanAccessor(type);
+        }
+    };
+
+    private final Class<?> type;
+
+    /**
+     * JavaBean 属性名, 与 propertyGetters 一一对应
+     */
+    private final String[] propertyNames;
+
+    /**
+     * JavaBean 属性的 getter, 没有 getter 的属性为null
+     */
+    private final MethodHandle[] propertyGetters;
+
+    private final Map<String, Integer> propertyIndexes;
+
+    /**
+     * 本类声明的字段
+     */
+    private final Field[] declaredFields;
+
+    private final String[] declaredFieldNames;
+
+    /**
+     * getter名 -> getter, 找不到时为 {@link #MISSING}
+     */
+    private final ConcurrentMap<String, MethodHandle> namedGetters = new ConcurrentHashMap<String, MethodHandle>();
+
+    /**
+     * 字段名 -> 字段读写器(含父类字段), 找不到时为 {@link FieldHandle#MISSING}
+     */
+    private final ConcurrentMap<String, FieldHandle> fieldHandles = new ConcurrentHashMap<String, FieldHandle>();
+
+    private volatile MethodHandle constructor;
+
+    private BeanAccessor(Class<?> type) {
+        this.type = type;
+        PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(type).getPropertyDescriptors();
+        } catch (IntrospectionException e) {
+            throw new IllegalStateException("introspect " + type.getName() + " failed", e);
+        }
+        List<String> names = new ArrayList<String>(descriptors.length);
+        List<MethodHandle> getters = new ArrayList<MethodHandle>(descriptors.length);
+        for (PropertyDescriptor descriptor : descriptors) {
+            if ("class".equals(descriptor.getName())) {
+                continue;
+            }
+            names.add(descriptor.getName());
+            getters.add(descriptor.getReadMethod() == null ? null : unreflect(descriptor.getReadMethod()));
+        }
+        this.propertyNames = names.toArray(new String[names.size()]);
+        this.propertyGetters = getters.toArray(new MethodHandle[getters.size()]);
+        Map<String, Integer> indexes = new HashMap<String, Integer>(propertyNames.length * 2);
+        for (int i = 0; i < propertyNames.length; i++) {
+            indexes.put(propertyNames[i], i);
+        }
+        this.propertyIndexes = Collections.unmodifiableMap(indexes);
+
+        this.declaredFields = type.getDeclaredFields();
+        this.declaredFieldNames = new String[declaredFields.length];
+        for (int i = 0; i < declaredFields.length; i++) {
+            declaredFieldNames[i] = declaredFields[i].getName();
+        }
+    }
+
+    /**
+     * 取得类的属性访问元数据
+     */
+    public static BeanAccessor of(Class<?> type) {
+        return ACCESSORS.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * JavaBean 属性数, 不含 class
+     */
+    public int getPropertyCount() {
+        return propertyNames.length;
+    }
+
+    public String getPropertyName(int index) {
+        return propertyNames[index];
+    }
+
+    /**
+     * 属性的下标, 不存在时返回 -1
+     */
+    public int indexOf(String propertyName) {
+        Integer index = propertyIndexes.get(propertyName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 读取下标处的 JavaBean 属性
+     *
+     * @throws IllegalStateException 属性没有 getter
+     */
+    public Object getProperty(Object bean, int index) {
+        MethodHandle getter = propertyGetters[index];
+        if (getter == null) {
+            throw new IllegalStateException(type.getName() + "." + propertyNames[index] + " has no getter");
+        }
+        return invokeGetter(getter, bean);
+    }
+
+    /**
+     * 本类声明的字段, 返回内部数组, 不要修改
+     */
+    Field[] getDeclaredFields() {
+        return declaredFields;
+    }
+
+    /**
+     * 本类声明的字段名, 返回内部数组, 不要修改
+     */
+    String[] getDeclaredFieldNames() {
+        return declaredFieldNames;
+    }
+
+    /**
+     * 通过 get + 首字母大写 的公共方法读取字段值
+     *
+     * @return 字段值, 没有该方法时返回null
+     */
+    public Object getByGetter(Object bean, String fieldName) {
+        MethodHandle getter = namedGetters.get(fieldName);
+        if (getter == null) {
+            getter = findGetter(fieldName);
+            namedGetters.putIfAbsent(fieldName, getter);
+        }
+        return getter == MISSING ? null : invokeGetter(getter, bean);
+    }
+
+    /**
+     * 取得字段读写器, 依次查找本类及父类声明的字段
+     *
+     * @return 读写器, 字段不存在时返回null
+     */
+    public FieldHandle getField(String fieldName) {
+        FieldHandle handle = fieldHandles.get(fieldName);
+        if (handle == null) {
+            handle = findField(fieldName);
+            fieldHandles.putIfAbsent(fieldName, handle);
+        }
+        return handle == FieldHandle.MISSING ? null : handle;
+    }
+
+    /**
+     * 用无参构造函数创建实例
+     */
+    public Object newInstance() {
+        MethodHandle handle = constructor;
+        if (handle == null) {
+            try {
+                Constructor<?> declared = type.getDeclaredConstructor();
+                declared.setAccessible(true);
+                handle = MethodHandles.lookup().unreflectConstructor(declared).asType(MethodType.methodType(Object.class));
+            } catch (Exception e) {
+                throw new IllegalStateException(type.getName() + " has no accessible default constructor", e);
+            }
+            constructor = handle;
+        }
+        try {
+            return (Object) handle.invokeExact();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("create " + type.getName() + " failed", e);
+        }
+    }
+
+    private MethodHandle findGetter(String fieldName) {
+        if (fieldName == null || fieldName.length() == 0) {
+            return MISSING;
+        }
+        String name = "get" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        try {
+            return unreflect(type.getMethod(name));
+        } catch (NoSuchMethodException e) {
+            return MISSING;
+        } catch (RuntimeException e) {
+            return MISSING;
+        }
+    }
+
+    private FieldHandle findField(String fieldName) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(fieldName);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    return FieldHandle.MISSING;
+                }
+                field.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                return new FieldHandle(field, lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                        Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field).asType(SETTER_TYPE));
+            } catch (NoSuchFieldException e) {
+                // 继续查找父类
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("access " + c.getName() + "." + fieldName + " failed", e);
+            }
+        }
+        return FieldHandle.MISSING;
+    }
+
+    /**
+     * 公共类的公共方法用 publicLookup, 其他情况先 setAccessible
+     */
+    private static MethodHandle unreflect(Method method) {
+        try {
+            if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                return LOOKUP.unreflect(method).asType(GETTER_TYPE);
+            }
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("access " + method + " failed", e);
+        }
+    }
+
+    private static Object invokeGetter(MethodHandle getter, Object bean) {
+        try {
+            return (Object) getter.invokeExact(bean);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 字段读写器
+     */
+    public static final class FieldHandle {
+
+        static final FieldHandle MISSING = new FieldHandle(null, null, null);
+
+        private final Field field;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private FieldHandle(Field field, MethodHandle getter, MethodHandle setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Object get(Object bean) {
+            return invokeGetter(getter, bean);
+        }
+
+        /**
+         * 写入字段, final 字段通过反射写入
+         */
+        public void set(Object bean, Object value) {
+            try {
+                if (setter == null) {
+                    field.set(bean, value);
+                } else {
+                    setter.invokeExact(bean, value);
+                }
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
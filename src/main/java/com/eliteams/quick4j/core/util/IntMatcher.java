@@ -0,0 +1,18 @@
+package com.eliteams.quick4j.core.util;
+
+/**
+ * IntMatcher : int 值的匹配器, 避免 {@link Matcher} 的装箱
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:15
+ */
+public interface IntMatcher {
+    /**
+     * 判断输入值是否匹配
+     *
+     * @param value
+     *            输入值
+     * @return 是否满足
+     */
+    public boolean matches(int value);
+}
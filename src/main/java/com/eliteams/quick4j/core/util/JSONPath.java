@@ -0,0 +1,118 @@
+package com.eliteams.quick4j.core.util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * JSONPath : 预先编译的 tagPath(如 data:users:name), 在 JsonParser 上流式匹配, 不构建整棵树
+ * <p/>
+ * 从根开始逐级按字段名查找, 遇到数组时对每个元素继续匹配; 不匹配的子树用 skipChildren 跳过,
+ * 内存占用只与匹配到的值有关. 编译后的对象不可变, 可以在多线程间共用
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:45
+ */
+public final class JSONPath {
+
+    /**
+     * 匹配到值时的回调
+     */
+    public interface Handler {
+
+        /**
+         * 处理匹配到的值
+         *
+         * @param parser 位于值的第一个 token, 可以读取整个值, 也可以不读, 返回后未读的部分会被跳过
+         */
+        void onMatch(JsonParser parser) throws IOException;
+    }
+
+    private final String[] segments;
+
+    private JSONPath(String[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * 编译 tagPath
+     *
+     * @param tagPath 用 : 分隔的字段名
+     */
+    public static JSONPath compile(String tagPath) {
+        if (tagPath == null || tagPath.length() == 0) {
+            throw new IllegalArgumentException("tagPath is empty");
+        }
+        return new JSONPath(tagPath.split(":"));
+    }
+
+    /**
+     * 从 parser 的下一个值开始匹配, 通常是整个文档
+     *
+     * @param parser  JsonParser
+     * @param handler 每匹配到一个值调用一次
+     */
+    public void extract(JsonParser parser, Handler handler) throws IOException {
+        if (parser.nextToken() != null) {
+            match(parser, 0, handler);
+        }
+    }
+
+    /**
+     * parser 位于某一级的值上, 在其中查找 segments[index]
+     */
+    private void match(JsonParser parser, int index, Handler handler) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token == JsonToken.START_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                match(parser, index, handler);
+            }
+        } else if (token == JsonToken.START_OBJECT) {
+            String segment = segments[index];
+            boolean last = index == segments.length - 1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                boolean matched = segment.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (!matched) {
+                    parser.skipChildren();
+                } else if (last) {
+                    handler.onMatch(parser);
+                    parser.skipChildren();
+                } else {
+                    match(parser, index + 1, handler);
+                }
+            }
+        }
+    }
+
+    /**
+     * 把 parser 当前的值转换为文本 : 标量取其文本(null 为 "null"), 对象和数组输出为紧凑的JSON
+     */
+    public static String getText(JsonParser parser) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+            return parser.getText();
+        }
+        StringWriter writer = new StringWriter();
+        JsonGenerator generator = parser.getCodec() == null ? JSONUtil.getMapper().getFactory().createGenerator(writer)
+                : parser.getCodec().getFactory().createGenerator(writer);
+        generator.copyCurrentStructure(parser);
+        generator.close();
+        return writer.toString();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder path = new StringBuilder();
+        for (String segment : segments) {
+            if (path.length() > 0) {
+                path.append(':');
+            }
+            path.append(segment);
+        }
+        return path.toString();
+    }
+}
@@ -4,67 +4,132 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * Created by zya on 16/10/25.
+ * <p/>
+ * 全局共用一个配置好的 ObjectMapper, Spring MVC 的 @ResponseBody 也使用它(见 spring-mvc.xml);
+ * 每个类型的 ObjectReader/ObjectWriter 在第一次使用时创建并缓存, 之后直接复用.
+ * 写入输出流时不会关闭输出流.
  */
 public class JSONUtil {
     private static Logger logger = LoggerFactory.getLogger(JSONUtil.class);
 
-    private static ObjectMapper objectMapper;
-
-    /**
-     * 懒惰单例模式得到ObjectMapper实例 此对象为Jackson的核心
-     */
-    private static ObjectMapper getMapper() {
-        if (objectMapper == null) {
-            synchronized (ObjectMapper.class) {
-                if (objectMapper == null) {
-                    objectMapper = new ObjectMapper();
-                    // to force escaping of non-ASCII characters:
-                    objectMapper.configure(JsonGenerator.Feature.ESCAPE_NON_ASCII, false);
-                    // to config null value not set to json string
-                    objectMapper.configure(SerializationFeature.WRITE_NULL_MAP_VALUES, false);
-                    // to config unknown propteries not set to json String
-                    objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                    // to write java.util.Date, Calendar as number (timestamp):
-                    objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-                    // to accept empty string as null object
-                    objectMapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
-                    // to accept single value as array
-                    // objectMapper.disable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
-                    objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
-
-                    objectMapper.setSerializationInclusion(Include.NON_NULL);
-                }
+    private static final ObjectMapper objectMapper = createMapper();
+
+    /**
+     * 类型 -> ObjectReader
+     */
+    private static final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<Type, ObjectReader>();
+
+    /**
+     * 类型 -> ObjectWriter
+     */
+    private static final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<Class<?>, ObjectWriter>();
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        // to force escaping of non-ASCII characters:
+        mapper.configure(JsonGenerator.Feature.ESCAPE_NON_ASCII, false);
+        // 读写流后不关闭流, 由调用者(或 servlet 容器)负责
+        mapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        mapper.getFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        // to config null value not set to json string
+        mapper.configure(SerializationFeature.WRITE_NULL_MAP_VALUES, false);
+        // to config unknown propteries not set to json String
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        // to write java.util.Date, Calendar as number (timestamp):
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // to accept empty string as null object
+        mapper.enable(DeserializationFeature.ACCEPT_EMPTY_STRING_AS_NULL_OBJECT);
+        // to accept single value as array
+        // mapper.disable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+
+        mapper.setSerializationInclusion(Include.NON_NULL);
+        return mapper;
+    }
+
+    /**
+     * 全局共用的 ObjectMapper, 不要修改其配置
+     */
+    public static ObjectMapper getMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * 取得类型的 ObjectWriter, 已缓存
+     */
+    public static ObjectWriter getWriter(Class<?> type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            writer = objectMapper.writerFor(type);
+            ObjectWriter existing = writers.putIfAbsent(type, writer);
+            if (existing != null) {
+                writer = existing;
             }
         }
-        return objectMapper;
+        return writer;
+    }
+
+    /**
+     * 取得类型的 ObjectReader, 已缓存
+     */
+    public static ObjectReader getReader(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            reader = objectMapper.reader(type);
+            ObjectReader existing = readers.putIfAbsent(type, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
+    /**
+     * 取得泛型类型的 ObjectReader, 已缓存
+     */
+    public static ObjectReader getReader(TypeReference<?> typeReference) {
+        ObjectReader reader = readers.get(typeReference.getType());
+        if (reader == null) {
+            reader = objectMapper.reader(typeReference);
+            ObjectReader existing = readers.putIfAbsent(typeReference.getType(), reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
     }
 
     /**
      * JSON对象序列化
      */
     public static String toJSON(Object obj) {
-        String json = null;
-        ObjectMapper mapper = getMapper();
-
         try {
-            json = mapper.writeValueAsString(obj);
-            return json;
+            return writerOf(obj).writeValueAsString(obj);
         } catch (JsonGenerationException jge) {
             logger.error("JSON error" + jge.getMessage());
         } catch (IOException ioe) {
@@ -73,14 +138,69 @@ public class JSONUtil {
         return null;
     }
 
+    /**
+     * JSON对象序列化为 UTF-8 字节, 不经过 String
+     */
+    public static byte[] toBytes(Object obj) {
+        try {
+            return writerOf(obj).writeValueAsBytes(obj);
+        } catch (IOException ioe) {
+            logger.error("JSON error" + ioe.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * JSON对象序列化, 以 UTF-8 直接写入输出流, 不关闭输出流
+     *
+     * @param out 输出流
+     * @param obj 对象
+     */
+    public static void writeTo(OutputStream out, Object obj) throws IOException {
+        writerOf(obj).writeValue(out, obj);
+    }
+
+    /**
+     * 创建写入输出流的 JsonGenerator, 可以逐个写入对象, 用于流式输出大数据量的JSON
+     *
+     * @param out 输出流, 关闭 JsonGenerator 时不会关闭输出流
+     */
+    public static JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    /**
+     * 使用缓存的 ObjectWriter 向 JsonGenerator 写入一个对象, 用于流式输出数组元素或字段值
+     *
+     * @param generator JsonGenerator
+     * @param obj       对象
+     */
+    public static void writeValue(JsonGenerator generator, Object obj) throws IOException {
+        if (obj == null) {
+            generator.writeNull();
+            return;
+        }
+        getWriter(obj.getClass()).writeValue(generator, obj);
+    }
+
+    /**
+     * 向 JsonGenerator 写入一个字段
+     *
+     * @param generator JsonGenerator, 当前位于对象内
+     * @param name      字段名
+     * @param obj       字段值
+     */
+    public static void writeField(JsonGenerator generator, String name, Object obj) throws IOException {
+        generator.writeFieldName(name);
+        writeValue(generator, obj);
+    }
+
     /**
      * JSON对象反序列化
      */
     public static <T> T fromJSON(String json, Class<T> clazz) {
         try {
-            ObjectMapper mapper = getMapper();
-            T value = mapper.readValue(json, clazz);
-            return value;
+            return getReader(clazz).readValue(json);
         } catch (JsonParseException jpe) {
             logger.warn(String.format("JsonParseException, caurse:%s", jpe.getMessage()));
         } catch (JsonMappingException jme) {
@@ -96,9 +216,23 @@ public class JSONUtil {
      */
     public static <T> T fromJSON(String json, TypeReference<T> valueTypeRef) {
         try {
-            ObjectMapper mapper = getMapper();
-            T value = mapper.readValue(json, valueTypeRef);
-            return value;
+            return getReader(valueTypeRef).readValue(json);
+        } catch (JsonParseException jpe) {
+            logger.warn(String.format("JsonParseException, caurse:%s", jpe.getMessage()));
+        } catch (JsonMappingException jme) {
+            logger.error(String.format("JsonParseException, caurse:%s", jme.getMessage()));
+        } catch (IOException ioe) {
+            logger.error(String.format("JsonParseException, caurse:%s", ioe.getMessage()));
+        }
+        return null;
+    }
+
+    /**
+     * JSON对象反序列化, 直接读取 UTF-8 字节
+     */
+    public static <T> T fromJSON(byte[] json, Class<T> clazz) {
+        try {
+            return getReader(clazz).readValue(json);
         } catch (JsonParseException jpe) {
             logger.warn(String.format("JsonParseException, caurse:%s", jpe.getMessage()));
         } catch (JsonMappingException jme) {
@@ -110,7 +244,19 @@ public class JSONUtil {
     }
 
     /**
-     * 从json中读取tagPath处的值 tagPath用 :分隔
+     * JSON对象反序列化, 从输入流读取, 不关闭输入流, 读取失败时抛出异常
+     */
+    public static <T> T fromJSON(InputStream in, Class<T> clazz) throws IOException {
+        return getReader(clazz).readValue(in);
+    }
+
+    private static ObjectWriter writerOf(Object obj) {
+        return obj == null ? objectMapper.writer() : getWriter(obj.getClass());
+    }
+
+    /**
+     * 从json中读取tagPath处的值 tagPath用 :分隔, 流式解析, 不构建整棵树;
+     * 字符串取其内容, 对象和数组为去掉双引号的JSON
      *
      * @param json
      * @param tagPath
@@ -118,48 +264,49 @@ public class JSONUtil {
      * @throws Exception
      */
     public static List<String> readValueFromJson(String json, String tagPath) throws Exception {
-        // 返回值
-        List<String> value = new ArrayList<String>();
         if (ObjectUtil.isEmpty(json) || (ObjectUtil.isEmpty(tagPath))) {
-            return value;
+            return new ArrayList<String>();
         }
-        ObjectMapper mapper = getMapper();
-        String[] path = tagPath.split(":");
-        JsonNode node = mapper.readTree(json);
-        getJsonValue(node, path, value, 1);
-        return value;
+        return readValueFromJson(json, JSONPath.compile(tagPath));
     }
 
-    private static void getJsonValue(JsonNode node, String[] path, List<String> values, int nextIndex) {
-        if (ObjectUtil.isEmpty(node)) {
-            return;
-        }
-        // 是路径的最后就直接取值
-        if (nextIndex == path.length) {
-            if (node.isArray()) {
-                for (int i = 0; i < node.size(); i++) {
-                    JsonNode child = node.get(i).get(path[nextIndex - 1]);
-                    if (ObjectUtil.isEmpty(child)) {
-                        continue;
-                    }
-                    values.add(child.toString().replace("\"", ""));
-                }
-            } else {
-                JsonNode child = node.get(path[nextIndex - 1]);
-                if (!ObjectUtil.isEmpty(child)) {
-                    values.add(child.toString().replace("\"", ""));
-                }
+    /**
+     * 从json中读取预先编译的 path 处的值, 见 {@link #readValueFromJson(String, String)}
+     */
+    public static List<String> readValueFromJson(String json, JSONPath path) throws IOException {
+        final List<String> values = new ArrayList<String>();
+        readValues(json, path, new JSONPath.Handler() {
+            @Override
+            public void onMatch(JsonParser parser) throws IOException {
+                boolean structured = parser.getCurrentToken() == JsonToken.START_OBJECT || parser.getCurrentToken() == JsonToken.START_ARRAY;
+                String value = JSONPath.getText(parser);
+                values.add(structured ? value.replace("\"", "") : value);
             }
-            return;
+        });
+        return values;
+    }
+
+    /**
+     * 流式读取json中 path 处的值, 每个值回调一次
+     */
+    public static void readValues(String json, JSONPath path, JSONPath.Handler handler) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(json);
+        try {
+            path.extract(parser, handler);
+        } finally {
+            parser.close();
         }
-        // 判断是Node下是集合还是一个节点
-        node = node.get(path[nextIndex - 1]);
-        if (node.isArray()) {
-            for (int i = 0; i < node.size(); i++) {
-                getJsonValue(node.get(i), path, values, nextIndex + 1);
-            }
-        } else {
-            getJsonValue(node, path, values, nextIndex + 1);
+    }
+
+    /**
+     * 流式读取输入流中 path 处的值, 每个值回调一次, 不关闭输入流
+     */
+    public static void readValues(InputStream in, JSONPath path, JSONPath.Handler handler) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        try {
+            path.extract(parser, handler);
+        } finally {
+            parser.close();
         }
     }
 }
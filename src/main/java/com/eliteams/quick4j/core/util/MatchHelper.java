@@ -1,5 +1,7 @@
 package com.eliteams.quick4j.core.util;
 
+import java.util.Arrays;
+
 /**
  * Created by zya on 16/10/25.
  */
@@ -39,4 +41,161 @@ public class MatchHelper {
 
         return isMatched;
     }
+
+    /**
+     * 把匹配器数组编译为一个短路求值的匹配器, 跳过null, 只有一个匹配器时直接返回它.
+     * 与 {@link #match(Object, Matcher[], boolean)} 的结果相同, 适合对大量元素重复匹配
+     *
+     * @param matchers
+     *            匹配器数组
+     * @param isMatchAll
+     *            是否满足全部条件才算匹配. 如果为false, 则只需满足任意条件就认为是匹配
+     * @return 编译后的匹配器, 没有非null的匹配器时总是不匹配
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Matcher<T> compile(Matcher<T>[] matchers, boolean isMatchAll) {
+        final Matcher<T>[] compiled = (Matcher<T>[]) compact(matchers, new Matcher<?>[0]);
+        if (compiled.length == 1) {
+            return compiled[0];
+        }
+        if (compiled.length == 0) {
+            return new Matcher<T>() {
+                @Override
+                public boolean matches(T t) {
+                    return false;
+                }
+            };
+        }
+        if (isMatchAll) {
+            return new Matcher<T>() {
+                @Override
+                public boolean matches(T t) {
+                    for (Matcher<T> matcher : compiled) {
+                        if (!matcher.matches(t)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+        return new Matcher<T>() {
+            @Override
+            public boolean matches(T t) {
+                for (Matcher<T> matcher : compiled) {
+                    if (matcher.matches(t)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 把 int 匹配器数组编译为一个短路求值的匹配器, 见 {@link #compile(Matcher[], boolean)}
+     */
+    public static IntMatcher compile(IntMatcher[] matchers, boolean isMatchAll) {
+        final IntMatcher[] compiled = compact(matchers, new IntMatcher[0]);
+        if (compiled.length == 1) {
+            return compiled[0];
+        }
+        if (compiled.length == 0) {
+            return new IntMatcher() {
+                @Override
+                public boolean matches(int value) {
+                    return false;
+                }
+            };
+        }
+        if (isMatchAll) {
+            return new IntMatcher() {
+                @Override
+                public boolean matches(int value) {
+                    for (IntMatcher matcher : compiled) {
+                        if (!matcher.matches(value)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+        return new IntMatcher() {
+            @Override
+            public boolean matches(int value) {
+                for (IntMatcher matcher : compiled) {
+                    if (matcher.matches(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 把 long 匹配器数组编译为一个短路求值的匹配器, 见 {@link #compile(Matcher[], boolean)}
+     */
+    public static LongMatcher compile(LongMatcher[] matchers, boolean isMatchAll) {
+        final LongMatcher[] compiled = compact(matchers, new LongMatcher[0]);
+        if (compiled.length == 1) {
+            return compiled[0];
+        }
+        if (compiled.length == 0) {
+            return new LongMatcher() {
+                @Override
+                public boolean matches(long value) {
+                    return false;
+                }
+            };
+        }
+        if (isMatchAll) {
+            return new LongMatcher() {
+                @Override
+                public boolean matches(long value) {
+                    for (LongMatcher matcher : compiled) {
+                        if (!matcher.matches(value)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            };
+        }
+        return new LongMatcher() {
+            @Override
+            public boolean matches(long value) {
+                for (LongMatcher matcher : compiled) {
+                    if (matcher.matches(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 去掉null元素, 复制到新数组, 之后对原数组的修改不影响编译结果
+     */
+    private static <M> M[] compact(M[] matchers, M[] empty) {
+        if (matchers == null) {
+            return empty;
+        }
+        int count = 0;
+        for (M matcher : matchers) {
+            if (matcher != null) {
+                count++;
+            }
+        }
+        M[] compacted = Arrays.copyOf(empty, count);
+        int i = 0;
+        for (M matcher : matchers) {
+            if (matcher != null) {
+                compacted[i++] = matcher;
+            }
+        }
+        return compacted;
+    }
 }
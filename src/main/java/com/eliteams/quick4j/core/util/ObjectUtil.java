@@ -1,10 +1,7 @@
 package com.eliteams.quick4j.core.util;
 
 
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -89,42 +86,40 @@ public class ObjectUtil {
             return false;
         }
 
-        // 打造对象1的属性名与属性表述信息的映射关系
-        Map<String, PropertyDescriptor> propDefMap1 = new HashMap<String, PropertyDescriptor>();
-        for (PropertyDescriptor pd : Introspector.getBeanInfo(obj1.getClass()).getPropertyDescriptors()) {
-            if (!"class".equals(pd.getName())) {
-                propDefMap1.put(pd.getName(), pd);
-            }
-        }
+        // 对象1的属性元数据, 每个类只解析一次
+        BeanAccessor accessor1 = BeanAccessor.of(obj1.getClass());
 
-        // 如果对象2与对象1的类型相同，则使用相同的映射关系
-        Map<String, PropertyDescriptor> propDefMap2 = propDefMap1;
-        if (!obj1.getClass().equals(obj2.getClass())) {
-            // 不同则解析
-            propDefMap2 = new HashMap<String, PropertyDescriptor>();
-            for (PropertyDescriptor pd : Introspector.getBeanInfo(obj2.getClass()).getPropertyDescriptors()) {
-                if (!"class".equals(pd.getName())) {
-                    propDefMap2.put(pd.getName(), pd);
-                }
-            }
-        }
+        // 如果对象2与对象1的类型相同，则使用相同的元数据
+        BeanAccessor accessor2 = obj1.getClass().equals(obj2.getClass()) ? accessor1 : BeanAccessor.of(obj2.getClass());
 
-        // 如果未指定属性名，则比较所有属性(选取任何一个对象的属性映射作为参考)
+        // 如果未指定属性名，则比较所有属性(选取对象1的属性作为参考)
         if (ArrayUtil.isEmpty(propNames)) {
             // 比较所有属性时，如果是非宽松模式则属性数量必须一致
-            if (!isLenient && (propDefMap1.size() != propDefMap2.size())) {
+            if (!isLenient && (accessor1.getPropertyCount() != accessor2.getPropertyCount())) {
                 return false;
             }
 
-            propNames = propDefMap1.keySet().toArray(new String[propDefMap1.size()]);
+            for (int index1 = 0; index1 < accessor1.getPropertyCount(); index1++) {
+                int index2 = accessor2 == accessor1 ? index1 : accessor2.indexOf(accessor1.getPropertyName(index1));
+                if (index2 < 0) {
+                    if (isLenient) {
+                        continue;
+                    }
+                    return false;
+                }
+                if (isNotEqual(accessor1.getProperty(obj1, index1), accessor2.getProperty(obj2, index2))) {
+                    return false;
+                }
+            }
+            return true;
         }
 
-        // 遍历所有属性，比较属性值
+        // 遍历指定属性，比较属性值
         for (String propName : propNames) {
-            PropertyDescriptor pd1 = propDefMap1.get(propName);
-            PropertyDescriptor pd2 = propDefMap2.get(propName);
+            int index1 = accessor1.indexOf(propName);
+            int index2 = accessor2.indexOf(propName);
 
-            if (pd1 == null || pd2 == null) {
+            if (index1 < 0 || index2 < 0) {
                 // 宽松模式则继续判断下一个字段
                 if (isLenient) {
                     continue;
@@ -134,7 +129,7 @@ public class ObjectUtil {
             }
 
             // 如果不一致则返回不相同
-            if (isNotEqual(pd1.getReadMethod().invoke(obj1), pd2.getReadMethod().invoke(obj2))) {
+            if (isNotEqual(accessor1.getProperty(obj1, index1), accessor2.getProperty(obj2, index2))) {
                 return false;
             }
         }
@@ -241,53 +236,55 @@ public class ObjectUtil {
         return result;
     }
 
+    /**
+     * 通过 get + 首字母大写 的公共方法读取字段值, getter 按类缓存
+     *
+     * @return 字段值, 没有该方法或读取失败时返回null
+     */
     public static Object getFieldValueByName(String fieldName, Object o) {
         try {
-            String firstLetter = fieldName.substring(0, 1).toUpperCase();
-            String getter = "get" + firstLetter + fieldName.substring(1);
-            Method method = o.getClass().getMethod(getter, new Class[] {});
-            Object value = method.invoke(o, new Object[] {});
-            return value;
+            return BeanAccessor.of(o.getClass()).getByGetter(o, fieldName);
         } catch (Exception e) {
             return null;
         }
     }
 
-    private static String[] getFiledName(Object o) {
-        Field[] fields = o.getClass().getDeclaredFields();
-        String[] fieldNames = new String[fields.length];
-        for (int i = 0; i < fields.length; i++) {
-            fieldNames[i] = fields[i].getName();
-        }
-        return fieldNames;
-    }
-
     public static List<Map<String, Object>> getFiledsInfo(Object o) {
-        Field[] fields = o.getClass().getDeclaredFields();
-        List<Map<String, Object>> list = new ArrayList<Map<String, Object>>();
+        BeanAccessor accessor = BeanAccessor.of(o.getClass());
+        Field[] fields = accessor.getDeclaredFields();
+        List<Map<String, Object>> list = new ArrayList<Map<String, Object>>(fields.length);
         Map<String, Object> infoMap = null;
         for (int i = 0; i < fields.length; i++) {
-            infoMap = new HashMap<String, Object>();
+            infoMap = new HashMap<String, Object>(4);
             infoMap.put("type", fields[i].getType().toString());
             infoMap.put("name", fields[i].getName());
-            infoMap.put("value", getFieldValueByName(fields[i].getName(), o));
+            infoMap.put("value", getFieldValue(accessor, fields[i].getName(), o));
             list.add(infoMap);
         }
         return list;
     }
 
     public static Object[] getFiledValues(Object o) {
-        String[] fieldNames = getFiledName(o);
+        BeanAccessor accessor = BeanAccessor.of(o.getClass());
+        String[] fieldNames = accessor.getDeclaredFieldNames();
         Object[] value = new Object[fieldNames.length];
         for (int i = 0; i < fieldNames.length; i++) {
-            value[i] = getFieldValueByName(fieldNames[i], o);
+            value[i] = getFieldValue(accessor, fieldNames[i], o);
         }
         return value;
     }
 
+    private static Object getFieldValue(BeanAccessor accessor, String fieldName, Object o) {
+        try {
+            return accessor.getByGetter(o, fieldName);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * copy 一个新的与source同类型的对象出来,并把proNames中指定的field从原对象复制到新对象中 方法用途: <br>
-     * 实现步骤: <br>
+     * 实现步骤: 字段读写器按类缓存, 字段可以声明在父类中<br>
      *
      * @param source
      * @param propNames
@@ -295,14 +292,13 @@ public class ObjectUtil {
      */
     public static Object partCopyNew(Object source, String... propNames) {
         try {
-            Class c = source.getClass();
-            Object ret = c.newInstance();
+            BeanAccessor accessor = BeanAccessor.of(source.getClass());
+            Object ret = accessor.newInstance();
             for (String prop : propNames) {
-                Field field = getField(c, prop);
+                BeanAccessor.FieldHandle field = accessor.getField(prop);
                 if (field == null) {
-                    throw new RuntimeException(c.getName() + " does not have a fied : " + prop);
+                    throw new RuntimeException(source.getClass().getName() + " does not have a fied : " + prop);
                 }
-                field.setAccessible(true);
                 field.set(ret, field.get(source));
             }
 
@@ -311,19 +307,4 @@ public class ObjectUtil {
             throw new RuntimeException("ObjectUtil.partCopyNew exception", e);
         }
     }
-
-    private static Field getField(Class c, String prop) throws NoSuchFieldException, SecurityException {
-        Field field = null;
-
-        try {
-            field = c.getDeclaredField(prop);
-        } catch (NoSuchFieldException e) {
-            Class superC = c.getSuperclass();
-            if (superC != null) {
-                return getField(superC, prop);
-            }
-        }
-
-        return field;
-    }
 }
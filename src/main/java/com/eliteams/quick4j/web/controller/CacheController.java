@@ -0,0 +1,95 @@
+package com.eliteams.quick4j.web.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Resource;
+import net.sf.ehcache.Ehcache;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+import com.eliteams.quick4j.core.feature.cache.StatisticsCache;
+import com.eliteams.quick4j.core.feature.cache.StatisticsCacheManager;
+import com.eliteams.quick4j.core.feature.cache.local.LocalCache;
+import com.eliteams.quick4j.core.feature.orm.mybatis.CountCache;
+import com.eliteams.quick4j.core.feature.orm.mybatis.EhCacheCountCache;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationStatementHandlerInterceptor;
+import com.eliteams.quick4j.web.security.RoleSign;
+
+/**
+ * 缓存统计控制器
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:20
+ **/
+@Controller
+@RequestMapping(value = "/cache")
+public class CacheController {
+
+    /**
+     * 分页总数缓存的默认区域名
+     */
+    private static final String PAGE_COUNTS = "pageCounts";
+
+    @Resource(name = "cacheManager")
+    private StatisticsCacheManager cacheManager;
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 每个缓存区域的命中, 未命中, 淘汰次数, 条数及读取耗时分布(微秒)
+     */
+    @RequestMapping(value = "/statistics", method = RequestMethod.GET)
+    @ResponseBody
+    @RequiresRoles(value = RoleSign.ADMIN)
+    public Map<String, Object> statistics() {
+        Map<String, Object> regions = new LinkedHashMap<String, Object>();
+        CountCache countCache = getCountCache();
+        String countCacheName = countCache instanceof EhCacheCountCache ? ((EhCacheCountCache) countCache).getCacheName() : PAGE_COUNTS;
+        for (String name : new TreeSet<String>(cacheManager.getCacheNames())) {
+            if (countCache != null && name.equals(countCacheName)) {
+                continue;
+            }
+            StatisticsCache cache = (StatisticsCache) cacheManager.getCache(name);
+            if (cache != null) {
+                regions.put(name, toMap(cache.getStatistics(), cache.getNativeCache()));
+            }
+        }
+        if (countCache != null) {
+            Object nativeCache = countCache instanceof EhCacheCountCache ? ((EhCacheCountCache) countCache).getCache() : null;
+            regions.put(countCacheName, toMap(countCache.getStatistics(), nativeCache));
+        }
+        return regions;
+    }
+
+    private CountCache getCountCache() {
+        for (Interceptor interceptor : sqlSessionFactory.getConfiguration().getInterceptors()) {
+            if (interceptor instanceof PaginationStatementHandlerInterceptor) {
+                return ((PaginationStatementHandlerInterceptor) interceptor).getCountCache();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> toMap(CacheStatistics statistics, Object nativeCache) {
+        Map<String, Object> region = new LinkedHashMap<String, Object>();
+        region.put("hitCount", statistics.getHitCount());
+        region.put("missCount", statistics.getMissCount());
+        region.put("evictionCount", statistics.getEvictionCount());
+        region.put("hitRate", statistics.getHitRate());
+        if (nativeCache instanceof Ehcache) {
+            region.put("size", ((Ehcache) nativeCache).getSize());
+        } else if (nativeCache instanceof LocalCache) {
+            region.put("size", ((LocalCache<?, ?>) nativeCache).size());
+        }
+        region.put("getLatencyMicros", statistics.getGetLatency().summary(TimeUnit.MICROSECONDS));
+        return region;
+    }
+}
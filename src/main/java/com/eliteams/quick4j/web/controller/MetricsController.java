@@ -0,0 +1,50 @@
+package com.eliteams.quick4j.web.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Resource;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import com.eliteams.quick4j.core.feature.metrics.RequestMetrics;
+import com.eliteams.quick4j.web.security.RoleSign;
+
+/**
+ * 请求统计控制器
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:20
+ **/
+@Controller
+@RequestMapping(value = "/metrics")
+public class MetricsController {
+
+    @Resource
+    private RequestMetrics requestMetrics;
+
+    /**
+     * 各 @RequestMapping 路径的请求数, 错误数, 总耗时及 filter, auth, handler, view, other 各阶段耗时分布(微秒), 按总耗时降序
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    @ResponseBody
+    @RequiresRoles(value = RoleSign.ADMIN)
+    public Map<String, Object> metrics() {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("enabled", requestMetrics.isEnabled());
+        result.put("requests", requestMetrics.toMap());
+        return result;
+    }
+
+    /**
+     * 清空统计
+     */
+    @RequestMapping(value = "/reset", method = RequestMethod.POST)
+    @ResponseBody
+    @RequiresRoles(value = RoleSign.ADMIN)
+    public Map<String, Object> reset() {
+        requestMetrics.reset();
+        return metrics();
+    }
+}
@@ -0,0 +1,75 @@
+package com.eliteams.quick4j.web.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Resource;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SqlStatistics;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SqlStatisticsInterceptor;
+import com.eliteams.quick4j.web.security.RoleSign;
+
+/**
+ * SQL执行统计控制器
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:35
+ **/
+@Controller
+@RequestMapping(value = "/sql")
+public class SqlController {
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    /**
+     * 各 Mapper 方法的调用次数, 行数, 错误及慢SQL次数, 耗时分布, 按总耗时降序
+     */
+    @RequestMapping(value = "/statistics", method = RequestMethod.GET)
+    @ResponseBody
+    @RequiresRoles(value = RoleSign.ADMIN)
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        SqlStatistics statistics = getStatistics();
+        if (statistics == null) {
+            result.put("enabled", false);
+            return result;
+        }
+        result.put("enabled", true);
+        result.put("slowThresholdMillis", statistics.getSlowThresholdMillis());
+        result.put("sampleInterval", statistics.getSampleInterval());
+        result.put("totalCalls", statistics.getTotalCalls());
+        result.put("totalErrors", statistics.getTotalErrors());
+        result.put("totalSlowCalls", statistics.getTotalSlowCalls());
+        result.put("statements", statistics.getStatements());
+        return result;
+    }
+
+    /**
+     * 清空统计
+     */
+    @RequestMapping(value = "/statistics/reset", method = RequestMethod.POST)
+    @ResponseBody
+    @RequiresRoles(value = RoleSign.ADMIN)
+    public Map<String, Object> reset() {
+        SqlStatistics statistics = getStatistics();
+        if (statistics != null) {
+            statistics.reset();
+        }
+        return statistics();
+    }
+
+    private SqlStatistics getStatistics() {
+        for (Interceptor interceptor : sqlSessionFactory.getConfiguration().getInterceptors()) {
+            if (interceptor instanceof SqlStatisticsInterceptor) {
+                return ((SqlStatisticsInterceptor) interceptor).getStatistics();
+            }
+        }
+        return null;
+    }
+}
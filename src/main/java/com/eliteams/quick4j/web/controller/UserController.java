@@ -57,7 +57,11 @@ public class UserController {
             subject.login(new UsernamePasswordToken(user.getUsername(), user.getPassword()));
             // 验证成功在Session中保存用户信息
             final User authUserInfo = userService.selectByUsername(user.getUsername());
-            request.getSession().setAttribute("userInfo", authUserInfo);
+            // 会话中只保存页面展示需要的字段, 不保存密码
+            final User userInfo = new User();
+            userInfo.setId(authUserInfo.getId());
+            userInfo.setUsername(authUserInfo.getUsername());
+            request.getSession().setAttribute("userInfo", userInfo);
         } catch (AuthenticationException e) {
             // 身份验证失败
             model.addAttribute("error", "用户名或密码错误 ！");
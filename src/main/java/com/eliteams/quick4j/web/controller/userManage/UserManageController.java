@@ -1,19 +1,28 @@
 package com.eliteams.quick4j.web.controller.userManage;
 
 import com.eliteams.quick4j.core.message.SystemMessage;
+import com.eliteams.quick4j.core.util.JSONUtil;
 import com.eliteams.quick4j.web.controller.common.BaseController;
 import com.eliteams.quick4j.web.model.User;
+import com.eliteams.quick4j.web.model.UserExample;
 import com.eliteams.quick4j.web.security.RoleSign;
 import com.eliteams.quick4j.web.service.UserService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.shiro.authz.annotation.RequiresRoles;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.io.IOException;
 import java.util.Date;
 
 import javax.annotation.Resource;
+import javax.servlet.http.HttpServletResponse;
 
 /**
  * 用户操作controller
@@ -23,6 +32,11 @@ import javax.annotation.Resource;
 @RequestMapping(value = "/userManage")
 public class UserManageController extends BaseController{
 
+    /**
+     * 导出时每输出多少条刷新一次
+     */
+    private static final int EXPORT_FLUSH_SIZE = 500;
+
     @Resource
     private UserService userService;
 
@@ -44,4 +58,37 @@ public class UserManageController extends BaseController{
         return systemMessage;
     }
 
+    /**
+     * 导出全部用户, 流式查询并以 chunked JSON 数组输出, 内存占用与用户数量无关
+     */
+    @RequestMapping(value = "/export", method = RequestMethod.GET)
+    @RequiresRoles(value = RoleSign.ADMIN)
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        final JsonGenerator generator = JSONUtil.createGenerator(response.getOutputStream());
+        generator.writeStartArray();
+
+        UserExample example = new UserExample();
+        example.setOrderByClause("id");
+        userService.stream(example, new ResultHandler() {
+            @Override
+            public void handleResult(ResultContext context) {
+                User user = (User) context.getResultObject();
+                user.setPassword(null);
+                try {
+                    JSONUtil.writeValue(generator, user);
+                    // 每输出一批刷新一次, 以 chunked 方式发送给客户端
+                    if (context.getResultCount() % EXPORT_FLUSH_SIZE == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("导出用户失败", e);
+                }
+            }
+        });
+
+        generator.writeEndArray();
+        generator.close();
+    }
+
 }
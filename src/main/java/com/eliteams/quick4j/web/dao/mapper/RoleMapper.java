@@ -7,6 +7,7 @@ import com.eliteams.quick4j.web.model.RoleExample;
 import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 角色Dao 接口
@@ -44,4 +45,12 @@ public interface RoleMapper extends GenericDao<Role, Long> {
      * @return
      */
     List<Role> selectRolesByUserId(Long userId);
+
+    /**
+     * 通过用户名 一次查询用户的角色标识及其权限标识, 每行包含 roleSign, permissionSign
+     * 
+     * @param username
+     * @return
+     */
+    List<Map<String, String>> selectRoleAndPermissionSignsByUsername(String username);
 }
\ No newline at end of file
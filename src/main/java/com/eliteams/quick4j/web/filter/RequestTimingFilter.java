@@ -0,0 +1,44 @@
+package com.eliteams.quick4j.web.filter;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.eliteams.quick4j.core.feature.metrics.RequestMetrics;
+import com.eliteams.quick4j.core.feature.metrics.RequestTiming;
+
+/**
+ * 请求计时过滤器, 位于过滤器链最前面, 记录请求总耗时; 各阶段的时间点由 {@link com.eliteams.quick4j.web.interceptors.RequestTimingInterceptor} 记录.
+ * <p/>
+ * 在 web.xml 中通过 DelegatingFilterProxy 引用 applicationContext.xml 中的 requestTimingFilter
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:05
+ **/
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private RequestMetrics requestMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!requestMetrics.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        RequestTiming timing = RequestTiming.begin();
+        boolean error = true;
+        try {
+            filterChain.doFilter(request, response);
+            error = response.getStatus() >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        } finally {
+            long total = timing.end();
+            requestMetrics.record(request.getMethod(), total, timing, error);
+        }
+    }
+
+    public void setRequestMetrics(RequestMetrics requestMetrics) {
+        this.requestMetrics = requestMetrics;
+    }
+}
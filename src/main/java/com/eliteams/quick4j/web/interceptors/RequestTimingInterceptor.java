@@ -0,0 +1,46 @@
+package com.eliteams.quick4j.web.interceptors;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import com.eliteams.quick4j.core.feature.metrics.RequestTiming;
+
+/**
+ * 请求计时拦截器, 记录进入控制器, 控制器返回, 视图渲染完成的时间点, 请求按匹配的 @RequestMapping 路径汇总.
+ * <p/>
+ * 只在 {@link com.eliteams.quick4j.web.filter.RequestTimingFilter} 开始计时的请求中生效
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:10
+ **/
+public class RequestTimingInterceptor extends HandlerInterceptorAdapter {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // 不是 @RequestMapping 方法时按处理器类型汇总, 避免按原始路径产生过多的统计项
+            timing.handlerStarted(pattern == null ? "(" + handler.getClass().getSimpleName() + ")" : pattern.toString());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.handlerCompleted();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.viewCompleted();
+        }
+    }
+}
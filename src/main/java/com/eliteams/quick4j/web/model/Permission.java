@@ -1,12 +1,17 @@
 package com.eliteams.quick4j.web.model;
 
+import java.io.Serializable;
+
 /**
  * 权限模型
  * 
  * @author StarZou
  * @since 2014年7月17日 下午1:02:55
  **/
-public class Permission {
+public class Permission implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private Long id;
 
     private String permissionName;
@@ -1,5 +1,6 @@
 package com.eliteams.quick4j.web.model;
 
+import java.io.Serializable;
 import java.util.Date;
 
 /**
@@ -8,7 +9,10 @@ import java.util.Date;
  * @author StarZou
  * @since 2014年7月5日 下午12:07:20
  **/
-public class User {
+public class User implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private Long id;
 
     private String username;
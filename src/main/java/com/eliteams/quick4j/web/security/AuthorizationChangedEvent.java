@@ -0,0 +1,32 @@
+package com.eliteams.quick4j.web.security;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 角色或权限发生变化的事件, SecurityRealm 收到后清除缓存的授权信息
+ *
+ * @author StarZou
+ * @since 2026-10-17 14:45
+ **/
+public class AuthorizationChangedEvent extends ApplicationEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 授权发生变化的用户名, 为null 表示所有用户
+     */
+    private final String username;
+
+    public AuthorizationChangedEvent(Object source) {
+        this(source, null);
+    }
+
+    public AuthorizationChangedEvent(Object source, String username) {
+        super(source);
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eliteams.quick4j.web.security;
+
+import java.util.BitSet;
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+
+/**
+ * 编译后的授权信息 : 在 SimpleAuthorizationInfo 之上, 用 BitSet 记录授予的已注册权限
+ * <p/>
+ * 只能判断编译时已注册的权限(id 小于 compiledSize), 之后注册的权限仍按字符串授权判断
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:25
+ **/
+public class CompiledAuthorizationInfo extends SimpleAuthorizationInfo {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 授予的权限id
+     */
+    private BitSet granted = new BitSet();
+
+    /**
+     * 编译时已注册的权限数
+     */
+    private int compiledSize;
+
+    void setCompiled(BitSet granted, int compiledSize) {
+        this.granted = granted;
+        this.compiledSize = compiledSize;
+    }
+
+    /**
+     * 编译时该权限是否已注册
+     *
+     * @param id 权限id
+     */
+    public boolean isCompiled(int id) {
+        return id >= 0 && id < compiledSize;
+    }
+
+    /**
+     * 是否授予了该权限, 只对 isCompiled(id) 为 true 的id有意义
+     *
+     * @param id 权限id
+     */
+    public boolean isGranted(int id) {
+        return granted.get(id);
+    }
+}
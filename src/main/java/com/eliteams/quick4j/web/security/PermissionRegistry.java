@@ -0,0 +1,152 @@
+package com.eliteams.quick4j.web.security;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.shiro.authz.permission.WildcardPermission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import com.eliteams.quick4j.web.model.Permission;
+import com.eliteams.quick4j.web.service.PermissionService;
+
+/**
+ * 权限标识注册表, 为每个已知的权限标识分配一个整数id, 并把用户的授权编译为 BitSet
+ * <p/>
+ * 启动时注册 {@link PermissionSign} 中的常量及 permission 表中的所有权限标识, 编译授权时注册用户被授予的权限标识.
+ * 编译时用 WildcardPermission 计算每个授权隐含的已知权限(如 user:* 隐含 user:create), 检查时只需测试对应的位
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:20
+ **/
+@Component
+public class PermissionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionRegistry.class);
+
+    @Resource
+    private PermissionService permissionService;
+
+    /**
+     * 权限标识 -> id
+     */
+    private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+
+    /**
+     * 按id排列的已解析权限, 写时复制, 先发布数组再发布id
+     */
+    private volatile WildcardPermission[] permissions = new WildcardPermission[0];
+
+    /**
+     * 注册 PermissionSign 中的常量及数据库中的权限标识
+     */
+    @PostConstruct
+    public void init() {
+        for (Field field : PermissionSign.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    register((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        try {
+            permissionService.stream(null, new ResultHandler() {
+                @Override
+                public void handleResult(ResultContext context) {
+                    register(((Permission) context.getResultObject()).getPermissionSign());
+                }
+            });
+        } catch (RuntimeException e) {
+            // 数据库暂不可用时, 权限标识在编译授权时再注册
+            logger.warn("load permission signs failed : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 注册权限标识
+     *
+     * @param sign 权限标识
+     * @return id, sign 为空时返回 -1
+     */
+    public int register(String sign) {
+        if (sign == null || sign.trim().isEmpty()) {
+            return -1;
+        }
+        Integer id = ids.get(sign);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(sign);
+            if (id != null) {
+                return id;
+            }
+            WildcardPermission[] current = permissions;
+            WildcardPermission[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = new WildcardPermission(sign);
+            permissions = next;
+            ids.put(sign, current.length);
+            return current.length;
+        }
+    }
+
+    /**
+     * 取得权限标识的id
+     *
+     * @param sign 权限标识
+     * @return id, 未注册返回 -1
+     */
+    public int getId(String sign) {
+        Integer id = sign == null ? null : ids.get(sign);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * 已注册的权限标识数
+     */
+    public int size() {
+        return permissions.length;
+    }
+
+    /**
+     * 编译授权 : 注册所有授权, 计算它们隐含的已注册权限
+     *
+     * @param info 授权信息, 编译结果写回其中
+     */
+    public void compile(CompiledAuthorizationInfo info) {
+        Collection<String> grants = info.getStringPermissions();
+        if (grants != null) {
+            for (String grant : grants) {
+                register(grant);
+            }
+        }
+        WildcardPermission[] known = permissions;
+        BitSet granted = new BitSet(known.length);
+        if (grants != null) {
+            for (String grant : grants) {
+                int id = getId(grant);
+                if (id == -1) {
+                    // 空白的授权没有注册
+                    continue;
+                }
+                WildcardPermission permission = known[id];
+                for (int i = granted.nextClearBit(0); i < known.length; i = granted.nextClearBit(i + 1)) {
+                    if (permission.implies(known[i])) {
+                        granted.set(i);
+                    }
+                }
+            }
+        }
+        info.setCompiled(granted, known.length);
+    }
+}
@@ -1,31 +1,46 @@
 package com.eliteams.quick4j.web.security;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import javax.annotation.Resource;
 import org.apache.shiro.authc.AuthenticationException;
 import org.apache.shiro.authc.AuthenticationInfo;
 import org.apache.shiro.authc.AuthenticationToken;
 import org.apache.shiro.authc.SimpleAuthenticationInfo;
 import org.apache.shiro.authz.AuthorizationInfo;
-import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.cache.Cache;
 import org.apache.shiro.realm.AuthorizingRealm;
 import org.apache.shiro.subject.PrincipalCollection;
+import org.apache.shiro.subject.SimplePrincipalCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
-import com.eliteams.quick4j.web.model.Permission;
-import com.eliteams.quick4j.web.model.Role;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.eliteams.quick4j.core.feature.password.PasswordService;
 import com.eliteams.quick4j.web.model.User;
-import com.eliteams.quick4j.web.service.PermissionService;
 import com.eliteams.quick4j.web.service.RoleService;
 import com.eliteams.quick4j.web.service.UserService;
 
 /**
  * 用户身份验证,授权 Realm 组件
+ * <p/>
+ * 授权信息缓存在名为 authorizationCache 的缓存中(见 ehcache-shiro.xml), 角色或权限变化时由 {@link AuthorizationChangedEvent} 清除
  * 
  * @author StarZou
  * @since 2014年6月11日 上午11:35:28
  **/
 @Component(value = "securityRealm")
-public class SecurityRealm extends AuthorizingRealm {
+public class SecurityRealm extends AuthorizingRealm implements ApplicationListener<AuthorizationChangedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityRealm.class);
+
+    /**
+     * 授权信息缓存名
+     */
+    public static final String AUTHORIZATION_CACHE_NAME = "authorizationCache";
 
     @Resource
     private UserService userService;
@@ -34,33 +49,52 @@ public class SecurityRealm extends AuthorizingRealm {
     private RoleService roleService;
 
     @Resource
-    private PermissionService permissionService;
+    private PermissionRegistry permissionRegistry;
+
+    @Resource
+    private PasswordService passwordService;
+
+    public SecurityRealm() {
+        setAuthorizationCacheName(AUTHORIZATION_CACHE_NAME);
+    }
 
     /**
      * 权限检查
      */
     @Override
     protected AuthorizationInfo doGetAuthorizationInfo(PrincipalCollection principals) {
-        SimpleAuthorizationInfo authorizationInfo = new SimpleAuthorizationInfo();
+        CompiledAuthorizationInfo authorizationInfo = new CompiledAuthorizationInfo();
         String username = String.valueOf(principals.getPrimaryPrincipal());
 
-        final User user = userService.selectByUsername(username);
-        final List<Role> roleInfos = roleService.selectRolesByUserId(user.getId());
-        for (Role role : roleInfos) {
+        // 一次查询角色及其权限
+        final Map<String, Set<String>> signs = roleService.selectRoleAndPermissionSigns(username);
+        for (Map.Entry<String, Set<String>> entry : signs.entrySet()) {
             // 添加角色
-            System.err.println(role);
-            authorizationInfo.addRole(role.getRoleSign());
-
-            final List<Permission> permissions = permissionService.selectPermissionsByRoleId(role.getId());
-            for (Permission permission : permissions) {
-                // 添加权限
-                System.err.println(permission);
-                authorizationInfo.addStringPermission(permission.getPermissionSign());
-            }
+            authorizationInfo.addRole(entry.getKey());
+            // 添加权限
+            authorizationInfo.addStringPermissions(entry.getValue());
         }
+        // 编译为 BitSet, 权限检查时按位判断
+        permissionRegistry.compile(authorizationInfo);
         return authorizationInfo;
     }
 
+    /**
+     * 权限检查 : 已编译的权限按位判断, 其他权限按字符串授权逐个判断
+     */
+    @Override
+    public boolean isPermitted(PrincipalCollection principals, String permission) {
+        AuthorizationInfo info = getAuthorizationInfo(principals);
+        if (info instanceof CompiledAuthorizationInfo) {
+            CompiledAuthorizationInfo compiled = (CompiledAuthorizationInfo) info;
+            int id = permissionRegistry.getId(permission);
+            if (compiled.isCompiled(id)) {
+                return compiled.isGranted(id);
+            }
+        }
+        return super.isPermitted(principals, permission);
+    }
+
     /**
      * 登录验证
      */
@@ -68,13 +102,71 @@ public class SecurityRealm extends AuthorizingRealm {
     protected AuthenticationInfo doGetAuthenticationInfo(AuthenticationToken token) throws AuthenticationException {
         String username = String.valueOf(token.getPrincipal());
         String password = new String((char[]) token.getCredentials());
-        // 通过数据库进行验证
-        final User authentication = userService.authentication(new User(username, password));
-        if (authentication == null) {
+        // 通过数据库中的密码哈希进行验证
+        final User user = userService.selectByUsername(username);
+        boolean verified;
+        try {
+            verified = passwordService.verify(password, user == null ? null : user.getPassword());
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationException("系统繁忙, 请稍后再试.", e);
+        }
+        if (!verified) {
             throw new AuthenticationException("用户名或密码错误.");
         }
+        rehash(user, password);
         SimpleAuthenticationInfo authenticationInfo = new SimpleAuthenticationInfo(username, password, getName());
         return authenticationInfo;
     }
 
+    /**
+     * 密码哈希的算法或迭代次数与当前配置不同(包括旧的明文密码)时, 登录成功后按当前配置重新哈希; 重新哈希失败不影响登录
+     */
+    private void rehash(User user, String password) {
+        if (!passwordService.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            User model = new User();
+            model.setId(user.getId());
+            model.setPassword(passwordService.hash(password));
+            userService.update(model);
+        } catch (RejectedExecutionException e) {
+            // 繁忙时跳过, 下次登录再重新哈希
+        } catch (RuntimeException e) {
+            logger.warn("重新哈希用户 {} 的密码失败, 下次登录再重试", user.getUsername(), e);
+        }
+    }
+
+    /**
+     * 角色或权限变化, 清除缓存的授权信息; 处于事务中时, 事务结束后再清除一次, 避免提交前读入旧的授权信息
+     */
+    @Override
+    public void onApplicationEvent(final AuthorizationChangedEvent event) {
+        clearAuthorization(event.getUsername());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    clearAuthorization(event.getUsername());
+                }
+            });
+        }
+    }
+
+    /**
+     * 清除缓存的授权信息
+     *
+     * @param username 用户名, 为null 时清除所有用户
+     */
+    public void clearAuthorization(String username) {
+        if (username != null) {
+            clearCachedAuthorizationInfo(new SimplePrincipalCollection(username, getName()));
+            return;
+        }
+        Cache<Object, AuthorizationInfo> cache = getAuthorizationCache();
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.eliteams.quick4j.web.security;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.pam.ModularRealmAuthenticator;
+import com.eliteams.quick4j.core.feature.metrics.RequestTiming;
+
+/**
+ * 记录认证耗时的认证器, 耗时(查询用户及密码哈希校验)计入当前请求的 auth 阶段, 见 {@link RequestTiming}
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:15
+ **/
+public class TimingAuthenticator extends ModularRealmAuthenticator {
+
+    @Override
+    protected AuthenticationInfo doAuthenticate(AuthenticationToken authenticationToken) throws AuthenticationException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return super.doAuthenticate(authenticationToken);
+        }
+        long start = System.nanoTime();
+        try {
+            return super.doAuthenticate(authenticationToken);
+        } finally {
+            timing.addAuthTime(System.nanoTime() - start);
+        }
+    }
+}
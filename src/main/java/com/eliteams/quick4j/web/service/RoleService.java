@@ -1,6 +1,8 @@
 package com.eliteams.quick4j.web.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import com.eliteams.quick4j.core.generic.GenericService;
 import com.eliteams.quick4j.web.model.Role;
 
@@ -18,4 +20,12 @@ public interface RoleService extends GenericService<Role, Long> {
      * @return
      */
     List<Role> selectRolesByUserId(Long userId);
+
+    /**
+     * 通过用户名 一次查询用户的角色标识, 及每个角色拥有的权限标识
+     * 
+     * @param username
+     * @return 角色标识 -> 权限标识集合, 用户不存在时为空
+     */
+    Map<String, Set<String>> selectRoleAndPermissionSigns(String username);
 }
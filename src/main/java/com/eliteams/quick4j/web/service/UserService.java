@@ -16,7 +16,9 @@ public interface UserService extends GenericService<User, Long> {
      * 
      * @param user
      * @return
+     * @deprecated 按明文密码比较, 登录验证已改用 PasswordService 校验密码哈希
      */
+    @Deprecated
     User authentication(User user);
 
     /**
@@ -3,11 +3,14 @@ package com.eliteams.quick4j.web.service.impl;
 import java.util.List;
 import javax.annotation.Resource;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import com.eliteams.quick4j.core.feature.cache.CacheWarmer;
 import com.eliteams.quick4j.core.generic.GenericDao;
 import com.eliteams.quick4j.core.generic.GenericServiceImpl;
 import com.eliteams.quick4j.web.dao.mapper.PermissionMapper;
 import com.eliteams.quick4j.web.model.Permission;
+import com.eliteams.quick4j.web.security.AuthorizationChangedEvent;
 import com.eliteams.quick4j.web.service.PermissionService;
 
 /**
@@ -17,11 +20,14 @@ import com.eliteams.quick4j.web.service.PermissionService;
  * @since 2014年6月10日 下午12:05:03
  */
 @Service
-public class PermissionServiceImpl extends GenericServiceImpl<Permission, Long> implements PermissionService {
+public class PermissionServiceImpl extends GenericServiceImpl<Permission, Long> implements PermissionService, CacheWarmer {
 
     @Resource
     private PermissionMapper permissionMapper;
 
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
 
     @Override
     public GenericDao<Permission, Long> getDao() {
@@ -32,4 +38,21 @@ public class PermissionServiceImpl extends GenericServiceImpl<Permission, Long>
     public List<Permission> selectPermissionsByRoleId(Long roleId) {
         return permissionMapper.selectPermissionsByRoleId(roleId);
     }
+
+    /**
+     * 权限数据量小, 启动时全部放入缓存
+     */
+    @Override
+    public int warmUp() {
+        return loadEntityCache(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 权限变化后, 通知 SecurityRealm 清除授权缓存
+     */
+    @Override
+    protected void afterWrite() {
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(this));
+    }
+
 }
@@ -1,13 +1,20 @@
 package com.eliteams.quick4j.web.service.impl;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.annotation.Resource;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import com.eliteams.quick4j.core.feature.cache.CacheWarmer;
 import com.eliteams.quick4j.core.generic.GenericDao;
 import com.eliteams.quick4j.core.generic.GenericServiceImpl;
 import com.eliteams.quick4j.web.dao.mapper.RoleMapper;
 import com.eliteams.quick4j.web.model.Role;
+import com.eliteams.quick4j.web.security.AuthorizationChangedEvent;
 import com.eliteams.quick4j.web.service.RoleService;
 
 /**
@@ -17,11 +24,14 @@ import com.eliteams.quick4j.web.service.RoleService;
  * @since 2014年6月10日 下午4:16:33
  */
 @Service
-public class RoleServiceImpl extends GenericServiceImpl<Role, Long> implements RoleService {
+public class RoleServiceImpl extends GenericServiceImpl<Role, Long> implements RoleService, CacheWarmer {
 
     @Resource
     private RoleMapper roleMapper;
 
+    @Resource
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public GenericDao<Role, Long> getDao() {
         return roleMapper;
@@ -32,4 +42,38 @@ public class RoleServiceImpl extends GenericServiceImpl<Role, Long> implements R
         return roleMapper.selectRolesByUserId(userId);
     }
 
+    @Override
+    public Map<String, Set<String>> selectRoleAndPermissionSigns(String username) {
+        Map<String, Set<String>> signs = new LinkedHashMap<String, Set<String>>();
+        for (Map<String, String> row : roleMapper.selectRoleAndPermissionSignsByUsername(username)) {
+            String roleSign = row.get("roleSign");
+            Set<String> permissionSigns = signs.get(roleSign);
+            if (permissionSigns == null) {
+                permissionSigns = new LinkedHashSet<String>();
+                signs.put(roleSign, permissionSigns);
+            }
+            String permissionSign = row.get("permissionSign");
+            if (permissionSign != null) {
+                permissionSigns.add(permissionSign);
+            }
+        }
+        return signs;
+    }
+
+    /**
+     * 角色数据量小, 启动时全部放入缓存
+     */
+    @Override
+    public int warmUp() {
+        return loadEntityCache(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 角色变化后, 通知 SecurityRealm 清除授权缓存
+     */
+    @Override
+    protected void afterWrite() {
+        eventPublisher.publishEvent(new AuthorizationChangedEvent(this));
+    }
+
 }
@@ -24,30 +24,11 @@ public class UserServiceImpl extends GenericServiceImpl<User, Long> implements U
     private UserMapper userMapper;
 
     @Override
-    public int insert(User model) {
-        return userMapper.insertSelective(model);
-    }
-
-    @Override
-    public int update(User model) {
-        return userMapper.updateByPrimaryKeySelective(model);
-    }
-
-    @Override
-    public int delete(Long id) {
-        return userMapper.deleteByPrimaryKey(id);
-    }
-
-    @Override
+    @Deprecated
     public User authentication(User user) {
         return userMapper.authentication(user);
     }
 
-    @Override
-    public User selectById(Long id) {
-        return userMapper.selectByPrimaryKey(id);
-    }
-
     @Override
     public GenericDao<User, Long> getDao() {
         return userMapper;
@@ -58,7 +39,7 @@ public class UserServiceImpl extends GenericServiceImpl<User, Long> implements U
         UserExample example = new UserExample();
         example.createCriteria().andUsernameEqualTo(username);
         final List<User> list = userMapper.selectByExample(example);
-        return list.get(0);
+        return list.isEmpty() ? null : list.get(0);
     }
 
 }
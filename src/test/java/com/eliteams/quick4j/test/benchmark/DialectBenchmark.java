@@ -0,0 +1,128 @@
+package com.eliteams.quick4j.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.eliteams.quick4j.core.feature.orm.dialect.Dialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.MSDialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.MySql5Dialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.OracleDialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.PostgreDialect;
+
+/**
+ * DialectBenchmark : 各数据库方言统计SQL及分页SQL改写基准测试, SQL取自常见的 Mapper 分页查询.
+ * <p/>
+ * dialect 与 query 两个参数组合运行, 结果按参数分行, 便于版本间对比. 改写结果有缓存, 测得的是稳定运行后的开销
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DialectBenchmark {
+
+    @Param({ "mysql", "mssql", "postgresql", "oracle" })
+    public String dialect;
+
+    @Param({ "simple", "join", "subquery", "distinct", "groupBy", "orderBy" })
+    public String query;
+
+    private Dialect target;
+
+    private String sql;
+
+    private int offset;
+
+    @Setup
+    public void setup() {
+        target = createDialect(dialect);
+        sql = getSql(query);
+        // 校验SQL可以被当前方言改写
+        target.getCountString(sql);
+        target.getLimitString(sql, 0, 20);
+    }
+
+    @Benchmark
+    public String countString() {
+        return target.getCountString(sql);
+    }
+
+    @Benchmark
+    public String limitString() {
+        offset = (offset + 20) & 1023;
+        return target.getLimitString(sql, offset, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(DialectBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+
+    static Dialect createDialect(String name) {
+        if ("mysql".equals(name)) {
+            return new MySql5Dialect();
+        }
+        if ("mssql".equals(name)) {
+            return new MSDialect();
+        }
+        if ("postgresql".equals(name)) {
+            return new PostgreDialect();
+        }
+        if ("oracle".equals(name)) {
+            return new OracleDialect();
+        }
+        throw new IllegalArgumentException("未知的方言 : " + name);
+    }
+
+    /**
+     * 分页查询语料, 保留 Mapper XML 中的换行和缩进
+     */
+    static String getSql(String name) {
+        if ("simple".equals(name)) {
+            return "select\n        id, username, state, create_time\n    from user\n    where state = ?\n    order by id";
+        }
+        if ("join".equals(name)) {
+            return "SELECT\n        u.id, u.username, u.state, u.create_time, r.role_name, r.role_sign\n"
+                    + "    FROM user u\n        LEFT JOIN user_role ur ON ur.user_id = u.id\n        LEFT JOIN role r ON r.id = ur.role_id\n"
+                    + "    WHERE u.state = ?\n        AND u.create_time > ?\n    ORDER BY u.create_time DESC, u.id DESC";
+        }
+        if ("subquery".equals(name)) {
+            return "SELECT\n        u.id, u.username,\n        (select count(1) from user_role ur where ur.user_id = u.id) role_count,\n"
+                    + "        (select max(p.id) from permission p where p.permission_sign like concat(u.username, '%')) last_permission\n"
+                    + "    FROM user u\n    WHERE u.id IN (SELECT ur.user_id FROM user_role ur WHERE ur.role_id = ? ORDER BY ur.user_id)\n"
+                    + "    ORDER BY u.id";
+        }
+        if ("distinct".equals(name)) {
+            return "select distinct\n        p.id, p.permission_name, p.permission_sign\n    from permission p\n"
+                    + "        inner join role_permission rp on rp.permission_id = p.id\n        inner join user_role ur on ur.role_id = rp.role_id\n"
+                    + "    where ur.user_id = ?\n    order by p.id";
+        }
+        if ("groupBy".equals(name)) {
+            return "SELECT\n        r.id, r.role_name, COUNT(ur.user_id) user_count\n    FROM role r\n        LEFT JOIN user_role ur ON ur.role_id = r.id\n"
+                    + "    WHERE r.role_sign LIKE ?\n    GROUP BY r.id, r.role_name\n    HAVING COUNT(ur.user_id) > ?\n    ORDER BY user_count DESC";
+        }
+        if ("orderBy".equals(name)) {
+            return "select\n        t.id, t.username, t.state, t.create_time\n"
+                    + "    from (select id, username, state, create_time from user where state = ? order by create_time desc) t\n"
+                    + "    where t.username like ?\n    order by\n        case when t.state = '1' then 0 else 1 end,\n        t.create_time desc,\n        t.id";
+        }
+        throw new IllegalArgumentException("未知的查询 : " + name);
+    }
+}
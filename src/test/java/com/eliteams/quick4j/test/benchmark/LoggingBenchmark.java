@@ -0,0 +1,110 @@
+package com.eliteams.quick4j.test.benchmark;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.eliteams.quick4j.core.feature.logging.AsyncFileAppender;
+
+/**
+ * LoggingBenchmark : 开启日志时 4 个线程每秒可处理的请求数, 每个请求输出 5 条 INFO 日志到文件.
+ * <ul>
+ * <li>syncLocation : 原配置, FileAppender 同步写入, 每条刷新, 格式含调用位置</li>
+ * <li>sync : FileAppender 同步写入, 每条刷新, 格式不含调用位置</li>
+ * <li>async : AsyncFileAppender, 格式不含调用位置</li>
+ * </ul>
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:50
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String LOCATION_PATTERN = "[%-5p] %d{yyyy-MM-dd HH:mm:ss} %C{8}@(%F:%L):%m%n";
+
+    private static final String PATTERN = "[%-5p] %d{yyyy-MM-dd HH:mm:ss} [%t] %c:%m%n";
+
+    @Param({ "syncLocation", "sync", "async" })
+    private String mode;
+
+    private File file;
+
+    private FileAppender appender;
+
+    private Logger logger;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = File.createTempFile("logging-benchmark", ".log");
+        if ("async".equals(mode)) {
+            appender = new AsyncFileAppender();
+        } else {
+            appender = new FileAppender();
+        }
+        appender.setName("benchmark");
+        appender.setFile(file.getAbsolutePath());
+        appender.setAppend(false);
+        appender.setLayout(new PatternLayout("syncLocation".equals(mode) ? LOCATION_PATTERN : PATTERN));
+        appender.activateOptions();
+
+        logger = Logger.getLogger(LoggingBenchmark.class);
+        logger.removeAllAppenders();
+        logger.setAdditivity(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        logger.removeAllAppenders();
+        appender.close();
+        file.delete();
+    }
+
+    /**
+     * 模拟一次请求 : 少量计算及 5 条日志
+     */
+    @Benchmark
+    public void request(Blackhole blackhole) {
+        logger.info("request start, uri=/rest/user/login");
+        Blackhole.consumeCPU(500);
+        logger.info("user loaded, id=1");
+        Blackhole.consumeCPU(500);
+        logger.info("authorization passed");
+        Blackhole.consumeCPU(500);
+        logger.info("render view, name=index");
+        logger.info("request end, status=200");
+        blackhole.consume(logger);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(LoggingBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
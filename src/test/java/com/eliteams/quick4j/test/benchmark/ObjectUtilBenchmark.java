@@ -0,0 +1,157 @@
+package com.eliteams.quick4j.test.benchmark;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.eliteams.quick4j.core.util.ObjectUtil;
+import com.eliteams.quick4j.web.model.User;
+
+/**
+ * ObjectUtilBenchmark : 对比 ObjectUtil 原来的反射实现(每次 Introspector/getMethod/getDeclaredField)
+ * 与按类缓存 MethodHandle 的实现, 分别测试全属性比较, 按名字读取字段值及部分复制
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class ObjectUtilBenchmark {
+
+    private static final String[] FIELDS = { "id", "username", "password", "state", "createTime" };
+
+    private User user1;
+
+    private User user2;
+
+    @Setup
+    public void setUp() {
+        Date now = new Date();
+        user1 = new User("starzou", "123456");
+        user1.setId(1L);
+        user1.setState("1");
+        user1.setCreateTime(now);
+        user2 = new User("starzou", "123456");
+        user2.setId(1L);
+        user2.setState("1");
+        user2.setCreateTime(now);
+    }
+
+    @Benchmark
+    public boolean isSameReflection() throws Exception {
+        return legacyIsSame(user1, user2);
+    }
+
+    @Benchmark
+    public boolean isSameCached() {
+        return ObjectUtil.isSame(user1, user2);
+    }
+
+    @Benchmark
+    public void fieldValuesReflection(Blackhole blackhole) {
+        for (String field : FIELDS) {
+            blackhole.consume(legacyGetFieldValueByName(field, user1));
+        }
+    }
+
+    @Benchmark
+    public void fieldValuesCached(Blackhole blackhole) {
+        for (String field : FIELDS) {
+            blackhole.consume(ObjectUtil.getFieldValueByName(field, user1));
+        }
+    }
+
+    @Benchmark
+    public Object partCopyReflection() {
+        return legacyPartCopyNew(user1, "id", "username", "createTime");
+    }
+
+    @Benchmark
+    public Object partCopyCached() {
+        return ObjectUtil.partCopyNew(user1, "id", "username", "createTime");
+    }
+
+    // ---- 原来的实现, 作为对照 ----
+
+    private static boolean legacyIsSame(Object obj1, Object obj2) throws Exception {
+        Map<String, PropertyDescriptor> propDefMap1 = new HashMap<String, PropertyDescriptor>();
+        for (PropertyDescriptor pd : Introspector.getBeanInfo(obj1.getClass()).getPropertyDescriptors()) {
+            if (!"class".equals(pd.getName())) {
+                propDefMap1.put(pd.getName(), pd);
+            }
+        }
+        Map<String, PropertyDescriptor> propDefMap2 = propDefMap1;
+        for (String propName : propDefMap1.keySet().toArray(new String[propDefMap1.size()])) {
+            PropertyDescriptor pd1 = propDefMap1.get(propName);
+            PropertyDescriptor pd2 = propDefMap2.get(propName);
+            if (ObjectUtil.isNotEqual(pd1.getReadMethod().invoke(obj1), pd2.getReadMethod().invoke(obj2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object legacyGetFieldValueByName(String fieldName, Object o) {
+        try {
+            String firstLetter = fieldName.substring(0, 1).toUpperCase();
+            String getter = "get" + firstLetter + fieldName.substring(1);
+            Method method = o.getClass().getMethod(getter, new Class<?>[] {});
+            return method.invoke(o, new Object[] {});
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Object legacyPartCopyNew(Object source, String... propNames) {
+        try {
+            Class<?> c = source.getClass();
+            Object ret = c.newInstance();
+            for (String prop : propNames) {
+                Field field = legacyGetField(c, prop);
+                field.setAccessible(true);
+                field.set(ret, field.get(source));
+            }
+            return ret;
+        } catch (Exception e) {
+            throw new RuntimeException("ObjectUtil.partCopyNew exception", e);
+        }
+    }
+
+    private static Field legacyGetField(Class<?> c, String prop) {
+        try {
+            return c.getDeclaredField(prop);
+        } catch (NoSuchFieldException e) {
+            return c.getSuperclass() == null ? null : legacyGetField(c.getSuperclass(), prop);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ObjectUtilBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
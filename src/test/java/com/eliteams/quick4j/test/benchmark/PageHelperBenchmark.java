@@ -0,0 +1,123 @@
+package com.eliteams.quick4j.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.eliteams.quick4j.core.feature.orm.dialect.MySql5PageHepler;
+
+/**
+ * PageHelperBenchmark : 分页SQL改写基准测试, 对比每次重新解析与解析一次后缓存复用
+ *
+ * @author StarZou
+ * @since 2026-10-17 11:20
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageHelperBenchmark {
+
+    private String sql = "SELECT\n    u.id, u.username, u.state, u.create_time,\n    (select count(1) from user_role ur where ur.user_id = u.id) role_count\n"
+            + "FROM user u\n    LEFT JOIN user_role r ON r.user_id = u.id\nWHERE u.state = ?\n    AND u.create_time > ?\nORDER BY u.create_time DESC";
+
+    @Benchmark
+    public String countUncached() {
+        return UncachedPageHelper.getCountString(sql);
+    }
+
+    @Benchmark
+    public String countCached() {
+        return MySql5PageHepler.getCountString(sql);
+    }
+
+    @Benchmark
+    public String limitUncached() {
+        return UncachedPageHelper.getLimitString(sql, 200, 20);
+    }
+
+    @Benchmark
+    public String limitCached() {
+        return MySql5PageHepler.getLimitString(sql, 200, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(PageHelperBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+
+    /**
+     * 改写前的实现 : 每次调用都重新单行化SQL并编译正则查找插入点
+     */
+    static class UncachedPageHelper {
+
+        static String getCountString(String querySelect) {
+            querySelect = getLineSql(querySelect);
+            int orderIndex = getLastOrderInsertPoint(querySelect);
+
+            int formIndex = getAfterFormInsertPoint(querySelect);
+            String select = querySelect.substring(0, formIndex);
+
+            if (select.toLowerCase().indexOf("select distinct") != -1 || querySelect.toLowerCase().indexOf("group by") != -1) {
+                return new StringBuffer(querySelect.length()).append("select count(1) count from (").append(querySelect.substring(0, orderIndex)).append(" ) t").toString();
+            } else {
+                return new StringBuffer(querySelect.length()).append("select count(1) count ").append(querySelect.substring(formIndex, orderIndex)).toString();
+            }
+        }
+
+        static String getLimitString(String querySelect, int offset, int limit) {
+            querySelect = getLineSql(querySelect);
+            return querySelect + " limit " + offset + " ," + limit;
+        }
+
+        private static int getLastOrderInsertPoint(String querySelect) {
+            int orderIndex = querySelect.toLowerCase().lastIndexOf("order by");
+            if (orderIndex == -1) {
+                orderIndex = querySelect.length();
+            }
+            if (!isBracketCanPartnership(querySelect.substring(orderIndex, querySelect.length()))) {
+                throw new RuntimeException("My SQL 分页必须要有Order by 语句!");
+            }
+            return orderIndex;
+        }
+
+        private static String getLineSql(String sql) {
+            return sql.replaceAll("[\r\n]", " ").replaceAll("\\s{2,}", " ");
+        }
+
+        private static int getAfterFormInsertPoint(String querySelect) {
+            Pattern pattern = Pattern.compile("\\s+FROM\\s+", Pattern.CASE_INSENSITIVE);
+            Matcher matcher = pattern.matcher(querySelect);
+            while (matcher.find()) {
+                int fromStartIndex = matcher.start(0);
+                if (isBracketCanPartnership(querySelect.substring(0, fromStartIndex))) {
+                    return fromStartIndex;
+                }
+            }
+            return 0;
+        }
+
+        private static boolean isBracketCanPartnership(String text) {
+            int count = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char ch = text.charAt(i);
+                count = ch == '(' ? count + 1 : ch == ')' ? count - 1 : count;
+            }
+            return count == 0;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.eliteams.quick4j.test.benchmark;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.eliteams.quick4j.core.feature.orm.mybatis.CountMode;
+import com.eliteams.quick4j.core.feature.orm.mybatis.Page;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationResultSetHandlerInterceptor;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationStatementHandlerInterceptor;
+
+/**
+ * PaginationInterceptorBenchmark : 分页插件完整调用链基准测试, 使用 H2 内存数据库.
+ * <p/>
+ * 每次调用打开会话, 经 Mapper 查询一页后关闭, 包含方言识别、统计SQL、分页SQL改写及结果集处理. handWritten 为手写分页SQL的对照组
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:40
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationInterceptorBenchmark {
+
+    private static final int ROWS = 500;
+
+    private static final int PAGE_SIZE = 20;
+
+    @org.openjdk.jmh.annotations.Param({ "EXACT", "NONE" })
+    public String countMode;
+
+    @org.openjdk.jmh.annotations.Param({ "false", "true" })
+    public String countCacheEnabled;
+
+    private PooledDataSource dataSource;
+
+    private SqlSessionFactory sqlSessionFactory;
+
+    private int pageNo;
+
+    public interface OrderMapper {
+
+        @Select("SELECT o.id, o.amount, c.name customer_name FROM orders o LEFT JOIN customer c ON c.id = o.customer_id WHERE o.state = #{state} ORDER BY o.id DESC")
+        List<Map<String, Object>> selectByPage(Page<?> page, @Param("state") int state);
+
+        @Select("SELECT o.id, o.amount, c.name customer_name FROM orders o LEFT JOIN customer c ON c.id = o.customer_id WHERE o.state = #{state} ORDER BY o.id DESC LIMIT #{limit} OFFSET #{offset}")
+        List<Map<String, Object>> selectByLimit(@Param("state") int state, @Param("offset") int offset, @Param("limit") int limit);
+
+        @Insert("insert into orders (id, customer_id, state, amount) values (#{id}, #{customerId}, #{state}, #{amount})")
+        int insert(@Param("id") int id, @Param("customerId") int customerId, @Param("state") int state, @Param("amount") int amount);
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        // 每组参数使用独立的数据库, 方言及总数缓存互不影响
+        dataSource = new PooledDataSource("org.h2.Driver", "jdbc:h2:mem:pagination_" + countMode + "_" + countCacheEnabled + ";DB_CLOSE_DELAY=-1", "sa", "");
+        Configuration configuration = new Configuration(new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+
+        PaginationStatementHandlerInterceptor statementInterceptor = new PaginationStatementHandlerInterceptor();
+        Properties properties = new Properties();
+        properties.setProperty("countCacheEnabled", countCacheEnabled);
+        statementInterceptor.setProperties(properties);
+        configuration.addInterceptor(new PaginationResultSetHandlerInterceptor());
+        configuration.addInterceptor(statementInterceptor);
+        configuration.addMapper(OrderMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+        SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false);
+        try {
+            Statement statement = session.getConnection().createStatement();
+            statement.execute("create table customer (id int primary key, name varchar(32))");
+            statement.execute("create table orders (id int primary key, customer_id int, state int, amount int)");
+            statement.execute("create index idx_orders_state on orders (state, id)");
+            for (int i = 1; i <= 100; i++) {
+                statement.execute("insert into customer (id, name) values (" + i + ", 'customer" + i + "')");
+            }
+            statement.close();
+            OrderMapper mapper = session.getMapper(OrderMapper.class);
+            for (int i = 1; i <= ROWS; i++) {
+                mapper.insert(i, i % 100 + 1, i % 2, i * 10);
+            }
+            session.commit();
+        } finally {
+            session.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            session.getConnection().createStatement().execute("drop all objects");
+        } finally {
+            session.close();
+        }
+        dataSource.forceCloseAll();
+    }
+
+    @Benchmark
+    public int paginated() {
+        Page<Map<String, Object>> page = new Page<Map<String, Object>>(nextPageNo(), PAGE_SIZE);
+        page.setCountMode(CountMode.valueOf(countMode));
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            return session.getMapper(OrderMapper.class).selectByPage(page, 1).size() + page.getTotalCount();
+        } finally {
+            session.close();
+        }
+    }
+
+    @Benchmark
+    public int handWritten() {
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            return session.getMapper(OrderMapper.class).selectByLimit(1, (nextPageNo() - 1) * PAGE_SIZE, PAGE_SIZE).size();
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * 轮流查询前10页, 避开会话外的结果复用
+     */
+    private int nextPageNo() {
+        pageNo = pageNo % 10 + 1;
+        return pageNo;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(PaginationInterceptorBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
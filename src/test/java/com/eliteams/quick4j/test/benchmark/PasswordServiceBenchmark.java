@@ -0,0 +1,80 @@
+package com.eliteams.quick4j.test.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import com.eliteams.quick4j.core.feature.password.PasswordService;
+import com.eliteams.quick4j.core.util.PasswordHash;
+
+/**
+ * PasswordServiceBenchmark : 单线程(单核)每秒可计算的密码哈希数,
+ * 对比 PasswordHash(每次 SecretKeyFactory.getInstance) 与 PasswordService(线程缓存的 Mac)
+ *
+ * @author StarZou
+ * @since 2026-10-17 16:45
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(1)
+@Fork(1)
+public class PasswordServiceBenchmark {
+
+    @Param({ "1000", "64000" })
+    private int iterations;
+
+    private PasswordService passwordService;
+
+    private String legacyHash;
+
+    private String hash;
+
+    @Setup
+    public void setUp() throws Exception {
+        passwordService = new PasswordService();
+        passwordService.setAlgorithm("PBKDF2WithHmacSHA1");
+        passwordService.setIterations(iterations);
+        passwordService.setCacheSize(0);
+        passwordService.afterPropertiesSet();
+        hash = passwordService.hashNow("123456");
+        // PasswordHash 格式为 迭代次数:盐:哈希, 与上面的哈希相同
+        legacyHash = hash.substring(hash.indexOf(':') + 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordService.destroy();
+    }
+
+    @Benchmark
+    public boolean passwordHash() throws Exception {
+        return PasswordHash.validatePassword("123456", legacyHash);
+    }
+
+    @Benchmark
+    public boolean passwordService() throws Exception {
+        return passwordService.verifyNow("123456", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(PasswordServiceBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -1,10 +1,15 @@
 package com.eliteams.quick4j.test.dao;
 
+import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Resource;
 
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.Assert;
 import org.junit.Test;
 import com.eliteams.quick4j.core.feature.orm.mybatis.Page;
+import com.eliteams.quick4j.core.feature.test.LoadTest;
 import com.eliteams.quick4j.core.feature.test.TestSupport;
 import com.eliteams.quick4j.web.dao.mapper.UserMapper;
 import com.eliteams.quick4j.web.model.User;
@@ -26,4 +31,42 @@ public class UserMapperTest extends TestSupport {
         }
         end();
     }
+
+    @Test
+    public void test_streamByExample() {
+        start();
+        UserExample example = new UserExample();
+        example.setOrderByClause("id");
+        final List<User> streamed = new ArrayList<User>();
+        userMapper.streamByExample(example, new ResultHandler() {
+            @Override
+            public void handleResult(ResultContext context) {
+                // 逐条回调, 计数从 1 开始
+                Assert.assertEquals(streamed.size() + 1, context.getResultCount());
+                streamed.add((User) context.getResultObject());
+            }
+        });
+        end();
+
+        // 与一次性查询的结果相同, 按 id 升序
+        List<User> expected = userMapper.selectByExample(example);
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i).getId(), streamed.get(i).getId());
+            if (i > 0) {
+                Assert.assertTrue(streamed.get(i - 1).getId() < streamed.get(i).getId());
+            }
+        }
+    }
+
+    @Test
+    public void test_selectByPrimaryKey_load() throws Exception {
+        report(loadTest().warmUp(1000).iterations(10000).threads(4).run(new LoadTest.Task() {
+            @Override
+            public void run(int iteration) {
+                userMapper.selectByPrimaryKey(1L);
+            }
+        }));
+    }
 }
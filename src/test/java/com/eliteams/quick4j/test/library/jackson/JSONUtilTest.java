@@ -0,0 +1,116 @@
+package com.eliteams.quick4j.test.library.jackson;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.message.SystemMessage;
+import com.eliteams.quick4j.core.util.JSONPath;
+import com.eliteams.quick4j.core.util.JSONUtil;
+import com.eliteams.quick4j.web.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * JSONUtilTest : JSONUtil 的缓存及流式读写测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:35
+ */
+public class JSONUtilTest {
+
+    @Test
+    public void testCachedReaderAndWriter() {
+        Assert.assertSame(JSONUtil.getWriter(User.class), JSONUtil.getWriter(User.class));
+        Assert.assertSame(JSONUtil.getReader(User.class), JSONUtil.getReader(User.class));
+        Assert.assertSame(JSONUtil.getReader(new TypeReference<List<User>>() {
+        }), JSONUtil.getReader(new TypeReference<List<User>>() {
+        }));
+    }
+
+    @Test
+    public void testBytesAndStreams() throws IOException {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("starzou");
+
+        byte[] bytes = JSONUtil.toBytes(user);
+        Assert.assertArrayEquals(JSONUtil.toJSON(user).getBytes("UTF-8"), bytes);
+        Assert.assertEquals("starzou", JSONUtil.fromJSON(bytes, User.class).getUsername());
+
+        ClosedCheckingOutputStream out = new ClosedCheckingOutputStream();
+        JSONUtil.writeTo(out, user);
+        Assert.assertFalse(out.closed);
+        Assert.assertArrayEquals(bytes, out.toByteArray());
+        Assert.assertEquals(Long.valueOf(1L), JSONUtil.fromJSON(new ByteArrayInputStream(out.toByteArray()), User.class).getId());
+
+        List<User> users = JSONUtil.fromJSON("[" + new String(bytes, "UTF-8") + "]", new TypeReference<List<User>>() {
+        });
+        Assert.assertEquals("starzou", users.get(0).getUsername());
+        Assert.assertNull(JSONUtil.fromJSON("{", User.class));
+    }
+
+    @Test
+    public void testGenerator() throws IOException {
+        SystemMessage<List<String>> message = new SystemMessage<List<String>>();
+        message.setData(Arrays.asList("a", "b"));
+
+        ClosedCheckingOutputStream out = new ClosedCheckingOutputStream();
+        JsonGenerator generator = JSONUtil.createGenerator(out);
+        generator.writeStartObject();
+        JSONUtil.writeField(generator, "message", message);
+        JSONUtil.writeField(generator, "empty", null);
+        generator.writeEndObject();
+        generator.close();
+        Assert.assertFalse(out.closed);
+
+        Map<String, Object> result = JSONUtil.fromJSON(new String(out.toByteArray(), "UTF-8"), new TypeReference<Map<String, Object>>() {
+        });
+        Assert.assertEquals(Arrays.asList("a", "b"), ((Map<?, ?>) result.get("message")).get("data"));
+        Assert.assertTrue(result.containsKey("empty"));
+        Assert.assertEquals(message.toString(), JSONUtil.toJSON(message));
+    }
+
+    @Test
+    public void testReadValueFromJson() throws Exception {
+        String json = "{\"skip\":{\"name\":\"x\",\"list\":[1,{\"name\":\"y\"}]},"
+                + "\"data\":{\"users\":[{\"name\":\"a\",\"id\":1},{\"id\":2},{\"name\":null},{\"name\":{\"first\":\"b\"}}],"
+                + "\"total\":3.50,\"tags\":[\"t1\",\"t2\"]}}";
+        Assert.assertEquals(Arrays.asList("a", "null", "{first:b}"), JSONUtil.readValueFromJson(json, "data:users:name"));
+        Assert.assertEquals(Arrays.asList("3.50"), JSONUtil.readValueFromJson(json, "data:total"));
+        Assert.assertEquals(Arrays.asList("[t1,t2]"), JSONUtil.readValueFromJson(json, "data:tags"));
+        Assert.assertEquals(Arrays.asList("1", "2"), JSONUtil.readValueFromJson(json, "data:users:id"));
+        Assert.assertTrue(JSONUtil.readValueFromJson(json, "data:missing:name").isEmpty());
+        Assert.assertTrue(JSONUtil.readValueFromJson(json, "").isEmpty());
+        Assert.assertEquals(Arrays.asList("x"), JSONUtil.readValueFromJson(json, "skip:name"));
+
+        // 编译一次, 多次使用; 回调中可以直接读取值
+        JSONPath path = JSONPath.compile("data:users:id");
+        final AtomicInteger sum = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            JSONUtil.readValues(new ByteArrayInputStream(json.getBytes("UTF-8")), path, new JSONPath.Handler() {
+                @Override
+                public void onMatch(JsonParser parser) throws IOException {
+                    sum.addAndGet(parser.getIntValue());
+                }
+            });
+        }
+        Assert.assertEquals(9, sum.get());
+    }
+
+    private static class ClosedCheckingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
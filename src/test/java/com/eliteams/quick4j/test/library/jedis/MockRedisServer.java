@@ -0,0 +1,392 @@
+package com.eliteams.quick4j.test.library.jedis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MockRedisServer : 进程内的 redis 替身, 实现 RESP 协议及测试用到的命令, 用于不依赖真实 redis 的测试
+ * <p/>
+ * 支持 PING, SELECT, AUTH, QUIT, GET, SET [EX seconds], SETEX, MGET, MSET, DEL, EXISTS, EXPIRE, TTL, FLUSHDB,
+ * SCAN (一次返回全部, MATCH 只支持前缀*), PUBLISH, SUBSCRIBE, UNSUBSCRIBE
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:15
+ */
+public class MockRedisServer {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * 按 ISO-8859-1 把二进制key一一映射为字符串
+     */
+    private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+
+    private final ConcurrentMap<String, Value> data = new ConcurrentHashMap<String, Value>();
+
+    /**
+     * 收到的命令数
+     */
+    private final AtomicLong commandCount = new AtomicLong();
+
+    /**
+     * 频道 -> 订阅者的输出流
+     */
+    private final ConcurrentMap<String, Set<OutputStream>> subscribers = new ConcurrentHashMap<String, Set<OutputStream>>();
+
+    private ServerSocket serverSocket;
+
+    private final List<Socket> clients = new ArrayList<Socket>();
+
+    /**
+     * 在随机端口上启动
+     */
+    public MockRedisServer start() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        final Socket socket = serverSocket.accept();
+                        synchronized (clients) {
+                            clients.add(socket);
+                        }
+                        Thread handler = new Thread(new Runnable() {
+                            @Override
+                            public void run() {
+                                serve(socket);
+                            }
+                        }, "mock-redis-client");
+                        handler.setDaemon(true);
+                        handler.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            }
+        }, "mock-redis-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    public void stop() throws IOException {
+        serverSocket.close();
+        synchronized (clients) {
+            for (Socket socket : clients) {
+                socket.close();
+            }
+            clients.clear();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    /**
+     * 频道的订阅者数
+     */
+    public int getSubscriberCount(String channel) {
+        Set<OutputStream> outs = subscribers.get(channel);
+        return outs == null ? 0 : outs.size();
+    }
+
+    /**
+     * 取得key的剩余存活时间, 单位毫秒, 不过期返回 -1, 不存在返回 -2
+     */
+    public long ttlMillis(String key) {
+        Value value = live(key);
+        if (value == null) {
+            return -2;
+        }
+        return value.deadline == Long.MAX_VALUE ? -1 : value.deadline - System.currentTimeMillis();
+    }
+
+    private void serve(Socket socket) {
+        OutputStream out = null;
+        try {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                List<byte[]> command = readCommand(in);
+                if (command == null) {
+                    break;
+                }
+                commandCount.incrementAndGet();
+                boolean quit;
+                // 发布的消息会从其他线程写入订阅者的输出流
+                synchronized (out) {
+                    quit = execute(command, out);
+                    // 管道中的命令连续到达时合并写出
+                    if (in.available() == 0 || quit) {
+                        out.flush();
+                    }
+                }
+                if (quit) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // 客户端断开
+        } finally {
+            if (out != null) {
+                for (Set<OutputStream> outs : subscribers.values()) {
+                    outs.remove(out);
+                }
+            }
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    private boolean execute(List<byte[]> command, OutputStream out) throws IOException {
+        String name = new String(command.get(0), UTF_8).toUpperCase(Locale.ENGLISH);
+        if ("PING".equals(name)) {
+            writeStatus(out, "PONG");
+        } else if ("SELECT".equals(name) || "AUTH".equals(name) || "FLUSHDB".equals(name)) {
+            if ("FLUSHDB".equals(name)) {
+                data.clear();
+            }
+            writeStatus(out, "OK");
+        } else if ("QUIT".equals(name)) {
+            writeStatus(out, "OK");
+            return true;
+        } else if ("GET".equals(name)) {
+            Value value = live(key(command.get(1)));
+            writeBulk(out, value == null ? null : value.bytes);
+        } else if ("SET".equals(name)) {
+            long deadline = Long.MAX_VALUE;
+            if (command.size() >= 5 && "EX".equalsIgnoreCase(new String(command.get(3), UTF_8))) {
+                deadline = System.currentTimeMillis() + Long.parseLong(new String(command.get(4), UTF_8)) * 1000;
+            }
+            data.put(key(command.get(1)), new Value(command.get(2), deadline));
+            writeStatus(out, "OK");
+        } else if ("SETEX".equals(name)) {
+            long seconds = Long.parseLong(new String(command.get(2), UTF_8));
+            data.put(key(command.get(1)), new Value(command.get(3), System.currentTimeMillis() + seconds * 1000));
+            writeStatus(out, "OK");
+        } else if ("MGET".equals(name)) {
+            out.write(("*" + (command.size() - 1) + "\r\n").getBytes(UTF_8));
+            for (int i = 1; i < command.size(); i++) {
+                Value value = live(key(command.get(i)));
+                writeBulk(out, value == null ? null : value.bytes);
+            }
+        } else if ("MSET".equals(name)) {
+            for (int i = 1; i + 1 < command.size(); i += 2) {
+                data.put(key(command.get(i)), new Value(command.get(i + 1), Long.MAX_VALUE));
+            }
+            writeStatus(out, "OK");
+        } else if ("DEL".equals(name) || "EXISTS".equals(name)) {
+            long count = 0;
+            for (int i = 1; i < command.size(); i++) {
+                String key = key(command.get(i));
+                if ("DEL".equals(name) ? data.remove(key) != null : live(key) != null) {
+                    count++;
+                }
+            }
+            writeInteger(out, count);
+        } else if ("EXPIRE".equals(name)) {
+            Value value = live(key(command.get(1)));
+            if (value != null) {
+                value.deadline = System.currentTimeMillis() + Long.parseLong(new String(command.get(2), UTF_8)) * 1000;
+            }
+            writeInteger(out, value == null ? 0 : 1);
+        } else if ("SCAN".equals(name)) {
+            String prefix = "";
+            for (int i = 2; i + 1 < command.size(); i += 2) {
+                if ("MATCH".equalsIgnoreCase(new String(command.get(i), UTF_8))) {
+                    String pattern = new String(command.get(i + 1), UTF_8);
+                    prefix = pattern.endsWith("*") ? pattern.substring(0, pattern.length() - 1) : pattern;
+                }
+            }
+            List<String> keys = new ArrayList<String>();
+            for (String key : data.keySet()) {
+                if (key.startsWith(prefix) && live(key) != null) {
+                    keys.add(key);
+                }
+            }
+            out.write("*2\r\n".getBytes(UTF_8));
+            writeBulk(out, "0".getBytes(UTF_8));
+            out.write(("*" + keys.size() + "\r\n").getBytes(UTF_8));
+            for (String key : keys) {
+                writeBulk(out, key.getBytes(LATIN_1));
+            }
+        } else if ("PUBLISH".equals(name)) {
+            Set<OutputStream> outs = subscribers.get(key(command.get(1)));
+            long count = 0;
+            if (outs != null) {
+                for (OutputStream subscriber : outs) {
+                    synchronized (subscriber) {
+                        writeMessage(subscriber, "message", command.get(1), command.get(2));
+                        subscriber.flush();
+                    }
+                    count++;
+                }
+            }
+            writeInteger(out, count);
+        } else if ("SUBSCRIBE".equals(name)) {
+            for (int i = 1; i < command.size(); i++) {
+                String channel = key(command.get(i));
+                subscribers.putIfAbsent(channel, new CopyOnWriteArraySet<OutputStream>());
+                subscribers.get(channel).add(out);
+                writeMessage(out, "subscribe", command.get(i), null);
+                writeInteger(out, subscriptions(out));
+            }
+        } else if ("UNSUBSCRIBE".equals(name)) {
+            List<String> channels = new ArrayList<String>();
+            if (command.size() > 1) {
+                for (int i = 1; i < command.size(); i++) {
+                    channels.add(key(command.get(i)));
+                }
+            } else {
+                for (Map.Entry<String, Set<OutputStream>> entry : subscribers.entrySet()) {
+                    if (entry.getValue().contains(out)) {
+                        channels.add(entry.getKey());
+                    }
+                }
+            }
+            for (String channel : channels) {
+                Set<OutputStream> outs = subscribers.get(channel);
+                if (outs != null) {
+                    outs.remove(out);
+                }
+                writeMessage(out, "unsubscribe", channel.getBytes(LATIN_1), null);
+                writeInteger(out, subscriptions(out));
+            }
+        } else if ("TTL".equals(name)) {
+            long ttl = ttlMillis(key(command.get(1)));
+            writeInteger(out, ttl < 0 ? ttl : (ttl + 999) / 1000);
+        } else {
+            out.write(("-ERR unknown command '" + name + "'\r\n").getBytes(UTF_8));
+        }
+        return false;
+    }
+
+    private int subscriptions(OutputStream out) {
+        int count = 0;
+        for (Set<OutputStream> outs : subscribers.values()) {
+            if (outs.contains(out)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 写出订阅消息 : [type, channel, payload], payload 为null时只写前两项, 由调用者写第三项(订阅数)
+     */
+    private static void writeMessage(OutputStream out, String type, byte[] channel, byte[] payload) throws IOException {
+        out.write("*3\r\n".getBytes(UTF_8));
+        writeBulk(out, type.getBytes(UTF_8));
+        writeBulk(out, channel);
+        if (payload != null) {
+            writeBulk(out, payload);
+        }
+    }
+
+    private Value live(String key) {
+        Value value = data.get(key);
+        if (value != null && value.deadline <= System.currentTimeMillis()) {
+            data.remove(key, value);
+            return null;
+        }
+        return value;
+    }
+
+    private static String key(byte[] bytes) {
+        return new String(bytes, LATIN_1);
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        if (header.charAt(0) != '*') {
+            throw new IOException("inline commands are not supported : " + header);
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> command = new ArrayList<byte[]>(count);
+        for (int i = 0; i < count; i++) {
+            String length = readLine(in);
+            byte[] bytes = new byte[Integer.parseInt(length.substring(1))];
+            int read = 0;
+            while (read < bytes.length) {
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) {
+                    throw new IOException("unexpected end of stream");
+                }
+                read += n;
+            }
+            in.read();
+            in.read();
+            command.add(bytes);
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    private static void writeStatus(OutputStream out, String status) throws IOException {
+        out.write(("+" + status + "\r\n").getBytes(UTF_8));
+    }
+
+    private static void writeInteger(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(UTF_8));
+    }
+
+    private static void writeBulk(OutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.write("$-1\r\n".getBytes(UTF_8));
+            return;
+        }
+        out.write(("$" + bytes.length + "\r\n").getBytes(UTF_8));
+        out.write(bytes);
+        out.write("\r\n".getBytes(UTF_8));
+    }
+
+    private static final class Value {
+        private final byte[] bytes;
+        private volatile long deadline;
+
+        private Value(byte[] bytes, long deadline) {
+            this.bytes = bytes;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.eliteams.quick4j.test.library.jedis;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCache;
+import com.eliteams.quick4j.core.feature.cache.redis.SerializableRedisCodec;
+import com.eliteams.quick4j.web.model.User;
+
+/**
+ * RedisCacheTest : 基于进程内 redis 替身的 RedisCache 测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:30
+ */
+public class RedisCacheTest {
+
+    private MockRedisServer server;
+
+    private RedisCache redisCache;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockRedisServer().start();
+        redisCache = new RedisCache();
+        redisCache.setPort(server.getPort());
+        redisCache.setMaxTotal(4);
+        redisCache.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        redisCache.destroy();
+        server.stop();
+    }
+
+    @Test
+    public void testSetexInOneRoundTrip() {
+        long before = server.getCommandCount();
+        Assert.assertEquals("OK", redisCache.cache("anchor", "StarZou", 60));
+        Assert.assertEquals(1, server.getCommandCount() - before);
+        Assert.assertTrue(server.ttlMillis("anchor") > 0);
+        Assert.assertEquals("StarZou", redisCache.get("anchor"));
+
+        redisCache.cache("forever", "value", 0);
+        Assert.assertEquals(-1, server.ttlMillis("forever"));
+        Assert.assertEquals(Long.valueOf(2), redisCache.delete("anchor", "forever"));
+        Assert.assertNull(redisCache.get("anchor"));
+    }
+
+    @Test
+    public void testBatch() {
+        Map<String, String> values = new LinkedHashMap<String, String>();
+        values.put("k1", "v1");
+        values.put("k2", "v2");
+        redisCache.mset(values, 0);
+        Assert.assertEquals(Arrays.asList("v1", "v2", null), redisCache.mget("k1", "k2", "k3"));
+
+        long before = server.getCommandCount();
+        redisCache.mset(values, 30);
+        Assert.assertEquals(2, server.getCommandCount() - before);
+        Assert.assertTrue(server.ttlMillis("k2") > 0);
+    }
+
+    @Test
+    public void testCodec() {
+        User user = new User("starzou", null);
+        user.setId(1L);
+        redisCache.cache("user:1", user, 60, SerializableRedisCodec.INSTANCE);
+        Assert.assertEquals("starzou", ((User) redisCache.get("user:1", SerializableRedisCodec.INSTANCE)).getUsername());
+
+        Map<String, Object> users = new LinkedHashMap<String, Object>();
+        users.put("user:2", new User("second", null));
+        redisCache.mset(users, 60, SerializableRedisCodec.INSTANCE);
+        Map<String, Object> result = redisCache.mget(Arrays.asList("user:1", "user:2", "user:3"), SerializableRedisCodec.INSTANCE);
+        Assert.assertEquals(Arrays.asList("user:1", "user:2"), Arrays.asList(result.keySet().toArray()));
+        Assert.assertArrayEquals(new byte[] { 1, 2 }, bytes(redisCache, new byte[] { 1, 2 }));
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final int threads = 8;
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicInteger errors = new AtomicInteger();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < 100; i++) {
+                            String key = "c" + id + ":" + i;
+                            redisCache.cache(key, key, 60);
+                            if (!key.equals(redisCache.get(key))) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        done.await();
+        Assert.assertEquals(0, errors.get());
+        Assert.assertTrue(redisCache.getJedisPool().getNumActive() == 0);
+    }
+
+    private static byte[] bytes(RedisCache redisCache, byte[] value) {
+        byte[] key = "binary".getBytes();
+        redisCache.cache(key, value, 0);
+        List<byte[]> values = redisCache.mget(key);
+        return values.get(0);
+    }
+}
@@ -0,0 +1,174 @@
+package com.eliteams.quick4j.test.library.jedis;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.cache.redis.RedisCache;
+import com.eliteams.quick4j.core.feature.cache.tiered.TieredCache;
+import com.eliteams.quick4j.core.feature.cache.tiered.TieredCacheManager;
+import com.eliteams.quick4j.web.model.User;
+
+/**
+ * TieredCacheTest : 两个节点共享同一个 redis 替身, 测试两级缓存的读取, 失效通知和并发加载
+ *
+ * @author StarZou
+ * @since 2026-10-17 17:55
+ */
+public class TieredCacheTest {
+
+    private static final String CHANNEL = "cache:invalidation";
+
+    private MockRedisServer server;
+
+    private RedisCache redisCache;
+
+    private TieredCacheManager nodeA;
+
+    private TieredCacheManager nodeB;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockRedisServer().start();
+        redisCache = new RedisCache();
+        redisCache.setPort(server.getPort());
+        redisCache.setMaxTotal(16);
+        redisCache.afterPropertiesSet();
+        nodeA = createManager();
+        nodeB = createManager();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        nodeA.destroy();
+        nodeB.destroy();
+        redisCache.destroy();
+        server.stop();
+    }
+
+    @Test
+    public void testOnlyConfiguredNames() {
+        Assert.assertNotNull(nodeA.getCache("users"));
+        Assert.assertNull(nodeA.getCache("pageCounts"));
+        Assert.assertEquals(1, nodeA.getCacheNames().size());
+    }
+
+    @Test
+    public void testReadThroughRedisAndInvalidateOtherNode() throws Exception {
+        TieredCache usersA = (TieredCache) nodeA.getCache("users");
+        TieredCache usersB = (TieredCache) nodeB.getCache("users");
+        awaitSubscribers(2);
+
+        usersA.put(1L, user(1L, "StarZou"));
+        // 等待 B 收到这次写入的失效通知, 否则加载期间收到通知时结果不会放入 L1
+        Thread.sleep(50);
+        // B 的 L1 未命中, 从 redis 读取并放入 L1
+        Assert.assertEquals("StarZou", usersB.get(1L, User.class).getUsername());
+        Assert.assertNotNull(usersB.getLocalCache().get("1"));
+
+        // A 修改后 B 的 L1 被清除, 再次读取得到新值
+        usersA.put(1L, user(1L, "quick4j"));
+        awaitEvicted(usersB, "1");
+        Assert.assertEquals("quick4j", usersB.get(1L, User.class).getUsername());
+
+        usersB.evict(1L);
+        awaitEvicted(usersA, "1");
+        Assert.assertNull(usersA.get(1L));
+
+        usersA.put(2L, user(2L, "a"));
+        Assert.assertNotNull(usersB.get(2L));
+        usersA.clear();
+        awaitEvicted(usersB, "2");
+        Assert.assertNull(usersB.get(2L));
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        final TieredCache users = (TieredCache) nodeA.getCache("users");
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final Callable<User> loader = new Callable<User>() {
+            @Override
+            public User call() throws Exception {
+                loads.incrementAndGet();
+                loading.countDown();
+                Thread.sleep(200);
+                return user(3L, "loaded");
+            }
+        };
+        int threads = 8;
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicInteger results = new AtomicInteger();
+        for (int i = 0; i < threads; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        if ("loaded".equals(users.get(3L, loader).getUsername())) {
+                            results.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(threads, results.get());
+        Assert.assertEquals(0, loading.getCount());
+
+        // 结果同时写入了 redis, 另一个节点无需再次加载
+        TieredCache usersB = (TieredCache) nodeB.getCache("users");
+        Assert.assertEquals("loaded", usersB.get(3L, loader).getUsername());
+        Assert.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testRedisDown() throws Exception {
+        TieredCache users = (TieredCache) nodeA.getCache("users");
+        server.stop();
+        users.put(4L, user(4L, "local"));
+        Assert.assertEquals("local", users.get(4L, User.class).getUsername());
+        Assert.assertNull(users.get(5L));
+    }
+
+    private TieredCacheManager createManager() {
+        TieredCacheManager manager = new TieredCacheManager();
+        manager.setRedisCache(redisCache);
+        manager.setCacheNames("users", " ");
+        manager.setChannel(CHANNEL);
+        return manager;
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        for (int i = 0; i < 200 && server.getSubscriberCount(CHANNEL) < count; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(count, server.getSubscriberCount(CHANNEL));
+        // 等待订阅成功时的 L1 清空完成
+        Thread.sleep(50);
+    }
+
+    private static void awaitEvicted(TieredCache cache, String key) throws InterruptedException {
+        for (int i = 0; i < 200 && cache.getLocalCache().get(key) != null; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertNull(cache.getLocalCache().get(key));
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
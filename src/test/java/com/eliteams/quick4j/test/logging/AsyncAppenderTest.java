@@ -0,0 +1,172 @@
+package com.eliteams.quick4j.test.logging;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.MDC;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.spi.LoggingEvent;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.logging.AsyncEventQueue;
+import com.eliteams.quick4j.core.feature.logging.AsyncFileAppender;
+
+/**
+ * AsyncAppenderTest : 异步日志测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:45
+ */
+public class AsyncAppenderTest {
+
+    private static final Pattern DROPPED = Pattern.compile("丢弃了 (\\d+) 条");
+
+    @Test
+    public void testBlockWritesAllEvents() throws Exception {
+        File file = File.createTempFile("async-appender", ".log");
+        file.deleteOnExit();
+        AsyncFileAppender appender = new AsyncFileAppender();
+        appender.setName("test");
+        appender.setFile(file.getAbsolutePath());
+        appender.setAppend(false);
+        appender.setLayout(new PatternLayout("%t|%X{user}|%m%n"));
+        appender.setQueueSize(16);
+        appender.setBatchSize(4);
+        appender.activateOptions();
+
+        final Logger logger = Logger.getLogger("async.test.block");
+        logger.setAdditivity(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        try {
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        MDC.put("user", Thread.currentThread().getName());
+                        for (int j = 0; j < 500; j++) {
+                            logger.info("message " + j);
+                            logger.debug("ignored");
+                        }
+                        MDC.remove("user");
+                    }
+                }, "writer-" + i);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            logger.removeAppender(appender);
+            appender.close();
+        }
+
+        List<String> lines = Files.readAllLines(file.toPath(), Charset.forName("UTF-8"));
+        Assert.assertEquals(4 * 500, lines.size());
+        for (String line : lines) {
+            // 线程名及 MDC 在调用线程中取得
+            String[] parts = line.split("\\|");
+            Assert.assertTrue(parts[0].startsWith("writer-"));
+            Assert.assertEquals(parts[0], parts[1]);
+        }
+        Assert.assertEquals(0, appender.getQueue().getDroppedCount());
+
+        // 关闭后不再接收
+        appender.doAppend(new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "after close", null));
+        Assert.assertEquals(0, appender.getQueue().size());
+    }
+
+    @Test
+    public void testDropBelowWarn() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger written = new AtomicInteger();
+        final AtomicInteger warnings = new AtomicInteger();
+        final AtomicInteger reported = new AtomicInteger();
+        AsyncEventQueue queue = new AsyncEventQueue("async-test-drop", 4, 2, AsyncEventQueue.DROP, new AsyncEventQueue.BatchWriter() {
+            @Override
+            public void write(List<LoggingEvent> batch) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (LoggingEvent event : batch) {
+                    if (event.getLevel() == Level.WARN) {
+                        warnings.incrementAndGet();
+                        Matcher matcher = DROPPED.matcher(event.getRenderedMessage());
+                        Assert.assertTrue(matcher.find());
+                        reported.addAndGet(Integer.parseInt(matcher.group(1)));
+                    } else {
+                        written.incrementAndGet();
+                    }
+                }
+            }
+        });
+        Logger logger = Logger.getLogger("async.test.drop");
+        for (int i = 0; i < 20; i++) {
+            queue.put(new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "message " + i, null), false);
+        }
+        // 后台线程最多取走一批, 其余超出容量的 INFO 日志被丢弃
+        Assert.assertTrue(queue.getDroppedCount() >= 20 - 4 - 2);
+        long dropped = queue.getDroppedCount();
+
+        release.countDown();
+        queue.close(5000);
+        Assert.assertEquals(0, queue.size());
+        Assert.assertEquals(20 - dropped, written.get());
+        // 丢弃的条数随后续批次输出, 可能分在多条 WARN 日志中
+        Assert.assertTrue(warnings.get() >= 1);
+        Assert.assertEquals(dropped, reported.get());
+    }
+
+    @Test(timeout = 5000)
+    public void testWorkerSurvivesError() throws Exception {
+        final AtomicInteger written = new AtomicInteger();
+        AsyncEventQueue queue = new AsyncEventQueue("async-test-error", 2, 1, AsyncEventQueue.BLOCK, new AsyncEventQueue.BatchWriter() {
+            @Override
+            public void write(List<LoggingEvent> batch) {
+                if ("message 0".equals(batch.get(0).getRenderedMessage())) {
+                    throw new NoClassDefFoundError("layout");
+                }
+                written.addAndGet(batch.size());
+            }
+        });
+        Logger logger = Logger.getLogger("async.test.error");
+        for (int i = 0; i < 20; i++) {
+            queue.put(new LoggingEvent(Logger.class.getName(), logger, Level.INFO, "message " + i, null), false);
+        }
+        queue.close(5000);
+        Assert.assertEquals(19, written.get());
+        Assert.assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test(timeout = 5000)
+    public void testBlockedPutGivesUpAfterClose() {
+        AsyncEventQueue queue = new AsyncEventQueue("async-test-closed", 1, 1, AsyncEventQueue.BLOCK, new AsyncEventQueue.BatchWriter() {
+            @Override
+            public void write(List<LoggingEvent> batch) {
+            }
+        });
+        queue.close(5000);
+        // 后台线程已停止, 队列满后不再等待
+        Logger logger = Logger.getLogger("async.test.closed");
+        for (int i = 0; i < 3; i++) {
+            queue.put(new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "message " + i, null), false);
+        }
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(2, queue.getDroppedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPolicy() {
+        new AsyncEventQueue("async-test-policy", 4, 2, "discard", null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.eliteams.quick4j.test.metrics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.metrics.LatencyHistogram;
+
+/**
+ * LatencyHistogramTest : 耗时分布测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 18:25
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getPercentile(99));
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000);
+        }
+        Assert.assertEquals(10000, histogram.getCount());
+        Assert.assertEquals(10000000, histogram.getMax());
+        assertWithin(5000000, histogram.getPercentile(50));
+        assertWithin(9900000, histogram.getPercentile(99));
+        assertWithin(9990000, histogram.getPercentile(99.9));
+        Assert.assertEquals(10000000, histogram.getPercentile(100));
+        Assert.assertEquals(5000500D, histogram.getMean(), 0.001D);
+
+        Map<String, Object> summary = histogram.summary(TimeUnit.MILLISECONDS);
+        Assert.assertEquals(10000L, summary.get("count"));
+        Assert.assertEquals(10D, summary.get("max"));
+
+        LatencyHistogram other = new LatencyHistogram();
+        other.record(3);
+        other.add(histogram);
+        Assert.assertEquals(10001, other.getCount());
+        Assert.assertEquals(3, other.getPercentile(0));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentile(50));
+    }
+
+    /**
+     * 百分位取桶的上界, 相对误差不超过 1/16
+     */
+    private static void assertWithin(long expected, long actual) {
+        Assert.assertTrue(expected + " <= " + actual, actual >= expected);
+        Assert.assertTrue(actual + " <= " + expected + " * 17 / 16", actual <= expected * 17 / 16);
+    }
+}
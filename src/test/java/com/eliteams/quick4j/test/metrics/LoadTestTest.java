@@ -0,0 +1,74 @@
+package com.eliteams.quick4j.test.metrics;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.test.LoadTest;
+import com.eliteams.quick4j.core.feature.test.LoadTestResult;
+import com.eliteams.quick4j.core.util.JSONUtil;
+
+/**
+ * LoadTestTest : 微型压测测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:00
+ */
+public class LoadTestTest {
+
+    @Test
+    public void testConcurrentIterations() throws Exception {
+        final Map<Integer, String> seen = new ConcurrentHashMap<Integer, String>();
+        final Map<String, Boolean> threads = new ConcurrentHashMap<String, Boolean>();
+        LoadTestResult result = new LoadTest("concurrent").warmUp(0).iterations(1001).threads(4).run(new LoadTest.Task() {
+            @Override
+            public void run(int iteration) throws Exception {
+                seen.put(iteration, Thread.currentThread().getName());
+                threads.put(Thread.currentThread().getName(), Boolean.TRUE);
+                if (iteration % 100 == 0) {
+                    throw new IllegalStateException("iteration " + iteration);
+                }
+            }
+        });
+        Assert.assertEquals(1001, seen.size());
+        Assert.assertTrue(seen.containsKey(0) && seen.containsKey(1000));
+        Assert.assertTrue(threads.size() > 1);
+        Assert.assertEquals(1001, result.getLatency().getCount());
+        Assert.assertEquals(11, result.getErrors());
+        Assert.assertTrue(result.getFirstError() instanceof IllegalStateException);
+        Assert.assertTrue(result.getThroughput() > 0);
+    }
+
+    @Test
+    public void testWarmUpAndJson() throws Exception {
+        final int[] calls = new int[1];
+        LoadTestResult result = new LoadTest("json").warmUp(50).iterations(200).run(new LoadTest.Task() {
+            @Override
+            public void run(int iteration) throws Exception {
+                calls[0]++;
+                Thread.sleep(0, 1000);
+            }
+        });
+        Assert.assertEquals(250, calls[0]);
+        Assert.assertEquals(200, result.getLatency().getCount());
+        Assert.assertEquals(0, result.getErrors());
+
+        File file = new File("target/load-test/LoadTestTest.json");
+        result.writeJson(file);
+        InputStream in = new FileInputStream(file);
+        Map<?, ?> json;
+        try {
+            json = JSONUtil.fromJSON(in, Map.class);
+        } finally {
+            in.close();
+        }
+        Assert.assertEquals("json", json.get("name"));
+        Assert.assertEquals(200, json.get("iterations"));
+        Map<?, ?> latency = (Map<?, ?>) json.get("latencyMicros");
+        Assert.assertEquals(200, latency.get("count"));
+        Assert.assertTrue(((Number) latency.get("p999")).doubleValue() >= ((Number) latency.get("p50")).doubleValue());
+    }
+}
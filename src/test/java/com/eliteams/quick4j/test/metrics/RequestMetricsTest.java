@@ -0,0 +1,149 @@
+package com.eliteams.quick4j.test.metrics;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.apache.shiro.authc.UsernamePasswordToken;
+import org.apache.shiro.realm.Realm;
+import org.apache.shiro.realm.SimpleAccountRealm;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import com.eliteams.quick4j.core.feature.metrics.RequestMetrics;
+import com.eliteams.quick4j.core.feature.metrics.RequestStatistics;
+import com.eliteams.quick4j.core.feature.metrics.RequestTiming;
+import com.eliteams.quick4j.web.filter.RequestTimingFilter;
+import com.eliteams.quick4j.web.interceptors.RequestTimingInterceptor;
+import com.eliteams.quick4j.web.security.TimingAuthenticator;
+
+/**
+ * RequestMetricsTest : 请求计时过滤器及拦截器测试, 模拟 DispatcherServlet 调用拦截器
+ *
+ * @author StarZou
+ * @since 2026-10-17 21:25
+ */
+public class RequestMetricsTest {
+
+    private final RequestMetrics requestMetrics = new RequestMetrics();
+
+    private final RequestTimingFilter filter = new RequestTimingFilter();
+
+    private final RequestTimingInterceptor interceptor = new RequestTimingInterceptor();
+
+    public RequestMetricsTest() {
+        filter.setRequestMetrics(requestMetrics);
+    }
+
+    @Test
+    public void testPhases() throws Exception {
+        final SimpleAccountRealm realm = new SimpleAccountRealm();
+        realm.addAccount("starzou", "123456");
+        final TimingAuthenticator authenticator = new TimingAuthenticator();
+        authenticator.setRealms(Collections.<Realm> singletonList(realm));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/rest/user/login");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/user/login");
+        filter.doFilter(request, new MockHttpServletResponse(), new DispatcherChain(new Runnable() {
+            @Override
+            public void run() {
+                authenticator.authenticate(new UsernamePasswordToken("starzou", "123456"));
+                sleep(30);
+            }
+        }, 5));
+
+        RequestStatistics login = requestMetrics.getStatistics("POST /user/login");
+        Assert.assertEquals(1, login.getCount());
+        Assert.assertEquals(0, login.getErrors());
+        Assert.assertTrue(login.getPhase("auth").getMax() > 0);
+        Assert.assertTrue(login.getPhase("handler").getMax() >= 25000000L);
+        Assert.assertTrue(login.getPhase("view").getMax() >= 4000000L);
+        Assert.assertTrue(login.getTotal().getMax() >= login.getPhase("handler").getMax() + login.getPhase("view").getMax());
+        Assert.assertNull(RequestTiming.current());
+
+        Map<String, Object> map = requestMetrics.toMap();
+        Map<?, ?> breakdown = (Map<?, ?>) ((Map<?, ?>) map.get("POST /user/login")).get("breakdown");
+        Assert.assertTrue(((Double) breakdown.get("handler")) > 0.5D);
+    }
+
+    @Test
+    public void testUnmappedAndError() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/assets/app.js"), response, new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+            }
+        });
+        Assert.assertEquals(1, requestMetrics.getStatistics(RequestMetrics.UNMAPPED).getCount());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/user/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/user/{id}");
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new DispatcherChain(new Runnable() {
+                @Override
+                public void run() {
+                    throw new IllegalStateException("controller error");
+                }
+            }, 0));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // 控制器异常向上抛出
+        }
+        RequestStatistics user = requestMetrics.getStatistics("GET /user/{id}");
+        Assert.assertEquals(1, user.getErrors());
+        Assert.assertEquals(0, user.getPhase("view").getMax());
+
+        requestMetrics.reset();
+        Assert.assertEquals(0, user.getCount());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 按 DispatcherServlet 的顺序调用拦截器 : preHandle, 控制器, postHandle, 视图渲染, afterCompletion
+     */
+    private class DispatcherChain implements FilterChain {
+        private final Runnable handler;
+        private final long renderMillis;
+
+        private DispatcherChain(Runnable handler, long renderMillis) {
+            this.handler = handler;
+            this.renderMillis = renderMillis;
+        }
+
+        @Override
+        public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse) throws IOException, ServletException {
+            HttpServletRequest request = (HttpServletRequest) servletRequest;
+            HttpServletResponse response = (HttpServletResponse) servletResponse;
+            try {
+                interceptor.preHandle(request, response, handler);
+                try {
+                    handler.run();
+                } catch (RuntimeException e) {
+                    interceptor.afterCompletion(request, response, handler, e);
+                    throw e;
+                }
+                interceptor.postHandle(request, response, handler, null);
+                sleep(renderMillis);
+                interceptor.afterCompletion(request, response, handler, null);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ServletException(e);
+            }
+        }
+    }
+}
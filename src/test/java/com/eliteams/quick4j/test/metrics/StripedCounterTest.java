@@ -0,0 +1,41 @@
+package com.eliteams.quick4j.test.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.metrics.StripedCounter;
+
+/**
+ * StripedCounterTest : 分段计数器测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:45
+ */
+public class StripedCounterTest {
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        final StripedCounter counter = new StripedCounter(3);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        counter.increment();
+                    }
+                    counter.add(5);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(8 * 10005, counter.sum());
+
+        counter.reset();
+        Assert.assertEquals(0, counter.sum());
+        counter.add(-2);
+        Assert.assertEquals("-2", counter.toString());
+    }
+}
@@ -0,0 +1,162 @@
+package com.eliteams.quick4j.test.orm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.eliteams.quick4j.core.feature.orm.mybatis.BatchTemplate;
+
+/**
+ * BatchTemplateTest : 批量操作测试, 使用 H2 内存数据库
+ *
+ * @author StarZou
+ * @since 2026-10-17 13:40
+ */
+public class BatchTemplateTest {
+
+    private static final String NAMESPACE = BatchMapper.class.getName();
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private static BatchTemplate batchTemplate;
+
+    private static DataSource dataSource;
+
+    /**
+     * 使用 Spring 管理事务的配置
+     */
+    private static SqlSessionFactory springSqlSessionFactory;
+
+    public interface BatchMapper {
+
+        @Insert("<script>insert into batch_item (id, name) values <foreach collection='list' item='item' separator=','>(#{item.id}, #{item.name})</foreach></script>")
+        int insertBatch(List<Item> items);
+
+        @Update("update batch_item set name = #{name} where id = #{id}")
+        int updateByPrimaryKeySelective(Item item);
+
+        @Delete("<script>delete from batch_item where id in <foreach collection='list' item='id' open='(' separator=',' close=')'>#{id}</foreach></script>")
+        int deleteByIds(List<Integer> ids);
+
+        @Select("select count(1) from batch_item where name like #{name}")
+        int countByName(@Param("name") String name);
+    }
+
+    public static class Item {
+        private int id;
+        private String name;
+
+        public Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    @BeforeClass
+    public static void init() throws Exception {
+        dataSource = new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1", "sa", "");
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addMapper(BatchMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            session.getConnection().createStatement().execute("create table batch_item (id int primary key, name varchar(32))");
+        } finally {
+            session.close();
+        }
+
+        Configuration springConfiguration = new Configuration(new Environment("spring", new SpringManagedTransactionFactory(), dataSource));
+        springConfiguration.addMapper(BatchMapper.class);
+        springSqlSessionFactory = new SqlSessionFactoryBuilder().build(springConfiguration);
+
+        batchTemplate = new BatchTemplate();
+        batchTemplate.setSqlSessionFactory(sqlSessionFactory);
+        batchTemplate.setFlushSize(100);
+    }
+
+    @Test
+    public void testBatch() {
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 1; i <= 250; i++) {
+            items.add(new Item(i, "item" + i));
+        }
+        Assert.assertTrue(batchTemplate.supportsMultiRowInsert());
+        Assert.assertEquals(250, batchTemplate.updateInChunks(NAMESPACE + ".insertBatch", items));
+        Assert.assertEquals(250, count("item%"));
+
+        List<Item> updates = new ArrayList<Item>();
+        for (int i = 1; i <= 150; i++) {
+            updates.add(new Item(i, "updated" + i));
+        }
+        Assert.assertEquals(150, batchTemplate.update(NAMESPACE + ".updateByPrimaryKeySelective", updates));
+        Assert.assertEquals(150, count("updated%"));
+
+        Assert.assertEquals(3, batchTemplate.updateInChunks(NAMESPACE + ".deleteByIds", Arrays.asList(1, 2, 3)));
+        Assert.assertEquals(147, count("updated%"));
+    }
+
+    @Test
+    public void testMixedExecutorsInTransaction() {
+        final BatchMapper mapper = new SqlSessionTemplate(springSqlSessionFactory).getMapper(BatchMapper.class);
+        final BatchTemplate springBatchTemplate = new BatchTemplate();
+        springBatchTemplate.setSqlSessionFactory(springSqlSessionFactory);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                // 普通执行器查询后再批量写入, 再查询
+                Assert.assertEquals(0, mapper.countByName("tx%"));
+                Assert.assertEquals(3, springBatchTemplate.updateInChunks(NAMESPACE + ".insertBatch",
+                        Arrays.asList(new Item(1001, "tx1001"), new Item(1002, "tx1002"), new Item(1003, "tx1003"))));
+                Assert.assertEquals(3, mapper.countByName("tx%"));
+
+                Assert.assertEquals(2, springBatchTemplate.update(NAMESPACE + ".updateByPrimaryKeySelective",
+                        Arrays.asList(new Item(1001, "txu1001"), new Item(1002, "txu1002"))));
+                Assert.assertEquals(2, mapper.countByName("txu%"));
+                status.setRollbackOnly();
+            }
+        });
+        // 批量写入在事务中, 随事务回滚
+        Assert.assertEquals(0, count("tx%"));
+    }
+
+    private int count(String name) {
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            return session.getMapper(BatchMapper.class).countByName(name);
+        } finally {
+            session.close();
+        }
+    }
+}
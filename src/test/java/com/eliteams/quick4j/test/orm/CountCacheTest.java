@@ -0,0 +1,96 @@
+package com.eliteams.quick4j.test.orm;
+
+import java.util.Properties;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.orm.mybatis.CountCacheKey;
+import com.eliteams.quick4j.core.feature.orm.mybatis.EhCacheCountCache;
+import com.eliteams.quick4j.core.feature.orm.mybatis.LocalCountCache;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SqlTables;
+
+/**
+ * CountCacheTest : 分页总数缓存测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 10:40
+ */
+public class CountCacheTest {
+
+    private static final String COUNT_SQL = "select count(1) count from user u left join user_role ur on u.id = ur.user_id where u.state = ?";
+
+    @Test
+    public void testHitAndInvalidate() {
+        LocalCountCache cache = new LocalCountCache();
+        CountCacheKey key = new CountCacheKey(COUNT_SQL, new Object[] { "1" });
+
+        Assert.assertNull(cache.get(key));
+        cache.put(key, 42);
+        Assert.assertEquals(Integer.valueOf(42), cache.get(new CountCacheKey(COUNT_SQL, new Object[] { "1" })));
+        Assert.assertNull(cache.get(new CountCacheKey(COUNT_SQL, new Object[] { "2" })));
+
+        cache.invalidate("role");
+        Assert.assertEquals(Integer.valueOf(42), cache.get(key));
+        cache.invalidate(SqlTables.getWriteTable("insert into `user_role` (user_id, role_id) values (?, ?)"));
+        Assert.assertNull(cache.get(key));
+
+        Assert.assertEquals(2, cache.getStatistics().getHitCount());
+        Assert.assertEquals(3, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testSizeBound() {
+        LocalCountCache cache = new LocalCountCache();
+        Properties properties = new Properties();
+        properties.setProperty("countCacheSize", "1");
+        cache.setProperties(properties);
+
+        cache.put(new CountCacheKey(COUNT_SQL, new Object[] { "1" }), 1);
+        cache.put(new CountCacheKey(COUNT_SQL, new Object[] { "2" }), 2);
+        Assert.assertNull(cache.get(new CountCacheKey(COUNT_SQL, new Object[] { "1" })));
+        Assert.assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testEhCacheRegion() {
+        Configuration configuration = new Configuration().name("countCacheTest");
+        configuration.addCache(new CacheConfiguration("pageCounts", 1).timeToLiveSeconds(60));
+        CacheManager cacheManager = new CacheManager(configuration);
+        try {
+            EhCacheCountCache cache = new EhCacheCountCache();
+            Properties properties = new Properties();
+            properties.setProperty("countCacheManagerName", "countCacheTest");
+            cache.setProperties(properties);
+            CountCacheKey key = new CountCacheKey(COUNT_SQL, new Object[] { "1" });
+
+            Assert.assertNull(cache.get(key));
+            cache.put(key, 42);
+            Assert.assertEquals(Integer.valueOf(42), cache.get(new CountCacheKey(COUNT_SQL, new Object[] { "1" })));
+            cache.invalidate("role");
+            Assert.assertEquals(Integer.valueOf(42), cache.get(key));
+            cache.invalidate("user_role");
+            Assert.assertNull(cache.get(key));
+
+            // 区域只能放一条, 第二条淘汰第一条
+            cache.put(key, 1);
+            cache.put(new CountCacheKey(COUNT_SQL, new Object[] { "2" }), 2);
+            Assert.assertEquals(1, ((Cache) cache.getCache()).getSize());
+            Assert.assertEquals(1, cache.getStatistics().getEvictionCount());
+            Assert.assertEquals(2, cache.getStatistics().getHitCount());
+            Assert.assertEquals(2, cache.getStatistics().getMissCount());
+            Assert.assertEquals(4, cache.getStatistics().getGetLatency().getCount());
+        } finally {
+            cacheManager.shutdown();
+        }
+    }
+
+    @Test
+    public void testTables() {
+        Assert.assertTrue(SqlTables.getReadTables(COUNT_SQL).contains("user_role"));
+        Assert.assertEquals("user", SqlTables.getWriteTable("UPDATE quick4j.`user` SET state = ?"));
+        Assert.assertEquals("permission", SqlTables.getWriteTable("delete from permission where id = ?"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.eliteams.quick4j.test.orm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.orm.dialect.MSPageHepler;
+import com.eliteams.quick4j.core.feature.orm.dialect.MySql5PageHepler;
+import com.eliteams.quick4j.core.feature.orm.dialect.OracleDialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.PostgrePageHepler;
+
+/**
+ * PageHelperTest : 分页SQL改写测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 11:25
+ */
+public class PageHelperTest {
+
+    private static final String SQL = "select id, username\n  from user\n where state = ?\n order by id";
+
+    @Test
+    public void testMySql() {
+        Assert.assertEquals("select count(1) count  from user where state = ? ", MySql5PageHepler.getCountString(SQL));
+        Assert.assertEquals("select id, username from user where state = ? order by id limit 20 ,10", MySql5PageHepler.getLimitString(SQL, 20, 10));
+        Assert.assertEquals("select id, username from user where state = ? order by id limit 30 ,10", MySql5PageHepler.getLimitString(SQL, 30, 10));
+        Assert.assertTrue(MySql5PageHepler.getSqlCache().getStatistics().getHitCount() >= 2);
+    }
+
+    @Test
+    public void testPostgreAndMS() {
+        Assert.assertEquals("select id, username from user where state = ? order by id LIMIT 10 OFFSET 20", PostgrePageHepler.getLimitString(SQL, 20, 10));
+        Assert.assertEquals("SELECT * FROM(SELECT ROW_NUMBER () OVER (ORDER BY getdate()) rownum,* FROM( SELECT TOP 30 id, username from user where state = ? order by id ) A ) B WHERE B.rownum > 20 AND B.rownum <= 30",
+                MSPageHepler.getLimitString(SQL, 20, 10));
+    }
+
+    @Test
+    public void testOracleCount() {
+        OracleDialect dialect = new OracleDialect();
+        Assert.assertEquals("select count(1) count  from user where state = ? ", dialect.getCountString(SQL));
+        Assert.assertEquals("select count(1) count from (select distinct state from user  ) t", dialect.getCountString("select distinct state from user order by state"));
+    }
+
+    @Test
+    public void testDistinctAndInvalidOrder() {
+        String distinct = "select distinct state from user order by state";
+        Assert.assertEquals("select count(1) count from (select distinct state from user  ) t", MySql5PageHepler.getCountString(distinct));
+
+        String invalid = "select id from user order by (id";
+        Assert.assertEquals("select id from user order by (id limit 0 ,10", MySql5PageHepler.getLimitString(invalid, 0, 10));
+        try {
+            MySql5PageHepler.getCountString(invalid);
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals("My SQL 分页必须要有Order by 语句!", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testSeek() {
+        String[] columns = { "create_time", "id" };
+        Assert.assertEquals("select id, username from user where state = ? ORDER BY create_time ASC, id ASC limit 10",
+                MySql5PageHepler.getSeekString(SQL, columns, false, false, 10));
+        Assert.assertEquals("select id, username from user WHERE (state = ?) AND (create_time, id) > (?, ?) ORDER BY create_time ASC, id ASC limit 10",
+                MySql5PageHepler.getSeekString(SQL, columns, false, true, 10));
+        Assert.assertEquals("select id, username from user WHERE id < ? ORDER BY id DESC LIMIT 10",
+                PostgrePageHepler.getSeekString("select id, username from user order by id", new String[] { "id" }, true, true, 10));
+
+        String subQuery = "select * from (select id from user where state = ?) u where u.id in (select user_id from user_role where role_id = ?) order by u.id";
+        Assert.assertEquals("select * from (select id from user where state = ?) u WHERE (u.id in (select user_id from user_role where role_id = ?)) AND u.id > ? ORDER BY u.id ASC limit 5",
+                MySql5PageHepler.getSeekString(subQuery, new String[] { "u.id" }, false, true, 5));
+    }
+
+    @Test
+    public void testEstimate() {
+        Assert.assertEquals("EXPLAIN select id, username from user where state = ? order by id", MySql5PageHepler.getEstimateCountString(SQL));
+        Assert.assertEquals("SELECT reltuples::bigint AS rows FROM pg_class WHERE oid = CAST(? AS regclass)", PostgrePageHepler.getEstimateCountString(SQL));
+        Assert.assertArrayEquals(new Object[] { "user" }, PostgrePageHepler.getEstimateCountParameters(SQL));
+        Assert.assertArrayEquals(new Object[] { "public.\"User\"" }, PostgrePageHepler.getEstimateCountParameters("select * from public.\"User\" order by id"));
+        Assert.assertNull(PostgrePageHepler.getEstimateCountString("select * from (select id from user) u"));
+    }
+}
@@ -0,0 +1,371 @@
+package com.eliteams.quick4j.test.orm;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import javax.sql.DataSource;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.eliteams.quick4j.core.feature.orm.dialect.Dialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.MSDialect;
+import com.eliteams.quick4j.core.feature.orm.dialect.PostgreDialect;
+import com.eliteams.quick4j.core.feature.orm.mybatis.CountMode;
+import com.eliteams.quick4j.core.feature.orm.mybatis.Page;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationResultSetHandlerInterceptor;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationStatementHandlerInterceptor;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SeekPage;
+
+/**
+ * PaginationInterceptorTest : 分页插件测试, 使用 H2 内存数据库, 方言自动识别
+ *
+ * @author StarZou
+ * @since 2026-10-17 12:40
+ */
+public class PaginationInterceptorTest {
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private static PaginationStatementHandlerInterceptor statementInterceptor;
+
+    private SqlSession sqlSession;
+
+    private ItemMapper itemMapper;
+
+    public interface ItemMapper {
+
+        @Select("select id, name from item where id > #{minId} order by id")
+        List<Map<String, Object>> selectByPage(Page<?> page, @Param("minId") int minId);
+
+        @Insert("insert into item (id, name) values (#{id}, #{name})")
+        int insert(@Param("id") int id, @Param("name") String name);
+
+        @Delete("delete from item where id = #{id}")
+        int delete(@Param("id") int id);
+    }
+
+    @BeforeClass
+    public static void init() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:pagination;DB_CLOSE_DELAY=-1", "sa", "");
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+
+        statementInterceptor = new PaginationStatementHandlerInterceptor();
+        Properties properties = new Properties();
+        properties.setProperty("countCacheEnabled", "true");
+        properties.setProperty("parallelCountEnabled", "true");
+        statementInterceptor.setProperties(properties);
+        configuration.addInterceptor(new PaginationResultSetHandlerInterceptor());
+        configuration.addInterceptor(statementInterceptor);
+        configuration.addMapper(ItemMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            session.getConnection().createStatement().execute("create table item (id int primary key, name varchar(32))");
+            ItemMapper mapper = session.getMapper(ItemMapper.class);
+            for (int i = 1; i <= 25; i++) {
+                mapper.insert(i, "item" + i);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    @Before
+    public void open() {
+        sqlSession = sqlSessionFactory.openSession(true);
+        itemMapper = sqlSession.getMapper(ItemMapper.class);
+    }
+
+    @After
+    public void close() {
+        sqlSession.close();
+    }
+
+    @Test
+    public void testExact() {
+        Page<Map<String, Object>> page = new Page<Map<String, Object>>(2, 10);
+        List<Map<String, Object>> result = itemMapper.selectByPage(page, 0);
+        Assert.assertEquals(10, result.size());
+        Assert.assertEquals(11, ((Number) result.get(0).get("ID")).intValue());
+        Assert.assertEquals(25, page.getTotalCount());
+        Assert.assertEquals(3, page.getTotalPages());
+        Assert.assertTrue(page.isHasNext());
+        Assert.assertSame(result, page.getResult());
+
+        // 并行统计时按多查询的一条判断是否有下一页
+        page = new Page<Map<String, Object>>(3, 10);
+        Assert.assertEquals(5, itemMapper.selectByPage(page, 0).size());
+        Assert.assertFalse(page.isHasNext());
+        page = new Page<Map<String, Object>>(2, 12);
+        Assert.assertEquals(12, itemMapper.selectByPage(page, 1).size());
+        Assert.assertFalse(page.isHasNext());
+        Assert.assertEquals(24, page.getTotalCount());
+    }
+
+    @Test
+    public void testNone() {
+        Page<Map<String, Object>> page = new Page<Map<String, Object>>(2, 10);
+        page.setCountMode(CountMode.NONE);
+        Assert.assertEquals(10, itemMapper.selectByPage(page, 0).size());
+        Assert.assertTrue(page.isHasNext());
+        Assert.assertEquals(-1, page.getTotalCount());
+
+        page = new Page<Map<String, Object>>(3, 10);
+        page.setCountMode(CountMode.NONE);
+        Assert.assertEquals(5, itemMapper.selectByPage(page, 0).size());
+        Assert.assertFalse(page.isHasNext());
+    }
+
+    @Test
+    public void testSeek() {
+        String[] columns = { "id" };
+        String[] properties = { "ID" };
+        SeekPage<Map<String, Object>> page = new SeekPage<Map<String, Object>>(10, columns, properties);
+        // 默认不统计总数
+        Assert.assertEquals(CountMode.NONE, page.getCountMode());
+        List<Map<String, Object>> result = itemMapper.selectByPage(page, 5);
+        Assert.assertEquals(6, ((Number) result.get(0).get("ID")).intValue());
+        Assert.assertEquals(15, ((Number) page.getNextKeys()[0]).intValue());
+        Assert.assertEquals(-1, page.getTotalCount());
+
+        page = new SeekPage<Map<String, Object>>(10, columns, properties, page.getNextKeys());
+        result = itemMapper.selectByPage(page, 5);
+        Assert.assertEquals(10, result.size());
+        Assert.assertEquals(16, ((Number) result.get(0).get("ID")).intValue());
+        Assert.assertFalse(page.isHasNext());
+        Assert.assertNull(page.getNextKeys());
+    }
+
+    /**
+     * 估算SQL的结果为 7, 按原SQL的参数绑定, 匹配多行时无法估算
+     */
+    public static class EstimateDialect extends PostgreDialect {
+
+        @Override
+        public String getEstimateCountString(String sql) {
+            return "select 7 as \"ROWS\" from item where id > ?";
+        }
+
+        @Override
+        public Object[] getEstimateCountParameters(String sql) {
+            return null;
+        }
+    }
+
+    @Test
+    public void testEstimate() {
+        SqlSession session = openSession(EstimateDialect.class);
+        try {
+            ItemMapper mapper = session.getMapper(ItemMapper.class);
+            Page<Map<String, Object>> page = new Page<Map<String, Object>>(1, 10);
+            page.setCountMode(CountMode.ESTIMATE);
+            mapper.selectByPage(page, 24);
+            Assert.assertEquals(7, page.getTotalCount());
+
+            // 结果多于一行, 改为统计精确总数
+            page = new Page<Map<String, Object>>(1, 10);
+            page.setCountMode(CountMode.ESTIMATE);
+            mapper.selectByPage(page, 20);
+            Assert.assertEquals(5, page.getTotalCount());
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void testEstimateOnDetectedH2() {
+        // 自动识别的 H2 方言不支持估算, 统计精确总数
+        Page<Map<String, Object>> page = new Page<Map<String, Object>>(1, 10);
+        page.setCountMode(CountMode.ESTIMATE);
+        itemMapper.selectByPage(page, 20);
+        Assert.assertEquals(5, page.getTotalCount());
+    }
+
+    @Test
+    public void testParallelCountFallsBackWhenPoolIsBusy() throws Exception {
+        final DataSource target = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+        final CountDownLatch release = new CountDownLatch(1);
+        // 统计线程取连接时阻塞, 模拟连接池耗尽
+        DataSource busyDataSource = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("getConnection".equals(method.getName()) && Thread.currentThread().getName().startsWith("pagination-count-")) {
+                            release.await();
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+        Configuration configuration = new Configuration(new Environment("busy", new JdbcTransactionFactory(), busyDataSource));
+        PaginationStatementHandlerInterceptor interceptor = new PaginationStatementHandlerInterceptor();
+        Properties properties = new Properties();
+        properties.setProperty("parallelCountEnabled", "true");
+        properties.setProperty("parallelCountThreads", "1");
+        properties.setProperty("parallelCountConnectionTimeout", "50");
+        interceptor.setProperties(properties);
+        configuration.addInterceptor(new PaginationResultSetHandlerInterceptor());
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(ItemMapper.class);
+        SqlSession session = new SqlSessionFactoryBuilder().build(configuration).openSession(true);
+        try {
+            ItemMapper mapper = session.getMapper(ItemMapper.class);
+            // 第一次: 统计线程等待连接超时; 第二次: 唯一的统计线程仍被占用
+            for (int i = 0; i < 2; i++) {
+                Page<Map<String, Object>> page = new Page<Map<String, Object>>(3, 10);
+                Assert.assertEquals(5 - i, mapper.selectByPage(page, i).size());
+                Assert.assertFalse(page.isHasNext());
+                Assert.assertEquals(25 - i, page.getTotalCount());
+            }
+        } finally {
+            release.countDown();
+            session.close();
+        }
+    }
+
+    @Test
+    public void testSeekUnsupportedDialect() {
+        SqlSession session = openSession(MSDialect.class);
+        try {
+            session.getMapper(ItemMapper.class).selectByPage(new SeekPage<Map<String, Object>>(10, new String[] { "id" }, new String[] { "ID" }), 0);
+            Assert.fail();
+        } catch (PersistenceException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("MSDialect 不支持 keyset 分页"));
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * 使用指定方言的新配置打开会话, 与其它测试共用同一个数据库
+     */
+    private SqlSession openSession(Class<? extends Dialect> dialectClass) {
+        Configuration configuration = new Configuration(sqlSessionFactory.getConfiguration().getEnvironment());
+        Properties variables = new Properties();
+        variables.setProperty("dialectClass", dialectClass.getName());
+        configuration.setVariables(variables);
+        configuration.addInterceptor(new PaginationResultSetHandlerInterceptor());
+        configuration.addInterceptor(new PaginationStatementHandlerInterceptor());
+        configuration.addMapper(ItemMapper.class);
+        return new SqlSessionFactoryBuilder().build(configuration).openSession(true);
+    }
+
+    @Test
+    public void testCountCache() {
+        statementInterceptor.getCountCache().clear();
+        Assert.assertEquals(5, selectTotalInNewSession(20));
+        Assert.assertEquals(5, selectTotalInNewSession(20));
+        Assert.assertEquals(1, statementInterceptor.getCountCache().getStatistics().getHitCount());
+
+        itemMapper.insert(100, "item100");
+        Assert.assertEquals(6, selectTotalInNewSession(20));
+
+        itemMapper.delete(100);
+        Assert.assertEquals(5, selectTotalInNewSession(20));
+
+        // BATCH 执行器通过 StatementHandler.batch 执行
+        SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH);
+        try {
+            ItemMapper batchMapper = batchSession.getMapper(ItemMapper.class);
+            batchMapper.insert(101, "item101");
+            batchMapper.insert(102, "item102");
+            batchSession.commit();
+            Assert.assertEquals(7, selectTotalInNewSession(20));
+
+            batchMapper.delete(101);
+            batchMapper.delete(102);
+            batchSession.commit();
+            Assert.assertEquals(5, selectTotalInNewSession(20));
+        } finally {
+            batchSession.close();
+        }
+    }
+
+    @Test
+    public void testWriteTransactionCountsSequentially() {
+        SqlSession session = sqlSessionFactory.openSession(false);
+        try {
+            ItemMapper mapper = session.getMapper(ItemMapper.class);
+            mapper.insert(200, "item200");
+            // 写事务中在当前连接上统计, 能统计到未提交的数据
+            Page<Map<String, Object>> page = new Page<Map<String, Object>>(1, 10);
+            mapper.selectByPage(page, 20);
+            Assert.assertEquals(6, page.getTotalCount());
+            session.rollback();
+        } finally {
+            session.close();
+        }
+        Assert.assertEquals(5, selectTotalInNewSession(20));
+    }
+
+    @Test
+    public void testCountCacheInvalidatedAfterCommit() {
+        statementInterceptor.getCountCache().clear();
+        DataSource dataSource = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).execute(new TransactionCallbackWithoutResult() {
+            @Override
+            protected void doInTransactionWithoutResult(TransactionStatus status) {
+                SqlSession session = sqlSessionFactory.openSession(false);
+                try {
+                    ItemMapper mapper = session.getMapper(ItemMapper.class);
+                    mapper.insert(300, "item300");
+                    // 提交前其它连接统计并缓存了旧的总数
+                    Assert.assertEquals(5, selectTotalInNewSession(20));
+                    // 写事务中不读取缓存, 能统计到本事务未提交的数据
+                    Page<Map<String, Object>> page = new Page<Map<String, Object>>(1, 10);
+                    mapper.selectByPage(page, 20);
+                    Assert.assertEquals(6, page.getTotalCount());
+                    session.commit();
+                } finally {
+                    session.close();
+                }
+            }
+        });
+        // 事务结束后再次失效, 不再使用提交前缓存的总数
+        Assert.assertEquals(6, selectTotalInNewSession(20));
+        itemMapper.delete(300);
+        Assert.assertEquals(5, selectTotalInNewSession(20));
+    }
+
+    /**
+     * 一级缓存会跳过同一会话中相同的查询, 每次使用新的会话
+     */
+    private int selectTotalInNewSession(int minId) {
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            Page<Map<String, Object>> page = new Page<Map<String, Object>>(1, 10);
+            session.getMapper(ItemMapper.class).selectByPage(page, minId);
+            return page.getTotalCount();
+        } finally {
+            session.close();
+        }
+    }
+}
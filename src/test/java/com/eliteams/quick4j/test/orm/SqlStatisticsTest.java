@@ -0,0 +1,166 @@
+package com.eliteams.quick4j.test.orm;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.orm.mybatis.Page;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationResultSetHandlerInterceptor;
+import com.eliteams.quick4j.core.feature.orm.mybatis.PaginationStatementHandlerInterceptor;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SqlStatementStatistics;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SqlStatistics;
+import com.eliteams.quick4j.core.feature.orm.mybatis.SqlStatisticsInterceptor;
+
+/**
+ * SqlStatisticsTest : SQL执行统计插件测试, 使用 H2 内存数据库
+ *
+ * @author StarZou
+ * @since 2026-10-17 20:40
+ */
+public class SqlStatisticsTest {
+
+    private static final String JMX_NAME = "com.eliteams.quick4j:type=SqlStatistics,name=test";
+
+    private static SqlSessionFactory sqlSessionFactory;
+
+    private static SqlStatistics statistics;
+
+    public interface LogMapper {
+
+        @Select("select id, message from log where id > #{minId} order by id")
+        List<Map<String, Object>> selectByPage(Page<?> page, @Param("minId") int minId);
+
+        @Select("select id, message from log where id = #{id}")
+        Map<String, Object> selectById(@Param("id") int id);
+
+        @Select("select id from missing_table")
+        List<Integer> selectMissing();
+
+        @Insert("insert into log (id, message) values (#{id}, #{message})")
+        int insert(@Param("id") int id, @Param("message") String message);
+    }
+
+    @BeforeClass
+    public static void init() throws Exception {
+        UnpooledDataSource dataSource = new UnpooledDataSource("org.h2.Driver", "jdbc:h2:mem:sqlStatistics;DB_CLOSE_DELAY=-1", "sa", "");
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+
+        SqlStatisticsInterceptor interceptor = new SqlStatisticsInterceptor();
+        Properties properties = new Properties();
+        properties.setProperty("slowThresholdMillis", "60000");
+        properties.setProperty("jmxName", JMX_NAME);
+        interceptor.setProperties(properties);
+        statistics = interceptor.getStatistics();
+        configuration.addInterceptor(new PaginationResultSetHandlerInterceptor());
+        configuration.addInterceptor(new PaginationStatementHandlerInterceptor());
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(LogMapper.class);
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            session.getConnection().createStatement().execute("create table log (id int primary key, message varchar(32))");
+            LogMapper mapper = session.getMapper(LogMapper.class);
+            for (int i = 1; i <= 30; i++) {
+                mapper.insert(i, "message" + i);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    public void testStatementStatistics() {
+        statistics.reset();
+        statistics.setSlowThresholdMillis(0);
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            LogMapper mapper = session.getMapper(LogMapper.class);
+            mapper.selectByPage(new Page<Map<String, Object>>(1, 10), 0);
+            mapper.selectByPage(new Page<Map<String, Object>>(3, 10), 0);
+            mapper.selectById(1);
+            try {
+                mapper.selectMissing();
+                Assert.fail();
+            } catch (RuntimeException e) {
+                // 表不存在
+            }
+        } finally {
+            session.close();
+            statistics.setSlowThresholdMillis(60000);
+        }
+
+        SqlStatementStatistics page = statistics.getStatement(LogMapper.class.getName() + ".selectByPage");
+        Assert.assertEquals(2, page.getCalls());
+        Assert.assertEquals(2, page.getSampledCalls());
+        Assert.assertEquals(20, page.getRows());
+        Assert.assertEquals(2, page.getSlowCalls());
+        Assert.assertTrue(page.getP99Micros() > 0);
+        Assert.assertTrue(page.getMaxMicros() >= page.getP50Micros());
+
+        Assert.assertEquals(1, statistics.getStatement(LogMapper.class.getName() + ".selectById").getRows());
+        SqlStatementStatistics missing = statistics.getStatement(LogMapper.class.getName() + ".selectMissing");
+        Assert.assertEquals(1, missing.getCalls());
+        Assert.assertEquals(1, missing.getErrors());
+        Assert.assertEquals(0, missing.getSampledCalls());
+        Assert.assertEquals(1, statistics.getTotalErrors());
+        Assert.assertTrue(statistics.getTotalCalls() >= 4);
+    }
+
+    @Test
+    public void testSampling() {
+        statistics.reset();
+        statistics.setSampleInterval(1000000);
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            LogMapper mapper = session.getMapper(LogMapper.class);
+            for (int i = 1; i <= 20; i++) {
+                mapper.selectById(i);
+            }
+        } finally {
+            session.close();
+            statistics.setSampleInterval(1);
+        }
+        SqlStatementStatistics byId = statistics.getStatement(LogMapper.class.getName() + ".selectById");
+        Assert.assertEquals(20, byId.getCalls());
+        Assert.assertTrue(byId.getSampledCalls() < 20);
+        Assert.assertEquals(byId.getSampledCalls(), byId.getRows());
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        SqlSession session = sqlSessionFactory.openSession(true);
+        try {
+            session.getMapper(LogMapper.class).selectById(1);
+        } finally {
+            session.close();
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(JMX_NAME);
+        Assert.assertEquals(statistics.getTotalCalls(), server.getAttribute(name, "TotalCalls"));
+        CompositeData[] statements = (CompositeData[]) server.getAttribute(name, "Statements");
+        Assert.assertTrue(statements.length > 0);
+        Assert.assertNotNull(statements[0].get("p99Micros"));
+
+        server.setAttribute(name, new Attribute("SlowThresholdMillis", 250L));
+        Assert.assertEquals(250L, statistics.getSlowThresholdMillis());
+        statistics.setSlowThresholdMillis(60000);
+    }
+}
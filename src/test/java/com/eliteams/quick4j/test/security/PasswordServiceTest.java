@@ -0,0 +1,85 @@
+package com.eliteams.quick4j.test.security;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.password.PasswordService;
+import com.eliteams.quick4j.core.util.PasswordHash;
+
+/**
+ * PasswordServiceTest : 密码哈希, 兼容旧格式, 重新哈希判断及验证缓存测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 16:40
+ */
+public class PasswordServiceTest {
+
+    private PasswordService passwordService;
+
+    @Before
+    public void setUp() {
+        passwordService = new PasswordService();
+        passwordService.setIterations(1000);
+        passwordService.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() {
+        passwordService.destroy();
+    }
+
+    @Test
+    public void testHashAndVerify() throws Exception {
+        String hash = passwordService.hash("123456");
+        String[] parts = hash.split(":");
+        Assert.assertEquals("PBKDF2WithHmacSHA256", parts[0]);
+        Assert.assertEquals("1000", parts[1]);
+
+        // 与 SecretKeyFactory 的结果相同
+        byte[] salt = new byte[parts[2].length() / 2];
+        for (int i = 0; i < salt.length; i++) {
+            salt[i] = (byte) Integer.parseInt(parts[2].substring(i * 2, i * 2 + 2), 16);
+        }
+        PBEKeySpec spec = new PBEKeySpec("123456".toCharArray(), salt, 1000, 256);
+        byte[] expected = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        StringBuilder hex = new StringBuilder();
+        for (byte b : expected) {
+            hex.append(String.format("%02x", b));
+        }
+        Assert.assertEquals(hex.toString(), parts[3]);
+
+        Assert.assertTrue(passwordService.verify("123456", hash));
+        Assert.assertFalse(passwordService.verify("654321", hash));
+        Assert.assertFalse(passwordService.verify("123456", null));
+        Assert.assertFalse(passwordService.needsRehash(hash));
+    }
+
+    @Test
+    public void testLegacyHashes() throws Exception {
+        String legacy = PasswordHash.createHash("123456");
+        Assert.assertTrue(passwordService.verify("123456", legacy));
+        Assert.assertFalse(passwordService.verify("1234567", legacy));
+        Assert.assertTrue(passwordService.needsRehash(legacy));
+
+        // 旧数据中的明文密码
+        Assert.assertTrue(passwordService.verify("123456", "123456"));
+        Assert.assertFalse(passwordService.verify("12345", "123456"));
+        Assert.assertTrue(passwordService.needsRehash("123456"));
+
+        passwordService.setIterations(2000);
+        Assert.assertTrue(passwordService.needsRehash(passwordService.hashNow("123456").replace(":2000:", ":1000:")));
+    }
+
+    @Test
+    public void testVerificationCache() {
+        String hash = passwordService.hash("123456");
+        Assert.assertTrue(passwordService.verify("123456", hash));
+        Assert.assertTrue(passwordService.verify("123456", hash));
+        Assert.assertFalse(passwordService.verify("1234567", hash));
+        Assert.assertEquals(1, passwordService.getCacheStatistics().getHitCount());
+        Assert.assertEquals(2, passwordService.getCacheStatistics().getMissCount());
+    }
+}
@@ -0,0 +1,158 @@
+package com.eliteams.quick4j.test.security;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.UsernamePasswordToken;
+import org.apache.shiro.cache.MemoryConstrainedCacheManager;
+import org.apache.shiro.subject.PrincipalCollection;
+import org.apache.shiro.subject.SimplePrincipalCollection;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.eliteams.quick4j.core.feature.password.PasswordService;
+import com.eliteams.quick4j.core.util.PasswordHash;
+import com.eliteams.quick4j.web.model.User;
+import com.eliteams.quick4j.web.security.AuthorizationChangedEvent;
+import com.eliteams.quick4j.web.security.PermissionRegistry;
+import com.eliteams.quick4j.web.security.PermissionSign;
+import com.eliteams.quick4j.web.security.SecurityRealm;
+import com.eliteams.quick4j.web.service.RoleService;
+import com.eliteams.quick4j.web.service.UserService;
+
+/**
+ * SecurityRealmTest : 授权信息缓存及失效测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 15:00
+ */
+public class SecurityRealmTest {
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private String[] grants = { PermissionSign.USER_CREATE };
+
+    private SecurityRealm realm;
+
+    private PermissionRegistry registry;
+
+    private PrincipalCollection principals;
+
+    @Before
+    public void setUp() {
+        realm = new SecurityRealm();
+        realm.setCacheManager(new MemoryConstrainedCacheManager());
+        ReflectionTestUtils.setField(realm, "roleService", createRoleService());
+        registry = new PermissionRegistry();
+        registry.register(PermissionSign.USER_CREATE);
+        registry.register(PermissionSign.USER_DELETE);
+        ReflectionTestUtils.setField(realm, "permissionRegistry", registry);
+        principals = new SimplePrincipalCollection("starzou", realm.getName());
+    }
+
+    @Test
+    public void testCachedAuthorization() {
+        Assert.assertTrue(realm.hasRole(principals, "admin"));
+        Assert.assertTrue(realm.isPermitted(principals, "user:create"));
+        Assert.assertFalse(realm.isPermitted(principals, "user:delete"));
+        Assert.assertEquals(1, queries.get());
+
+        realm.onApplicationEvent(new AuthorizationChangedEvent(this, "other"));
+        Assert.assertTrue(realm.hasRole(principals, "admin"));
+        Assert.assertEquals(1, queries.get());
+
+        realm.onApplicationEvent(new AuthorizationChangedEvent(this));
+        Assert.assertTrue(realm.hasRole(principals, "admin"));
+        Assert.assertEquals(2, queries.get());
+
+        realm.onApplicationEvent(new AuthorizationChangedEvent(this, "starzou"));
+        Assert.assertTrue(realm.hasRole(principals, "admin"));
+        Assert.assertEquals(3, queries.get());
+    }
+
+    @Test
+    public void testWildcardBits() {
+        grants = new String[] { "user:*", "report:read" };
+        Assert.assertTrue(realm.isPermitted(principals, PermissionSign.USER_CREATE));
+        Assert.assertTrue(realm.isPermitted(principals, PermissionSign.USER_DELETE));
+        Assert.assertTrue(realm.isPermitted(principals, "report:read"));
+        Assert.assertFalse(realm.isPermitted(principals, "report:write"));
+        Assert.assertEquals(4, registry.size());
+
+        // 编译后注册的权限按字符串判断
+        registry.register("user:update");
+        Assert.assertTrue(realm.isPermitted(principals, "user:update"));
+        Assert.assertFalse(realm.isPermitted(principals, "order:read"));
+        Assert.assertEquals(1, queries.get());
+
+        grants = new String[] { "*" };
+        realm.clearAuthorization(null);
+        Assert.assertTrue(realm.isPermitted(principals, "user:update"));
+        Assert.assertTrue(realm.isPermitted(principals, "report:read"));
+    }
+
+    @Test
+    public void testBlankGrantsSkipped() {
+        grants = new String[] { " ", "user:create", "" };
+        Assert.assertTrue(realm.isPermitted(principals, PermissionSign.USER_CREATE));
+        Assert.assertFalse(realm.isPermitted(principals, PermissionSign.USER_DELETE));
+        Assert.assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void testRehashFailureKeepsLogin() throws Exception {
+        PasswordService passwordService = new PasswordService();
+        passwordService.setIterations(1000);
+        passwordService.afterPropertiesSet();
+        final String legacy = PasswordHash.createHash("123456");
+        final AtomicInteger updates = new AtomicInteger();
+        UserService userService = (UserService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { UserService.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("selectByUsername".equals(method.getName())) {
+                            User user = new User();
+                            user.setId(1L);
+                            user.setUsername("starzou");
+                            user.setPassword(legacy);
+                            return user;
+                        }
+                        Assert.assertEquals("update", method.getName());
+                        updates.incrementAndGet();
+                        Assert.assertTrue(((User) args[0]).getPassword().length() <= 160);
+                        throw new IllegalStateException("Data too long for column 'password'");
+                    }
+                });
+        ReflectionTestUtils.setField(realm, "userService", userService);
+        ReflectionTestUtils.setField(realm, "passwordService", passwordService);
+        try {
+            AuthenticationInfo info = realm.getAuthenticationInfo(new UsernamePasswordToken("starzou", "123456"));
+            Assert.assertEquals("starzou", info.getPrincipals().getPrimaryPrincipal());
+            Assert.assertEquals(1, updates.get());
+        } finally {
+            passwordService.destroy();
+        }
+    }
+
+    private RoleService createRoleService() {
+        return (RoleService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { RoleService.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        Assert.assertEquals("selectRoleAndPermissionSigns", method.getName());
+                        queries.incrementAndGet();
+                        Map<String, Set<String>> signs = new LinkedHashMap<String, Set<String>>();
+                        signs.put("admin", new LinkedHashSet<String>(Arrays.asList(grants)));
+                        return signs;
+                    }
+                });
+    }
+}
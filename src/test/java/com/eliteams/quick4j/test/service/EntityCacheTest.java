@@ -0,0 +1,150 @@
+package com.eliteams.quick4j.test.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import com.eliteams.quick4j.core.feature.cache.CacheStatistics;
+import com.eliteams.quick4j.core.feature.cache.StatisticsCacheManager;
+import com.eliteams.quick4j.core.generic.GenericDao;
+import com.eliteams.quick4j.core.generic.GenericServiceImpl;
+import com.eliteams.quick4j.web.model.User;
+
+/**
+ * EntityCacheTest : GenericServiceImpl 实体缓存测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 14:30
+ */
+public class EntityCacheTest {
+
+    private final AtomicInteger selects = new AtomicInteger();
+
+    private StatisticsCacheManager cacheManager;
+
+    private UserCachedService service;
+
+    /**
+     * 查询数据库时执行, 模拟并发的写操作
+     */
+    private Runnable duringSelect;
+
+    @Before
+    public void setUp() {
+        cacheManager = new StatisticsCacheManager(new ConcurrentMapCacheManager("users"));
+        service = new UserCachedService(createDao());
+        service.setCacheManager(cacheManager);
+    }
+
+    @Test
+    public void testReadThroughAndEvict() {
+        Assert.assertEquals("starzou", service.selectById(1L).getUsername());
+        Assert.assertEquals("starzou", service.selectById(1L).getUsername());
+        Assert.assertEquals(1, selects.get());
+
+        User user = new User();
+        user.setId(1L);
+        service.update(user);
+        service.selectById(1L);
+        Assert.assertEquals(2, selects.get());
+
+        service.delete(1L);
+        service.selectById(1L);
+        Assert.assertEquals(3, selects.get());
+
+        // 不存在的对象不缓存
+        Assert.assertNull(service.selectById(2L));
+        Assert.assertNull(service.selectById(2L));
+        Assert.assertEquals(5, selects.get());
+
+        CacheStatistics statistics = cacheManager.getStatistics("users");
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(5, statistics.getMissCount());
+        Assert.assertEquals(6, statistics.getGetLatency().getCount());
+    }
+
+    @Test
+    public void testStaleReadNotCached() {
+        // 查询到旧值之后, 放入缓存之前, 其他线程更新了对象并清除缓存
+        duringSelect = new Runnable() {
+            @Override
+            public void run() {
+                User user = new User();
+                user.setId(1L);
+                service.update(user);
+            }
+        };
+        service.selectById(1L);
+        service.selectById(1L);
+        Assert.assertEquals(2, selects.get());
+        // 之后正常缓存
+        service.selectById(1L);
+        Assert.assertEquals(2, selects.get());
+    }
+
+    @Test
+    public void testCallerGetsPrivateCopy() {
+        // 未命中时返回查询到的对象, 缓存中保存的是副本
+        User loaded = service.selectById(1L);
+        loaded.setUsername("changed");
+        User cached = service.selectById(1L);
+        Assert.assertEquals("starzou", cached.getUsername());
+        // 命中时每次返回新的副本, 未提交的修改不会被其他调用者读到
+        cached.setUsername("changed");
+        Assert.assertEquals("starzou", service.selectById(1L).getUsername());
+        Assert.assertNotSame(service.selectById(1L), service.selectById(1L));
+        Assert.assertEquals(1, selects.get());
+    }
+
+    @Test
+    public void testMissingCache() {
+        service.setCacheManager(new StatisticsCacheManager(new ConcurrentMapCacheManager("roles")));
+        service.selectById(1L);
+        service.selectById(1L);
+        Assert.assertEquals(2, selects.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericDao<User, Long> createDao() {
+        return (GenericDao<User, Long>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { GenericDao.class },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if ("selectByPrimaryKey".equals(method.getName())) {
+                            selects.incrementAndGet();
+                            if (duringSelect != null) {
+                                Runnable action = duringSelect;
+                                duringSelect = null;
+                                action.run();
+                            }
+                            if (Long.valueOf(1L).equals(args[0])) {
+                                User user = new User();
+                                user.setId(1L);
+                                user.setUsername("starzou");
+                                return user;
+                            }
+                            return null;
+                        }
+                        return 1;
+                    }
+                });
+    }
+
+    private static class UserCachedService extends GenericServiceImpl<User, Long> {
+
+        private final GenericDao<User, Long> dao;
+
+        private UserCachedService(GenericDao<User, Long> dao) {
+            this.dao = dao;
+        }
+
+        @Override
+        public GenericDao<User, Long> getDao() {
+            return dao;
+        }
+    }
+}
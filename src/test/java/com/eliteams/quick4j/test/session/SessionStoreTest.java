@@ -0,0 +1,90 @@
+package com.eliteams.quick4j.test.session;
+
+import java.io.Serializable;
+import java.util.Date;
+import org.apache.shiro.session.Session;
+import org.apache.shiro.session.mgt.SimpleSession;
+import org.apache.shiro.subject.SimplePrincipalCollection;
+import org.apache.shiro.subject.support.DefaultSubjectContext;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.feature.session.DirectMemorySessionStore;
+import com.eliteams.quick4j.core.feature.session.SessionCodec;
+import com.eliteams.quick4j.core.feature.session.StoreSessionDAO;
+import com.eliteams.quick4j.web.model.User;
+
+/**
+ * SessionStoreTest : 会话编码, 堆外存储及 SessionDAO 测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 16:10
+ */
+public class SessionStoreTest {
+
+    @Test
+    public void testCodec() {
+        SimpleSession session = new SimpleSession("127.0.0.1");
+        session.setId("s-1");
+        session.setTimeout(1800000L);
+        session.setAttribute(DefaultSubjectContext.PRINCIPALS_SESSION_KEY, new SimplePrincipalCollection("starzou", "realm"));
+        session.setAttribute(DefaultSubjectContext.AUTHENTICATED_SESSION_KEY, Boolean.TRUE);
+        session.setAttribute("count", 3);
+        session.setAttribute("userInfo", new User("starzou", null));
+
+        SessionCodec codec = new SessionCodec();
+        SimpleSession decoded = codec.decode(codec.encode(session));
+        Assert.assertEquals("s-1", decoded.getId());
+        Assert.assertEquals("127.0.0.1", decoded.getHost());
+        Assert.assertEquals(session.getStartTimestamp(), decoded.getStartTimestamp());
+        Assert.assertNull(decoded.getStopTimestamp());
+        Assert.assertEquals(1800000L, decoded.getTimeout());
+        Assert.assertEquals("starzou", ((SimplePrincipalCollection) decoded.getAttribute(DefaultSubjectContext.PRINCIPALS_SESSION_KEY))
+                .getPrimaryPrincipal());
+        Assert.assertEquals(Boolean.TRUE, decoded.getAttribute(DefaultSubjectContext.AUTHENTICATED_SESSION_KEY));
+        Assert.assertEquals(3, decoded.getAttribute("count"));
+        Assert.assertEquals("starzou", ((User) decoded.getAttribute("userInfo")).getUsername());
+    }
+
+    @Test
+    public void testDirectMemoryStore() throws Exception {
+        DirectMemorySessionStore store = new DirectMemorySessionStore();
+        store.put("a", new byte[] { 1, 2, 3 }, 60000L);
+        store.put("b", new byte[] { 4 }, 1L);
+        long allocated = store.getAllocatedBytes();
+
+        store.put("a", new byte[] { 5, 6 }, 60000L);
+        Assert.assertArrayEquals(new byte[] { 5, 6 }, store.get("a"));
+        Assert.assertEquals(allocated, store.getAllocatedBytes());
+
+        Thread.sleep(5);
+        Assert.assertNull(store.get("b"));
+        Assert.assertEquals(1, store.ids().size());
+        Assert.assertEquals(1, store.sweep());
+        Assert.assertEquals(1, store.size());
+
+        store.put("a", new byte[4096], 60000L);
+        Assert.assertEquals(4096, store.get("a").length);
+        store.remove("a");
+        Assert.assertNull(store.get("a"));
+        Assert.assertEquals(0, store.getAllocatedBytes());
+    }
+
+    @Test
+    public void testSessionDAO() {
+        StoreSessionDAO sessionDAO = new StoreSessionDAO();
+        sessionDAO.setSessionStore(new DirectMemorySessionStore());
+
+        SimpleSession session = new SimpleSession("127.0.0.1");
+        Serializable id = sessionDAO.create(session);
+        session.setAttribute("key", "value");
+        session.setLastAccessTime(new Date());
+        sessionDAO.update(session);
+
+        Session read = sessionDAO.readSession(id);
+        Assert.assertEquals("value", read.getAttribute("key"));
+        Assert.assertEquals(1, sessionDAO.getActiveSessions().size());
+
+        sessionDAO.delete(read);
+        Assert.assertTrue(sessionDAO.getActiveSessions().isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package com.eliteams.quick4j.test.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.util.ArrayUtil;
+import com.eliteams.quick4j.core.util.IntMatcher;
+import com.eliteams.quick4j.core.util.LongMatcher;
+import com.eliteams.quick4j.core.util.MatchHelper;
+import com.eliteams.quick4j.core.util.Matcher;
+
+/**
+ * ArrayUtilTest : 编译后的匹配器, 并行匹配及 int/long 数组匹配测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:25
+ */
+public class ArrayUtilTest {
+
+    private static final Matcher<Integer> EVEN = new Matcher<Integer>() {
+        @Override
+        public boolean matches(Integer value) {
+            return value % 2 == 0;
+        }
+    };
+
+    private static final Matcher<Integer> DIVISIBLE_BY_3 = new Matcher<Integer>() {
+        @Override
+        public boolean matches(Integer value) {
+            return value % 3 == 0;
+        }
+    };
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMatch() {
+        Integer[] values = { 1, 2, 3, 4, 5, 6 };
+        Assert.assertArrayEquals(new Integer[] { 2, 4, 6 }, ArrayUtil.match(values, EVEN));
+        Assert.assertArrayEquals(new Integer[] { 6 }, ArrayUtil.matchAll(values, EVEN, null, DIVISIBLE_BY_3));
+        Assert.assertArrayEquals(new Integer[] { 2, 3, 4, 6 }, ArrayUtil.matchAny(values, EVEN, DIVISIBLE_BY_3));
+        Assert.assertEquals(0, ArrayUtil.matchAll(values, (Matcher<Integer>) null).length);
+        Assert.assertNull(ArrayUtil.match(values, (Matcher<Integer>) null));
+        Assert.assertNull(ArrayUtil.match(new Integer[0], EVEN));
+
+        Matcher<Integer>[] matchers = (Matcher<Integer>[]) new Matcher<?>[] { null, EVEN, DIVISIBLE_BY_3 };
+        Matcher<Integer> all = MatchHelper.compile(matchers, true);
+        Matcher<Integer> any = MatchHelper.compile(matchers, false);
+        for (int i = 1; i <= 12; i++) {
+            Assert.assertEquals(MatchHelper.match(i, matchers, true), all.matches(i));
+            Assert.assertEquals(MatchHelper.match(i, matchers, false), any.matches(i));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParallelMatch() {
+        int size = ArrayUtil.PARALLEL_THRESHOLD * 8 + 17;
+        Integer[] values = new Integer[size];
+        int[] ints = new int[size];
+        long[] longs = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+            ints[i] = i;
+            longs[i] = i;
+        }
+        Integer[] sequential = ArrayUtil.matchAny(values, EVEN, DIVISIBLE_BY_3);
+        Integer[] parallel = ArrayUtil.parallelMatchAny(values, EVEN, DIVISIBLE_BY_3);
+        Assert.assertArrayEquals(sequential, parallel);
+        int expected = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0 || i % 3 == 0) {
+                expected++;
+            }
+        }
+        Assert.assertEquals(expected, parallel.length);
+
+        IntMatcher evenInt = new IntMatcher() {
+            @Override
+            public boolean matches(int value) {
+                return value % 2 == 0;
+            }
+        };
+        int[] evenInts = ArrayUtil.parallelMatch(ints, evenInt);
+        Assert.assertArrayEquals(ArrayUtil.match(ints, evenInt), evenInts);
+        Assert.assertEquals((size + 1) / 2, evenInts.length);
+        Assert.assertEquals(size - 1, evenInts[evenInts.length - 1]);
+
+        LongMatcher large = new LongMatcher() {
+            @Override
+            public boolean matches(long value) {
+                return value >= 64;
+            }
+        };
+        LongMatcher odd = new LongMatcher() {
+            @Override
+            public boolean matches(long value) {
+                return value % 2 == 1;
+            }
+        };
+        long[] largeOdd = ArrayUtil.matchAll(longs, large, odd);
+        Assert.assertEquals(65L, largeOdd[0]);
+        Assert.assertArrayEquals(largeOdd, ArrayUtil.matchAll(ArrayUtil.parallelMatch(longs, large), odd));
+        Assert.assertNull(ArrayUtil.matchAny(new long[0], odd));
+    }
+}
@@ -0,0 +1,83 @@
+package com.eliteams.quick4j.test.util;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import com.eliteams.quick4j.core.util.BeanAccessor;
+import com.eliteams.quick4j.core.util.ObjectUtil;
+import com.eliteams.quick4j.web.model.Role;
+import com.eliteams.quick4j.web.model.User;
+
+/**
+ * ObjectUtilTest : 基于缓存的属性访问元数据的比较, 字段读取及部分复制测试
+ *
+ * @author StarZou
+ * @since 2026-10-17 19:05
+ */
+public class ObjectUtilTest {
+
+    @Test
+    public void testIsSame() {
+        User user1 = user(1L, "starzou");
+        User user2 = user(1L, "starzou");
+        Assert.assertTrue(ObjectUtil.isSame(user1, user2));
+        Assert.assertTrue(ObjectUtil.isSame(user1, user2, "id", "username"));
+
+        user2.setUsername("quick4j");
+        Assert.assertFalse(ObjectUtil.isSame(user1, user2));
+        Assert.assertTrue(ObjectUtil.isSame(user1, user2, "id"));
+        Assert.assertFalse(ObjectUtil.isSame(user1, user2, "id", "missing"));
+        Assert.assertTrue(ObjectUtil.isSame(user1, user2, true, "id", "missing"));
+        Assert.assertFalse(ObjectUtil.isSame(user1, null));
+
+        // 不同类型 : 只比较共有属性(宽松模式), 或属性数量不同即不相同
+        Role role = new Role();
+        role.setId(1L);
+        Assert.assertTrue(ObjectUtil.isSame(user1, role, "id"));
+        Assert.assertFalse(ObjectUtil.isSame(user1, role));
+    }
+
+    @Test
+    public void testFieldValues() {
+        User user = user(2L, "starzou");
+        Assert.assertEquals("starzou", ObjectUtil.getFieldValueByName("username", user));
+        Assert.assertNull(ObjectUtil.getFieldValueByName("missing", user));
+        Assert.assertNull(ObjectUtil.getFieldValueByName("serialVersionUID", user));
+
+        Object[] values = ObjectUtil.getFiledValues(user);
+        List<Map<String, Object>> infos = ObjectUtil.getFiledsInfo(user);
+        Assert.assertEquals(values.length, infos.size());
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(values[i], infos.get(i).get("value"));
+            if ("id".equals(infos.get(i).get("name"))) {
+                Assert.assertEquals(2L, values[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testPartCopyNew() {
+        User source = user(3L, "starzou");
+        source.setCreateTime(new Date());
+        User copy = (User) ObjectUtil.partCopyNew(source, "id", "createTime");
+        Assert.assertEquals(Long.valueOf(3L), copy.getId());
+        Assert.assertSame(source.getCreateTime(), copy.getCreateTime());
+        Assert.assertNull(copy.getUsername());
+        try {
+            ObjectUtil.partCopyNew(source, "missing");
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("missing"));
+        }
+        Assert.assertSame(BeanAccessor.of(User.class), BeanAccessor.of(User.class));
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
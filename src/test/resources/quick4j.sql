@@ -71,7 +71,7 @@ DROP TABLE IF EXISTS `user`;
 CREATE TABLE `user` (
   `id` bigint(20) unsigned NOT NULL AUTO_INCREMENT COMMENT '用户id',
   `username` varchar(50) DEFAULT NULL COMMENT '用户名',
-  `password` char(64) DEFAULT NULL COMMENT '密码',
+  `password` varchar(160) DEFAULT NULL COMMENT '密码',
   `state` varchar(32) DEFAULT NULL COMMENT '状态',
   `create_time` datetime DEFAULT NULL COMMENT '创建时间',
   PRIMARY KEY (`id`)
@@ -96,6 +96,10 @@ CREATE TABLE `user_role` (
 
 insert  into `user_role`(`id`,`user_id`,`role_id`) values (1,1,1);
 
+/*Migration for table `user` : 密码哈希格式为 算法:迭代次数:盐:哈希, 超过 char(64), 已有数据库执行此语句加宽 password 列 */
+
+ALTER TABLE `user` MODIFY `password` varchar(160) DEFAULT NULL COMMENT '密码';
+
 /*!40101 SET SQL_MODE=@OLD_SQL_MODE */;
 /*!40014 SET FOREIGN_KEY_CHECKS=@OLD_FOREIGN_KEY_CHECKS */;
 /*!40014 SET UNIQUE_CHECKS=@OLD_UNIQUE_CHECKS */;